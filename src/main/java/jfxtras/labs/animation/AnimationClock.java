@@ -0,0 +1,282 @@
+/**
+ * AnimationClock.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.animation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
+import javafx.util.Duration;
+
+/**
+ * Drives any number of {@link BindableTransition}s from a single
+ * {@link AnimationTimer}. Each frame the fractions of all running transitions
+ * are computed in one loop; only the transitions whose fraction actually
+ * changed update their fraction property, so the work per frame depends on
+ * the changed bindings and not on the number of transitions.
+ * 
+ * Listeners added with {@link #addFrameListener(Consumer)} receive one
+ * {@link FrameSnapshot} per frame with all changed fractions. Like all
+ * animations the clock must only be used on the JavaFX thread.
+ * 
+ * All play positions are measured with the timestamps of the frames, also
+ * when a transition is paused or jumped between frames.
+ */
+public class AnimationClock {
+
+	private static AnimationClock defaultClock;
+
+	private final List<BindableTransition> running = new ArrayList<>();
+
+	private final List<Consumer<FrameSnapshot>> frameListeners = new ArrayList<>();
+
+	private final FrameSnapshot snapshot = new FrameSnapshot();
+
+	private final AnimationTimer timer = new AnimationTimer() {
+		@Override
+		public void handle(long now) {
+			tick(now);
+		}
+	};
+
+	private boolean timerRunning = false;
+
+	private long frameCount = 0;
+
+	// timestamp of the last frame, -1 before the first one
+	private long lastFrameNanos = -1;
+
+	/**
+	 * @return the clock shared by all transitions that do not need their own
+	 */
+	public static AnimationClock getDefault() {
+		if (defaultClock == null) {
+			defaultClock = new AnimationClock();
+		}
+		return defaultClock;
+	}
+
+	/**
+	 * The snapshot passed to the listener is reused for the next frame, copy
+	 * what is needed beyond the call.
+	 */
+	public void addFrameListener(Consumer<FrameSnapshot> listener) {
+		frameListeners.add(listener);
+	}
+
+	public void removeFrameListener(Consumer<FrameSnapshot> listener) {
+		frameListeners.remove(listener);
+	}
+
+	/**
+	 * @return the number of transitions currently driven by this clock
+	 */
+	public int getRunningCount() {
+		return running.size();
+	}
+
+	/**
+	 * @return the number of frames this clock has processed
+	 */
+	public long getFrameCount() {
+		return frameCount;
+	}
+
+	void play(BindableTransition transition) {
+		if (transition.getStatus() == Animation.Status.RUNNING) {
+			return;
+		}
+		// the start time is taken from the first frame
+		transition.clockStartNanos = -1;
+		transition.setClockStatus(Animation.Status.RUNNING);
+		if (!transition.clockScheduled) {
+			transition.clockScheduled = true;
+			running.add(transition);
+		}
+		if (!timerRunning) {
+			timerRunning = true;
+			timer.start();
+		}
+	}
+
+	void pause(BindableTransition transition) {
+		if (transition.getStatus() != Animation.Status.RUNNING) {
+			return;
+		}
+		if (transition.clockStartNanos >= 0) {
+			transition.clockPositionMillis += elapsedMillis(transition, lastFrameNanos);
+			transition.clockStartNanos = -1;
+		}
+		// removed from the running list in the next frame
+		transition.setClockStatus(Animation.Status.PAUSED);
+	}
+
+	void stop(BindableTransition transition) {
+		transition.clockPositionMillis = 0;
+		transition.clockStartNanos = -1;
+		transition.setClockStatus(Animation.Status.STOPPED);
+	}
+
+	void jumpTo(BindableTransition transition, double positionMillis) {
+		transition.clockPositionMillis = positionMillis;
+		// a running transition continues from the current frame
+		transition.clockStartNanos = transition.getStatus() == Animation.Status.RUNNING && transition.clockStartNanos >= 0 ? lastFrameNanos : -1;
+		transition.updateFraction(positionMillis);
+	}
+
+	/**
+	 * @return the play position of the transition at the last frame
+	 */
+	double positionMillis(BindableTransition transition) {
+		if (transition.clockStartNanos < 0) {
+			return transition.clockPositionMillis;
+		}
+		return transition.clockPositionMillis + elapsedMillis(transition, lastFrameNanos);
+	}
+
+	private void tick(long now) {
+		frameCount++;
+		lastFrameNanos = now;
+		snapshot.reset(now);
+
+		// listeners may start, pause or stop transitions while the loop runs;
+		// started ones are appended and handled in this frame as well, the
+		// others are only dropped here
+		int kept = 0;
+		for (int i = 0; i < running.size(); i++) {
+			BindableTransition transition = running.get(i);
+			if (transition.getStatus() != Animation.Status.RUNNING) {
+				transition.clockScheduled = false;
+				continue;
+			}
+			if (transition.clockStartNanos < 0) {
+				transition.clockStartNanos = now;
+			}
+			double position = transition.clockPositionMillis + elapsedMillis(transition, now);
+			boolean finished = transition.updateFraction(position);
+			if (transition.fractionChanged) {
+				snapshot.add(transition, transition.fractionProperty().get());
+			}
+			if (finished) {
+				transition.clockScheduled = false;
+				transition.clockPositionMillis = 0;
+				transition.setClockStatus(Animation.Status.STOPPED);
+				snapshot.addFinished(transition);
+			} else {
+				running.set(kept++, transition);
+			}
+		}
+		running.subList(kept, running.size()).clear();
+
+		if (snapshot.size() > 0) {
+			for (int i = 0; i < frameListeners.size(); i++) {
+				frameListeners.get(i).accept(snapshot);
+			}
+		}
+		snapshot.fireFinished();
+
+		if (running.isEmpty()) {
+			timerRunning = false;
+			timer.stop();
+		}
+	}
+
+	private static double elapsedMillis(BindableTransition transition, long now) {
+		return (now - transition.clockStartNanos) / 1000000.0 * Math.abs(transition.getRate());
+	}
+
+	/**
+	 * The fractions that changed in one frame.
+	 */
+	public static class FrameSnapshot {
+
+		private long nanos;
+
+		private int size;
+
+		private BindableTransition[] transitions = new BindableTransition[16];
+
+		private double[] fractions = new double[16];
+
+		private final List<BindableTransition> finished = new ArrayList<>();
+
+		/**
+		 * @return the timestamp of the frame as passed to the {@link AnimationTimer}
+		 */
+		public long getNanos() {
+			return nanos;
+		}
+
+		/**
+		 * @return the number of transitions with a changed fraction
+		 */
+		public int size() {
+			return size;
+		}
+
+		public BindableTransition getTransition(int index) {
+			return transitions[index];
+		}
+
+		public double getFraction(int index) {
+			return fractions[index];
+		}
+
+		private void reset(long nanos) {
+			this.nanos = nanos;
+			Arrays.fill(transitions, 0, size, null);
+			size = 0;
+		}
+
+		private void add(BindableTransition transition, double fraction) {
+			if (size == transitions.length) {
+				transitions = Arrays.copyOf(transitions, size * 2);
+				fractions = Arrays.copyOf(fractions, size * 2);
+			}
+			transitions[size] = transition;
+			fractions[size] = fraction;
+			size++;
+		}
+
+		private void addFinished(BindableTransition transition) {
+			finished.add(transition);
+		}
+
+		private void fireFinished() {
+			for (int i = 0; i < finished.size(); i++) {
+				finished.get(i).fireClockFinished();
+			}
+			finished.clear();
+		}
+	}
+}
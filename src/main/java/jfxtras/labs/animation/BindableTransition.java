@@ -29,7 +29,10 @@
 
 package jfxtras.labs.animation;
 
+import javafx.animation.Animation;
 import javafx.animation.Transition;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ReadOnlyDoubleProperty;
 import javafx.beans.property.SimpleDoubleProperty;
@@ -38,6 +41,11 @@ import javafx.util.Duration;
 /**
  * A simple Transition thats fraction property can be bound to any other properties. 
  * 
+ * When created with an {@link AnimationClock} the transition is not played by its own pulse handler but by the clock,
+ * which drives all its transitions from one {@link javafx.animation.AnimationTimer}.
+ * Play, pause, stop and jumps (also those of playFrom and playFromStart) then go through the clock.
+ * The current time of the animation is final and not maintained in that case, use {@link #getPlayPosition()} instead.
+ * 
  * @author hendrikebbers
  *
  */
@@ -45,9 +53,25 @@ public class BindableTransition extends Transition {
 
 	private DoubleProperty fraction;
 	
+	private final AnimationClock clock;
+	
+	// state maintained by the clock
+	long clockStartNanos;
+	double clockPositionMillis;
+	boolean clockScheduled;
+	boolean fractionChanged;
+	
 	public BindableTransition(Duration duration) {
+		this(duration, null);
+	}
+	
+	/**
+	 * @param clock the clock that plays this transition, or null to play it like any other transition
+	 */
+	public BindableTransition(Duration duration, AnimationClock clock) {
 		fraction = new SimpleDoubleProperty();
 		setCycleDuration(duration);
+		this.clock = clock;
 	}
 	
 	@Override
@@ -59,4 +83,110 @@ public class BindableTransition extends Transition {
 	public ReadOnlyDoubleProperty fractionProperty() {
 		return fraction;
 	}
+	
+	public AnimationClock getClock() {
+		return clock;
+	}
+	
+	@Override
+	public void play() {
+		if (clock == null) {
+			super.play();
+		}
+		else {
+			clock.play(this);
+		}
+	}
+	
+	@Override
+	public void pause() {
+		if (clock == null) {
+			super.pause();
+		}
+		else {
+			clock.pause(this);
+		}
+	}
+	
+	@Override
+	public void stop() {
+		if (clock == null) {
+			super.stop();
+		}
+		else {
+			clock.stop(this);
+		}
+	}
+	
+	@Override
+	public void jumpTo(Duration time) {
+		if (clock == null) {
+			super.jumpTo(time);
+		}
+		else {
+			clock.jumpTo(this, time.toMillis());
+		}
+	}
+	
+	/**
+	 * @return the play position, for a transition played by a clock as of the last frame
+	 */
+	public Duration getPlayPosition() {
+		if (clock == null) {
+			return getCurrentTime();
+		}
+		return Duration.millis(clock.positionMillis(this));
+	}
+	
+	void setClockStatus(Animation.Status status) {
+		setStatus(status);
+	}
+	
+	/**
+	 * Sets the fraction for the given play time, taking delay, cycles, auto reverse, rate and interpolator into account.
+	 * 
+	 * @return true if the transition has reached its end
+	 */
+	boolean updateFraction(double positionMillis) {
+		fractionChanged = false;
+		double time = positionMillis - getDelay().toMillis();
+		if (time < 0) {
+			return false;
+		}
+		
+		double cycleMillis = getCycleDuration().toMillis();
+		int cycleCount = getCycleCount();
+		boolean finished = cycleMillis <= 0 || (cycleCount != Animation.INDEFINITE && time >= cycleCount * cycleMillis);
+		
+		long cycle;
+		double frac;
+		if (finished) {
+			cycle = Math.max(cycleCount, 1) - 1;
+			frac = 1.0;
+		}
+		else {
+			cycle = (long) (time / cycleMillis);
+			frac = (time - cycle * cycleMillis) / cycleMillis;
+		}
+		if (isAutoReverse() && cycle % 2 == 1) {
+			frac = 1.0 - frac;
+		}
+		if (getRate() < 0) {
+			frac = 1.0 - frac;
+		}
+		frac = getInterpolator().interpolate(0.0, 1.0, frac);
+		
+		if (frac != fraction.get()) {
+			fractionChanged = true;
+			fraction.set(frac);
+		}
+		return finished;
+	}
+	
+	void fireClockFinished() {
+		EventHandler<ActionEvent> handler = getOnFinished();
+		if (handler != null) {
+			handler.handle(new ActionEvent(this, null));
+		}
+	}
 }
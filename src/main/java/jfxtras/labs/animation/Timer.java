@@ -29,7 +29,11 @@
 
 package jfxtras.labs.animation;
 
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javafx.application.Platform;
@@ -40,6 +44,9 @@ import javafx.util.Duration;
 /**
  * A timer class in the spirit of java.swing.Timer but using JavaFX properties.
  * 
+ * All timers share one scheduler thread (one for daemon and one for non daemon timers), which ends when no timer is running.
+ * The runnable is executed on the JavaFX thread; if the previous tick has not been executed yet when the next one is due, that tick is dropped instead of queued.
+ * 
  * @author Tom Eugelink
  *
  */
@@ -69,7 +76,6 @@ public class Timer
 	}
 	final private Runnable runnable;
 	final private boolean isDaemon;
-	volatile private java.util.Timer timer;
 	
 	// ==================================================================================================================
 	// PROPERTIES
@@ -105,47 +111,38 @@ public class Timer
 	synchronized public Timer start()
 	{
 		// check if the timer is already running
-		if (timerTaskAtomicReference.get() != null) throw new IllegalStateException("Timer already started");
+		if (scheduledFutureAtomicReference.get() != null) throw new IllegalStateException("Timer already started");
 		
-		// create a task and schedule it
-		final TimerTask lTimerTask = new TimerTask()
+		// schedule the tick
+		final ScheduledThreadPoolExecutor lScheduler = isDaemon ? DAEMON_SCHEDULER : SCHEDULER;
+		final long lDelay = (long)this.delayObjectProperty.getValue().toMillis();
+		final ScheduledFuture<?> lScheduledFuture;
+		if (repeatsObjectProperty.getValue().booleanValue() == false)
 		{
-			@Override
-			public void run()
-			{
-				Platform.runLater(runnable);
-				if (repeatsObjectProperty.getValue().booleanValue() == false)
-				{
-					stop();
-				}
-			}
-		};
-		if (timer == null) {
-			timer = new java.util.Timer(isDaemon);
+			lScheduledFuture = lScheduler.schedule(tickRunnable, lDelay, TimeUnit.MILLISECONDS);
+		}
+		else
+		{
+			lScheduledFuture = lScheduler.scheduleWithFixedDelay(tickRunnable, lDelay, (long)this.cycleDurationObjectProperty.getValue().toMillis(), TimeUnit.MILLISECONDS);
 		}
-		timer.schedule(lTimerTask, (long)this.delayObjectProperty.getValue().toMillis(), (long)this.cycleDurationObjectProperty.getValue().toMillis());
 		
 		// remember for future reference
-		timerTaskAtomicReference.set(lTimerTask);
+		scheduledFutureAtomicReference.set(lScheduledFuture);
 		
 		// for chaining
 		return this;
 	}
-	final private AtomicReference<TimerTask> timerTaskAtomicReference = new AtomicReference<TimerTask>(null);
+	final private AtomicReference<ScheduledFuture<?>> scheduledFutureAtomicReference = new AtomicReference<ScheduledFuture<?>>(null);
 	
 	/**
 	 * stop the timer if running
 	 */
 	public Timer stop()
 	{
-		TimerTask lTimerTask = timerTaskAtomicReference.getAndSet(null);
-		if (lTimerTask != null)
+		ScheduledFuture<?> lScheduledFuture = scheduledFutureAtomicReference.getAndSet(null);
+		if (lScheduledFuture != null)
 		{
-			lTimerTask.cancel();
-		}
-		if (timer != null) {
-			timer.cancel();
-			timer = null;
+			lScheduledFuture.cancel(false);
 		}
 		
 		// for chaining
@@ -163,4 +160,98 @@ public class Timer
 		// for chaining
 		return this;
 	}
+	
+	// ==================================================================================================================
+	// TICK
+	
+	/**
+	 * Runs on the scheduler thread and hands the runnable over to the JavaFX thread, unless the previous tick is still waiting there.
+	 */
+	final private Runnable tickRunnable = new Runnable()
+	{
+		@Override
+		public void run()
+		{
+			if (repeatsObjectProperty.getValue().booleanValue() == false)
+			{
+				scheduledFutureAtomicReference.set(null);
+			}
+			if (dispatchPendingAtomicBoolean.compareAndSet(false, true) == false)
+			{
+				droppedTickCountAtomicLong.incrementAndGet();
+				return;
+			}
+			dispatchNanoTime = System.nanoTime();
+			Platform.runLater(dispatchRunnable);
+		}
+	};
+	
+	/**
+	 * Runs on the JavaFX thread
+	 */
+	final private Runnable dispatchRunnable = new Runnable()
+	{
+		@Override
+		public void run()
+		{
+			lastTickLagNanos = System.nanoTime() - dispatchNanoTime;
+			tickCountAtomicLong.incrementAndGet();
+			dispatchPendingAtomicBoolean.set(false);
+			runnable.run();
+		}
+	};
+	final private AtomicBoolean dispatchPendingAtomicBoolean = new AtomicBoolean(false);
+	volatile private long dispatchNanoTime;
+	
+	// ==================================================================================================================
+	// METRICS
+	
+	/**
+	 * @return the number of times the runnable was executed
+	 */
+	public long getTickCount()
+	{
+		return tickCountAtomicLong.get();
+	}
+	final private AtomicLong tickCountAtomicLong = new AtomicLong(0);
+	
+	/**
+	 * @return the number of ticks that were skipped, because the JavaFX thread had not yet executed the previous one
+	 */
+	public long getDroppedTickCount()
+	{
+		return droppedTickCountAtomicLong.get();
+	}
+	final private AtomicLong droppedTickCountAtomicLong = new AtomicLong(0);
+	
+	/**
+	 * @return the time the last tick had to wait for the JavaFX thread before the runnable was executed
+	 */
+	public Duration getLastTickLag()
+	{
+		return Duration.millis(lastTickLagNanos / 1000000.0);
+	}
+	volatile private long lastTickLagNanos = 0;
+	
+	// ==================================================================================================================
+	// SCHEDULER
+	
+	final static private ScheduledThreadPoolExecutor DAEMON_SCHEDULER = createScheduler(true);
+	final static private ScheduledThreadPoolExecutor SCHEDULER = createScheduler(false);
+	
+	/**
+	 * A single thread that goes away when no timer has been scheduled for a while, so a non daemon scheduler does not keep the JVM alive after the last timer was stopped.
+	 */
+	static private ScheduledThreadPoolExecutor createScheduler(final boolean isDaemon)
+	{
+		final ScheduledThreadPoolExecutor lScheduler = new ScheduledThreadPoolExecutor(1, (runnable) -> {
+			Thread lThread = new Thread(runnable, Timer.class.getName() + (isDaemon ? "-daemon" : ""));
+			lThread.setDaemon(isDaemon);
+			return lThread;
+		});
+		lScheduler.setKeepAliveTime(10, TimeUnit.SECONDS);
+		lScheduler.allowCoreThreadTimeOut(true);
+		lScheduler.setRemoveOnCancelPolicy(true);
+		return lScheduler;
+	}
 }
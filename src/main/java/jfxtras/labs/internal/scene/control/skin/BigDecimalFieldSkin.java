@@ -285,7 +285,7 @@ public class BigDecimalFieldSkin extends SkinBase<BigDecimalField> {
 
         /**
          * Tries to parse the user input to a number according to the provided
-         * NumberFormat
+         * NumberFormat, without losing any digits
          */
         private void parseAndFormatInput() {
             try {
@@ -294,8 +294,7 @@ public class BigDecimalFieldSkin extends SkinBase<BigDecimalField> {
                     CONTROL.setNumber(null);
                     return;
                 }
-                Number parsedNumber = CONTROL.getFormat().parse(input);
-                BigDecimal newValue = new BigDecimal(parsedNumber.toString());
+                BigDecimal newValue = CONTROL.getFormatter().parse(input);
                 // if parsing succeeded change number in Controller
                 CONTROL.setNumber(newValue);
                 selectAll();
@@ -29,16 +29,19 @@
 
 package jfxtras.labs.internal.scene.control.skin;
 
+import javafx.animation.AnimationTimer;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.event.EventHandler;
+import javafx.geometry.Point2D;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Node;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.SnapshotParameters;
-import javafx.scene.SnapshotResult;
 import javafx.scene.control.SkinBase;
 import javafx.scene.image.ImageView;
 import javafx.scene.image.WritableImage;
@@ -51,7 +54,6 @@ import javafx.scene.shape.Line;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.transform.Scale;
 import javafx.stage.Popup;
-import javafx.util.Callback;
 import jfxtras.labs.scene.control.Magnifier;
 
 /**
@@ -74,7 +76,19 @@ public class MagnifierSkin extends SkinBase<Magnifier> {
 	private DoubleProperty prevX = new SimpleDoubleProperty();
 	private DoubleProperty prevY = new SimpleDoubleProperty();
 
-	private Callback<SnapshotResult, Void> callBack;
+	// Region of the content (in local coordinates) that is currently held in writeImg.
+	private boolean snapValid = false;
+	private boolean snapRequested = false;
+	private double snapMinX;
+	private double snapMinY;
+	private double snapMaxX;
+	private double snapMaxY;
+	private AnimationTimer snapTimer;
+	private long snapTakenAt;
+	// with continuous refresh, changes inside the content that do not cause a layout (like animations) are picked up by refreshing the snapshot
+	private static final long SNAP_REFRESH_NANOS = 100_000_000L;
+	private Parent observedContent;
+
 	private SnapshotParameters param;
 	private ImageView snapView;
 	private Viewer viewer;
@@ -113,13 +127,55 @@ public class MagnifierSkin extends SkinBase<Magnifier> {
 		});
 		localScaleFactor.set(getSkinnable().getScaleFactor());
 
-		snapView = new ImageView();
-		callBack = new Callback<SnapshotResult, Void>() {
+		// The cached snapshot is scaled, so it needs to be taken again when zooming or when the content changes size.
+		final InvalidationListener invalidateSnapListener = new InvalidationListener() {
+			@Override
+			public void invalidated(Observable arg0) {
+				invalidateSnap();
+			}
+		};
+		localScaleFactor.addListener(invalidateSnapListener);
+		getSkinnable().widthProperty().addListener(invalidateSnapListener);
+		getSkinnable().heightProperty().addListener(invalidateSnapListener);
+		getSkinnable().contentProperty().addListener(invalidateSnapListener);
+
+		// A change inside the content (text, children, ...) makes it request a layout.
+		final InvalidationListener contentNeedsLayoutListener = new InvalidationListener() {
+			@Override
+			public void invalidated(Observable arg0) {
+				if (observedContent != null && observedContent.isNeedsLayout()) {
+					invalidateSnap();
+				}
+			}
+		};
+		final InvalidationListener observeContentListener = new InvalidationListener() {
 			@Override
-			public Void call(SnapshotResult result) {
-				return null;
+			public void invalidated(Observable arg0) {
+				if (observedContent != null) {
+					observedContent.needsLayoutProperty().removeListener(contentNeedsLayoutListener);
+				}
+				final Node content = getSkinnable().getContent();
+				observedContent = content instanceof Parent ? (Parent) content : null;
+				if (observedContent != null) {
+					observedContent.needsLayoutProperty().addListener(contentNeedsLayoutListener);
+				}
 			}
 		};
+		getSkinnable().contentProperty().addListener(observeContentListener);
+		observeContentListener.invalidated(null);
+
+		// Snapshots are only taken from the pulse, so a fast moving mouse causes at most one snapshot per frame.
+		snapTimer = new AnimationTimer() {
+			@Override
+			public void handle(long now) {
+				if (snapRequested || (getSkinnable().isContinuousRefresh() && now - snapTakenAt >= SNAP_REFRESH_NANOS)) {
+					snapRequested = false;
+					takeSnap(prevX.get(), prevY.get());
+				}
+			}
+		};
+
+		snapView = new ImageView();
 		final Scale scale = new Scale();
 		scale.xProperty().bind(localScaleFactor);
 		scale.yProperty().bind(localScaleFactor);
@@ -139,6 +195,7 @@ public class MagnifierSkin extends SkinBase<Magnifier> {
 
 		viewer = new Viewer(localRadius, localRadius);
 		viewer.setClip(cClip);
+		viewer.setContent(snapView);
 
 		final Line vL = new Line();
 		vL.setStartX(0);
@@ -168,13 +225,21 @@ public class MagnifierSkin extends SkinBase<Magnifier> {
 			@Override
 			public void handle(MouseEvent e) {
 				popUp.show(getSkinnable(), e.getScreenX() - shift, e.getScreenY() - shift);
+				prevX.set(e.getX());
+				prevY.set(e.getY());
+				// the content may have changed while the mouse was outside
+				snapValid = false;
+				snapRequested = false;
 				takeSnap(e.getX(), e.getY());
+				snapTimer.start();
 			}
 		};
 		final EventHandler<MouseEvent> exitedEvent = new EventHandler<MouseEvent>() {
 			@Override
 			public void handle(MouseEvent e) {
 				popUp.hide();
+				snapTimer.stop();
+				snapRequested = false;
 			}
 		};
 		final EventHandler<MouseEvent> movedEvent = new EventHandler<MouseEvent>() {
@@ -196,6 +261,9 @@ public class MagnifierSkin extends SkinBase<Magnifier> {
 				prevX.set(e.getX());
 				prevY.set(e.getY());
 				shiftViewerContent(prevX.get(), prevY.get(), r, s);
+				if (!isSnapCovering(prevX.get(), prevY.get(), r, s)) {
+					snapRequested = true;
+				}
 			}
 		};
 
@@ -218,6 +286,8 @@ public class MagnifierSkin extends SkinBase<Magnifier> {
 					skinnable.removeEventFilter(MouseEvent.MOUSE_ENTERED, enteredEvent);
 					skinnable.removeEventFilter(MouseEvent.MOUSE_EXITED, exitedEvent);
 					skinnable.removeEventFilter(MouseEvent.MOUSE_MOVED, movedEvent);
+					popUp.hide();
+					snapTimer.stop();
 					if (getChildren().contains(mask)) {
 						getChildren().remove(mask);
 					}
@@ -263,7 +333,7 @@ public class MagnifierSkin extends SkinBase<Magnifier> {
 						}
 					}
 					localScaleFactor.set(newValue);
-					takeSnap(prevX.get(), prevY.get());
+					snapRequested = true;
 				}
 				// If scrolled with ALT key press
 				else if (e.isAltDown() && getSkinnable().isResizableOnScroll()) {
@@ -271,6 +341,9 @@ public class MagnifierSkin extends SkinBase<Magnifier> {
 					if (delta > 0) { // Increasing the size.
 						localRadius.set(localRadius.get() + RADIUS_DELTA);
 						shiftViewerContent(prevX.get(), prevY.get(), localRadius.get(), localScaleFactor.get());
+						if (!isSnapCovering(prevX.get(), prevY.get(), localRadius.get(), localScaleFactor.get())) {
+							snapRequested = true;
+						}
 					} else if (delta < 0) { // Decreasing the size.
 						if (localRadius.get() > MIN_RADIUS) {
 							localRadius.set(localRadius.get() - RADIUS_DELTA);
@@ -283,16 +356,70 @@ public class MagnifierSkin extends SkinBase<Magnifier> {
 
 	}
 
+	/**
+	 * Takes a snapshot of the content under the lens plus a margin of one lens radius, so the mouse can move
+	 * around for a while before a new snapshot is needed. The image is reused as long as its size does not change,
+	 * which keeps the memory usage independent of the size of the content.
+	 * With continuous refresh the snapshot is also refreshed a few times per second while hovering, for changes that do not cause a layout.
+	 */
 	private void takeSnap(double x, double y) {
-		int w = (int) (getSkinnable().getWidth() * localScaleFactor.get());
-		int h = (int) (getSkinnable().getHeight() * localScaleFactor.get());
-		writeImg = new WritableImage(w, h);
+		snapTakenAt = System.nanoTime(); // the same clock as the pulse
+		final double s = localScaleFactor.get();
+		final double w = getSkinnable().getWidth();
+		final double h = getSkinnable().getHeight();
+		if (w <= 0 || h <= 0) {
+			return;
+		}
+		final double size = 4 * localRadius.get() / s;
+		final double snapWidth = Math.min(size, w);
+		final double snapHeight = Math.min(size, h);
+		final double minX = Math.max(0, Math.min(x - size / 2, w - snapWidth));
+		final double minY = Math.max(0, Math.min(y - size / 2, h - snapHeight));
+		final int imgWidth = (int) Math.ceil(snapWidth * s);
+		final int imgHeight = (int) Math.ceil(snapHeight * s);
+		if (imgWidth <= 0 || imgHeight <= 0) {
+			return;
+		}
+		if (writeImg == null || (int) writeImg.getWidth() != imgWidth || (int) writeImg.getHeight() != imgHeight) {
+			writeImg = new WritableImage(imgWidth, imgHeight);
+		}
+
+		// The viewport is in the (scaled) coordinates of the parent of the skinnable.
+		final Point2D origin = getSkinnable().localToParent(minX, minY);
+		param.setViewport(new Rectangle2D(origin.getX() * s, origin.getY() * s, imgWidth, imgHeight));
 
 		// Get snapshot image
-		getSkinnable().snapshot(callBack, param, writeImg);
-		snapView.setImage(writeImg);
-		viewer.setContent(snapView);
-		shiftViewerContent(x, y, localRadius.get(), localScaleFactor.get());
+		getSkinnable().snapshot(param, writeImg);
+		if (snapView.getImage() != writeImg) {
+			snapView.setImage(writeImg);
+		}
+		snapView.setX(minX * s);
+		snapView.setY(minY * s);
+		snapMinX = minX;
+		snapMinY = minY;
+		snapMaxX = minX + snapWidth;
+		snapMaxY = minY + snapHeight;
+		snapValid = true;
+		shiftViewerContent(x, y, localRadius.get(), s);
+	}
+
+	private void invalidateSnap() {
+		snapValid = false;
+		snapRequested = true;
+	}
+
+	/**
+	 * @return true if the current snapshot contains everything the lens shows at the given position
+	 */
+	private boolean isSnapCovering(double x, double y, double r, double s) {
+		if (!snapValid) {
+			return false;
+		}
+		final double lensRadius = r / s;
+		return Math.max(0, x - lensRadius) >= snapMinX
+				&& Math.max(0, y - lensRadius) >= snapMinY
+				&& Math.min(getSkinnable().getWidth(), x + lensRadius) <= snapMaxX
+				&& Math.min(getSkinnable().getHeight(), y + lensRadius) <= snapMaxY;
 	}
 
 	private void shiftViewerContent(double x, double y, double r, double s) {
@@ -1,8 +1,11 @@
 package jfxtras.labs.internal.scene.control.skin.edittable.triple;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import javafx.beans.property.SimpleObjectProperty;
@@ -77,7 +80,6 @@ public abstract class TripleEditTableSkinBase<T,A,B,C> extends SkinBase<TripleEd
 
 		// setup component
 		createNodes();
-		System.out.println(initialTripleList);
 		setupListeners(initialTripleList);
 	}
 	
@@ -99,23 +101,50 @@ public abstract class TripleEditTableSkinBase<T,A,B,C> extends SkinBase<TripleEd
 		getTableList().removeListener(maintainEmptyRowTripleChangeLister);
 	}
 	
+	// the empty rows currently in the table, maintained from the changes so the table never has to be scanned
+	private final Set<Triple<A,B,C>> emptyRows = Collections.newSetFromMap(new IdentityHashMap<>());
+	// a row that only holds the placeholder text counts as empty too
+	private boolean isEmptyRow(Triple<A,B,C> t)
+	{
+		return t.isEmpty() || emptyString.equals(t.getValue());
+	}
+	private void trackEmptyRow(Triple<A,B,C> t)
+	{
+		if (isEmptyRow(t))
+		{
+			emptyRows.add(t);
+		} else
+		{
+			emptyRows.remove(t);
+		}
+	}
+	
 	private ListChangeListener<Triple<A,B,C>> maintainEmptyRowTripleChangeLister = (ListChangeListener.Change<? extends Triple<A,B,C>> change) ->
     {
-        boolean isEmptyPresent = change.getList().stream()
-//        		.peek(e -> System.out.println("table values:" + e.getValue()))
-        	.anyMatch(e -> (e.getValue() == null) || (e.getValue().equals(emptyString)));
-        System.out.println("isEmptyPresent:" + isEmptyPresent);
-        if (! isEmptyPresent)
+        while (change.next())
+        {
+            if (change.wasUpdated())
+            {
+            	for (int i=change.getFrom(); i<change.getTo(); i++)
+            	{
+            		trackEmptyRow(change.getList().get(i));
+            	}
+            } else
+            {
+            	change.getRemoved().forEach(emptyRows::remove);
+            	change.getAddedSubList().forEach(this::trackEmptyRow);
+            }
+        }
+        if (emptyRows.isEmpty())
         {
 			getTableList().add(new Triple<A,B,C>());
-	        System.out.println("added empty, getTableList() size:" + getTableList().size());
         }
     };
     
     // toggles Delete button
     private final ChangeListener<Triple<A,B,C>> toggleDeleteButtonChangeListener = (observable, oldSelection, newSelection) ->
     {
-        if (newSelection != null && newSelection.isEmpty())
+        if (newSelection != null && isEmptyRow(newSelection))
         {
         	hbox.deleteButton.setDisable(true);
         } else
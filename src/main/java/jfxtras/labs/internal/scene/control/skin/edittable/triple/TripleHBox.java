@@ -47,7 +47,6 @@ public class TripleHBox<A,B,C> extends HBox
 	public TripleHBox(ResourceBundle resources)
 	{
 		loadFxml(getClass().getResource("TripleHBox.fxml"), this, resources);
-		System.out.println("set items:" + tableList);
 		table.setItems(tableList);
 	}
 	
@@ -9,11 +9,15 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
 import javafx.util.Callback;
+import jfxtras.labs.scene.control.login.Login;
 
 public class LoginBorderPane extends BorderPane
 {
@@ -23,8 +27,10 @@ public class LoginBorderPane extends BorderPane
 	@FXML PasswordField passwordField;
 	@FXML Button signInButton;
 	@FXML Button cancelButton;
+	@FXML ProgressIndicator signinProgressIndicator;
 	
 	Callback<String[], Void> loginCallback;
+	private Login control;
 	
     public LoginBorderPane(Callback<String[], Void> loginCallback, ResourceBundle resources, String initialUsername)
     {
@@ -49,6 +55,15 @@ public class LoginBorderPane extends BorderPane
 //        });
     }
     
+    /** Shows the progress of asynchronous sign ins of the control and lets cancel abort them */
+    void bindSigninProgress(Login control)
+    {
+        this.control = control;
+        signInButton.disableProperty().bind(control.signingInProperty());
+        signinProgressIndicator.visibleProperty().bind(control.signingInProperty());
+        signinProgressIndicator.managedProperty().bind(control.signingInProperty());
+    }
+    
     Pane getControlVBox()
     {
         return controlVBox;
@@ -70,6 +85,11 @@ public class LoginBorderPane extends BorderPane
     
     @FXML private void handleCancel()
     {
+        if (control != null && control.isSigningIn())
+        {
+            control.cancelSignin();
+            return;
+        }
         getParent().getScene().getWindow().hide();
     }
     
@@ -79,12 +99,14 @@ public class LoginBorderPane extends BorderPane
                 usernameTextField.getText(),
                 passwordField.getText()
                 };
-        System.out.println("strings:" + strings);
         loginCallback.call(strings);
     }
     
-    @FXML private void handleKeyPress()
+    @FXML private void handleKeyPress(KeyEvent event)
     {
-        handleSignin();
+        if (event.getCode() == KeyCode.ENTER && ! signInButton.isDisabled())
+        {
+            handleSignin();
+        }
     }
 }
@@ -32,6 +32,12 @@ public class LoginServerBorderPane extends LoginBorderPane
 //        });
     }
     
+    /** Replaces the offered servers, keeping the selection if the selected server is still offered */
+    void setServerNames(List<String> serverNames)
+    {
+        serverHBox.setServerNames(serverNames);
+    }
+    
     @Override
     @FXML void handleSignin()
     {
@@ -19,4 +19,19 @@ public class LoginServerHBox extends HBox
         LoginBorderPane.loadFxml(LoginServerHBox.class.getResource("LoginServer.fxml"), this, resources);
         serverChoiceBox.getItems().addAll(serverNames);
     }
+    
+    /** Replaces the offered servers, keeping the selection if the selected server is still offered */
+    void setServerNames(List<String> serverNames)
+    {
+        if (serverChoiceBox.getItems().equals(serverNames))
+        {
+            return;
+        }
+        String selected = serverChoiceBox.getSelectionModel().getSelectedItem();
+        serverChoiceBox.getItems().setAll(serverNames);
+        if (selected != null && serverNames.contains(selected))
+        {
+            serverChoiceBox.getSelectionModel().select(selected);
+        }
+    }
 }
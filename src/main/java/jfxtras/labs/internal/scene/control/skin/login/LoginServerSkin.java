@@ -1,14 +1,28 @@
 package jfxtras.labs.internal.scene.control.skin.login;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
+import javafx.application.Platform;
 import javafx.scene.control.SkinBase;
 import javafx.util.Callback;
 import jfxtras.labs.scene.control.login.Login;
 
 public class LoginServerSkin extends SkinBase<Login>
 {
+    /** Server list of the last background load per supplier, shown immediately by new skins with the same supplier until their own load completes */
+    private static final Map<Supplier<List<String>>, List<String>> lastKnownServerNames = Collections.synchronizedMap(new WeakHashMap<>());
+    
+    private final LoginServerBorderPane borderPane;
+    private volatile boolean disposed = false;
+    
     public LoginServerSkin(
             Login control,
     		Callback<String[], Void> loginCallback,
@@ -17,11 +31,64 @@ public class LoginServerSkin extends SkinBase<Login>
     		List<String> serverNames)
     {
         super(control);
-        LoginServerBorderPane borderPane = new LoginServerBorderPane(loginCallback, resources, initialUsername, serverNames);
+        // route through the control when it signs in asynchronously, so progress, dropping and cancel apply
+        Callback<String[], Void> signinCallback = (credentials) ->
+        {
+            if (control.getAsyncSigninCallback() != null)
+            {
+                control.signin(credentials);
+                return null;
+            }
+            return loginCallback.call(credentials);
+        };
+        borderPane = new LoginServerBorderPane(signinCallback, resources, initialUsername, serverNames);
+        borderPane.bindSigninProgress(control);
 		borderPane.prefWidthProperty().bind(getSkinnable().widthProperty()); // the border pane is the same size as the whole skin
 		borderPane.prefHeightProperty().bind(getSkinnable().heightProperty());
 		getChildren().add(borderPane);
 		getSkinnable().getStyleClass().add(getClass().getSimpleName()); // always add self as style class, because CSS should relate to the skin not the control
         getSkinnable().getStyleClass().add(LoginSkin.class.getSimpleName()); // always add self as style class, because CSS should relate to the skin not the control
     }
+    
+    /**
+     * Loads the server names in the background on the login worker executor.
+     * Until the load completes the server list of the previous load with the same supplier is offered.
+     * If the load fails, the exception is passed to the error callback of the control.
+     */
+    public LoginServerSkin(
+            Login control,
+            Callback<String[], Void> loginCallback,
+            ResourceBundle resources,
+            String initialUsername,
+            Supplier<List<String>> serverNamesSupplier)
+    {
+        this(control, loginCallback, resources, initialUsername, lastKnownServerNames.getOrDefault(serverNamesSupplier, Collections.emptyList()));
+        CompletableFuture.supplyAsync(serverNamesSupplier, Login.getWorkerExecutor())
+                .thenAccept((serverNames) ->
+                {
+                    List<String> loadedServerNames = Collections.unmodifiableList(new ArrayList<>(serverNames));
+                    lastKnownServerNames.put(serverNamesSupplier, loadedServerNames);
+                    Platform.runLater(() ->
+                    {
+                        if (! disposed)
+                        {
+                            borderPane.setServerNames(loadedServerNames);
+                        }
+                    });
+                })
+                .exceptionally((exception) ->
+                {
+                    // keep offering the last known servers
+                    Throwable cause = (exception instanceof CompletionException && exception.getCause() != null) ? exception.getCause() : exception;
+                    Platform.runLater(() -> control.getErrorCallback().call(cause));
+                    return null;
+                });
+    }
+    
+    @Override
+    public void dispose()
+    {
+        disposed = true;
+        super.dispose();
+    }
 }
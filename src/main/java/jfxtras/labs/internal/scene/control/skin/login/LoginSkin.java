@@ -16,6 +16,7 @@ public class LoginSkin extends SkinBase<Login>
     {
         super(control);
         LoginBorderPane borderPane = new LoginBorderPane(loginCallback, resources, initialUsername);
+        borderPane.bindSigninProgress(control);
 		borderPane.prefWidthProperty().bind(getSkinnable().widthProperty()); // the border pane is the same size as the whole skin
 		borderPane.prefHeightProperty().bind(getSkinnable().heightProperty());
 		getChildren().add(borderPane);
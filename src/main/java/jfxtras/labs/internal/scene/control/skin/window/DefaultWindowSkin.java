@@ -29,11 +29,16 @@
 
 package jfxtras.labs.internal.scene.control.skin.window;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javafx.animation.Animation;
 import javafx.animation.Animation.Status;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
+import javafx.animation.PauseTransition;
 import javafx.animation.Timeline;
+import javafx.beans.InvalidationListener;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.ListChangeListener;
@@ -42,14 +47,19 @@ import javafx.event.EventHandler;
 import javafx.geometry.Bounds;
 import javafx.scene.Cursor;
 import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.control.SkinBase;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.effect.Glow;
+import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
+import javafx.scene.transform.Transform;
+import javafx.scene.transform.Translate;
 import javafx.util.Duration;
 import jfxtras.labs.scene.control.window.SelectableNode;
 import jfxtras.labs.scene.control.window.Window;
@@ -82,6 +92,26 @@ public class DefaultWindowSkin extends SkinBase<Window> {
     private double contentScale = 1.0;
     private double oldHeight;
     private Timeline minimizeTimeLine;
+    // translate shared by the other selected windows during a group drag,
+    // folded into their layout position when the drag ends
+    private Translate groupDragTranslate;
+    private final List<Window> groupDragWindows = new ArrayList<>();
+    // selected windows with scale or rotation, moved one by one
+    private final List<Window> groupDragTransformedWindows = new ArrayList<>();
+    // transform of the parent, cached from mouse press to mouse release;
+    // dropped when the parent moves or scales during the gesture, e.g.,
+    // inside a ScalableContentPane that rescales while dragging
+    private Transform gestureParentToScene;
+    private Parent gestureParent;
+    private final InvalidationListener gestureParentTransformListener =
+            (observable) -> gestureParentToScene = null;
+    // snapshot shown instead of the content while resizing with deferred
+    // layout
+    private ImageView contentProxy;
+    private Pane proxiedContentPane;
+    private double proxiedContentOpacity;
+    private Duration deferredLayoutIdleDelay = Duration.millis(300);
+    private PauseTransition deferredLayoutIdleTimer;
 
     public DefaultWindowSkin(Window w) {
         super(w);
@@ -213,6 +243,7 @@ public class DefaultWindowSkin extends SkinBase<Window> {
         control.getContentPane().setManaged(false);
 
         control.contentPaneProperty().addListener((ObservableValue<? extends Pane> ov, Pane oldValue, Pane newValue) -> {
+            endContentProxy();
             root.getChildren().remove(oldValue);
             root.getChildren().add(newValue);
             newValue.setManaged(false);
@@ -274,14 +305,16 @@ public class DefaultWindowSkin extends SkinBase<Window> {
         getSkinnable().onMousePressedProperty().set((EventHandler<MouseEvent>) (MouseEvent event) -> {
             final Node n = control;
 
-            final double parentScaleX = n.getParent().
-                    localToSceneTransformProperty().getValue().getMxx();
-            final double parentScaleY = n.getParent().
-                    localToSceneTransformProperty().getValue().getMyy();
+            beginGesture();
+
+            final double parentScaleX = gestureParentToScene.getMxx();
+            final double parentScaleY = gestureParentToScene.getMyy();
 
             mouseX = event.getSceneX();
             mouseY = event.getSceneY();
 
+            endGroupDrag();
+
             nodeX = n.getLayoutX() * parentScaleX;
             nodeY = n.getLayoutY() * parentScaleY;
 
@@ -298,25 +331,26 @@ public class DefaultWindowSkin extends SkinBase<Window> {
         getSkinnable().onMouseDraggedProperty().set((EventHandler<MouseEvent>) (MouseEvent event) -> {
             final Node n = control;
 
-            final double parentScaleX = n.getParent().
-                    localToSceneTransformProperty().getValue().getMxx();
-            final double parentScaleY = n.getParent().
-                    localToSceneTransformProperty().getValue().getMyy();
-
-            final double scaleX = n.localToSceneTransformProperty().
-                    getValue().getMxx();
-            final double scaleY = n.localToSceneTransformProperty().
-                    getValue().getMyy();
-
-            Bounds boundsInScene =
-                    control.localToScene(control.getBoundsInLocal());
+            if (gestureParentToScene == null) {
+                // not pressed before, or the parent changed its transform
+                beginGesture();
+                nodeX = n.getLayoutX() * gestureParentToScene.getMxx();
+                nodeY = n.getLayoutY() * gestureParentToScene.getMyy();
+            }
 
-            double sceneX = boundsInScene.getMinX();
-            double sceneY = boundsInScene.getMinY();
+            final double parentScaleX = gestureParentToScene.getMxx();
+            final double parentScaleY = gestureParentToScene.getMyy();
 
             double offsetX = event.getSceneX() - mouseX;
             double offsetY = event.getSceneY() - mouseY;
 
+            // moving does not lay out the content, only resizing is deferred
+            if (control.isDeferredLayout()
+                    && resizeMode != ResizeMode.NONE
+                    && (RESIZE_TOP || RESIZE_LEFT || RESIZE_BOTTOM || RESIZE_RIGHT)) {
+                deferLayout();
+            }
+
             if (resizeMode == ResizeMode.NONE && control.isMovable()) {
 
                 nodeX += offsetX;
@@ -340,10 +374,11 @@ public class DefaultWindowSkin extends SkinBase<Window> {
 
             } else {
 
-                double width = n.getBoundsInLocal().getMaxX()
-                        - n.getBoundsInLocal().getMinX();
-                double height = n.getBoundsInLocal().getMaxY()
-                        - n.getBoundsInLocal().getMinY();
+                Bounds boundsInScene =
+                        gestureParentToScene.transform(control.getBoundsInParent());
+
+                double sceneX = boundsInScene.getMinX();
+                double sceneY = boundsInScene.getMinY();
 
                 if (RESIZE_TOP) {
 //                        System.out.println("TOP");
@@ -427,6 +462,17 @@ public class DefaultWindowSkin extends SkinBase<Window> {
             dragging = false;
         });
 
+        // added as handler, so the onMouseReleased property stays free for
+        // the application
+        getSkinnable().addEventHandler(MouseEvent.MOUSE_RELEASED, (MouseEvent event) -> {
+            endGroupDrag();
+            endGesture();
+            if (deferredLayoutIdleTimer != null) {
+                deferredLayoutIdleTimer.stop();
+            }
+            endContentProxy();
+        });
+
         getSkinnable().onMouseMovedProperty().set((EventHandler<MouseEvent>) (MouseEvent t) -> {
             if (control.isMinimized() || !control.isResizableWindow()) {
 
@@ -553,7 +599,37 @@ public class DefaultWindowSkin extends SkinBase<Window> {
     }
 
     // TODO move from skin to behavior class (a lot of other stuff here too)
+    /**
+     * Moves the other selected windows by the specified offset.
+     *
+     * Until the drag ends, the windows are moved by a translate in their
+     * transforms, i.e., their layoutX/layoutY still hold the position from
+     * before the drag while their boundsInParent are up to date. The layout
+     * position is updated on release or when the next drag starts.
+     */
     private void dragSelectedWindows(double offsetForAllX, double offsetForAllY) {
+
+        if (groupDragTranslate == null) {
+            beginGroupDrag();
+        }
+
+        // one update per drag event, no matter how many windows are selected
+        groupDragTranslate.setX(groupDragTranslate.getX() + offsetForAllX);
+        groupDragTranslate.setY(groupDragTranslate.getY() + offsetForAllY);
+
+        for (Window selectedWindow : groupDragTransformedWindows) {
+            selectedWindow.setLayoutX(
+                    selectedWindow.getLayoutX()
+                    + offsetForAllX);
+            selectedWindow.setLayoutY(
+                    selectedWindow.getLayoutY()
+                    + offsetForAllY);
+        }
+    }
+
+    private void beginGroupDrag() {
+        groupDragTranslate = new Translate();
+
         for (SelectableNode sN : WindowUtil.
                 getDefaultClipboard().getSelectedItems()) {
 
@@ -567,14 +643,144 @@ public class DefaultWindowSkin extends SkinBase<Window> {
             if (control.getParent().
                     equals(selectedWindow.getParent())) {
 
+                // the translate is applied in local coordinates, i.e., only
+                // windows without scale or rotation can share it
+                if (selectedWindow.getTransforms().isEmpty()
+                        && selectedWindow.getScaleX() == 1
+                        && selectedWindow.getScaleY() == 1
+                        && selectedWindow.getRotate() == 0) {
+                    selectedWindow.getTransforms().add(groupDragTranslate);
+                    groupDragWindows.add(selectedWindow);
+                } else {
+                    groupDragTransformedWindows.add(selectedWindow);
+                }
+            }
+        } // end for sN
+    }
+
+    private void endGroupDrag() {
+
+        if (groupDragTranslate == null) {
+            return;
+        }
+
+        for (Window selectedWindow : groupDragWindows) {
+            if (selectedWindow.getTransforms().remove(groupDragTranslate)) {
                 selectedWindow.setLayoutX(
                         selectedWindow.getLayoutX()
-                        + offsetForAllX);
+                        + groupDragTranslate.getX());
                 selectedWindow.setLayoutY(
                         selectedWindow.getLayoutY()
-                        + offsetForAllY);
+                        + groupDragTranslate.getY());
             }
-        } // end for sN
+        }
+
+        groupDragWindows.clear();
+        groupDragTransformedWindows.clear();
+        groupDragTranslate = null;
+    }
+
+    /**
+     * Caches the transform of the parent for the gesture and drops it when
+     * the parent's transform changes.
+     */
+    private void beginGesture() {
+        Parent parent = control.getParent();
+
+        if (gestureParent != parent) {
+            endGesture();
+            gestureParent = parent;
+            parent.localToSceneTransformProperty()
+                    .addListener(gestureParentTransformListener);
+        }
+
+        gestureParentToScene = parent.getLocalToSceneTransform();
+    }
+
+    private void endGesture() {
+        if (gestureParent != null) {
+            gestureParent.localToSceneTransformProperty()
+                    .removeListener(gestureParentTransformListener);
+            gestureParent = null;
+        }
+
+        gestureParentToScene = null;
+    }
+
+    /**
+     * Shows the content as a snapshot until the mouse is released or has not
+     * moved for the idle delay, then the content is laid out again.
+     */
+    private void deferLayout() {
+        if (contentProxy == null) {
+            beginContentProxy();
+        }
+
+        if (deferredLayoutIdleTimer == null) {
+            deferredLayoutIdleTimer = new PauseTransition();
+            deferredLayoutIdleTimer.setOnFinished((event) -> endContentProxy());
+        }
+
+        deferredLayoutIdleTimer.stop();
+        deferredLayoutIdleTimer.setDuration(deferredLayoutIdleDelay);
+        deferredLayoutIdleTimer.playFromStart();
+    }
+
+    private void beginContentProxy() {
+        Pane contentPane = control.getContentPane();
+
+        if (control.isMinimized() || contentPane == null
+                || !contentPane.isVisible()
+                || contentPane.getWidth() <= 0 || contentPane.getHeight() <= 0) {
+            return;
+        }
+
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+
+        contentProxy = new ImageView(contentPane.snapshot(parameters, null));
+        contentProxy.setManaged(false);
+        contentProxy.setMouseTransparent(true);
+        contentProxy.setFitWidth(contentPane.getWidth());
+        contentProxy.setFitHeight(contentPane.getHeight());
+        contentProxy.relocate(contentPane.getLayoutX(), contentPane.getLayoutY());
+
+        // the content stays in place, so focus and state are preserved, but
+        // it is neither rendered nor resized
+        proxiedContentPane = contentPane;
+        proxiedContentOpacity = contentPane.getOpacity();
+        contentPane.setOpacity(0);
+
+        root.getChildren().add(contentProxy);
+    }
+
+    private void endContentProxy() {
+        if (contentProxy == null) {
+            return;
+        }
+
+        root.getChildren().remove(contentProxy);
+        contentProxy = null;
+
+        proxiedContentPane.setOpacity(proxiedContentOpacity);
+        proxiedContentPane = null;
+
+        control.requestLayout();
+    }
+
+    /**
+     * @return the delay after which the content is laid out while the mouse
+     * is held still during a move or resize with deferred layout
+     */
+    public Duration getDeferredLayoutIdleDelay() {
+        return deferredLayoutIdleDelay;
+    }
+
+    /**
+     * @param deferredLayoutIdleDelay the deferred layout idle delay to set
+     */
+    public void setDeferredLayoutIdleDelay(Duration deferredLayoutIdleDelay) {
+        this.deferredLayoutIdleDelay = deferredLayoutIdleDelay;
     }
 
     /**
@@ -680,9 +886,18 @@ public class DefaultWindowSkin extends SkinBase<Window> {
         double contentWidth = root.getWidth() - leftAndRight; 
         double contentHeight = root.getHeight() - getSkinnable().getInsets().getBottom() - titleBar.prefHeight(0);
 
-        control.getContentPane().resize(
-                contentWidth,
-                contentHeight);
+        if (contentProxy != null) {
+            // the snapshot is scaled instead of laying out the content
+            contentProxy.relocate(
+                    getSkinnable().getInsets().getLeft(),
+                    titleBar.prefHeight(0));
+            contentProxy.setFitWidth(Math.max(0, contentWidth));
+            contentProxy.setFitHeight(Math.max(0, contentHeight));
+        } else {
+            control.getContentPane().resize(
+                    contentWidth,
+                    contentHeight);
+        }
 
         titleBar.layoutChildren();
     }
@@ -43,6 +43,7 @@ import javafx.beans.property.StringProperty;
 import javafx.scene.control.Control;
 import javafx.scene.control.Skin;
 import jfxtras.labs.internal.scene.control.skin.BigDecimalFieldSkin;
+import jfxtras.labs.util.BigDecimalFormatter;
 
 /**
  * Input field for BigDecimal values. This control has the following features:
@@ -140,7 +141,7 @@ public class BigDecimalField extends Control {
      */
     public String getText() {
         if (number.getValue() != null)
-            return getFormat().format(number.getValue());
+            return getFormatter().format(number.getValue());
         else
             return null;
     }
@@ -150,8 +151,7 @@ public class BigDecimalField extends Control {
      */
     public void setText(String formattedNumber) {
         try {
-            Number parsedNumber = getFormat().parse(formattedNumber);
-            setNumber(new BigDecimal(parsedNumber.toString()));
+            setNumber(getFormatter().parse(formattedNumber));
         } catch (ParseException ex) {
             Logger.getLogger(BigDecimalField.class.getName()).log(Level.INFO,
                     null, ex);
@@ -248,6 +248,21 @@ public class BigDecimalField extends Control {
     public final void setFormat(NumberFormat value) { format.set(value); }
     public ObjectProperty<NumberFormat> formatProperty() { return format; }
 
+    /**
+     * @return The formatter that parses and formats {@link #number} exactly according to {@link #formatProperty()}.
+     * It is shared with all other controls using an equal format.
+     * The format is compared on every call, so a format that is set again or modified in place is picked up as well.
+     */
+    public BigDecimalFormatter getFormatter() {
+        NumberFormat currentFormat = getFormat();
+        // the format may have been modified in place, so the identity of the format is not enough
+        if (formatter == null || !formatter.isFormatOf(currentFormat)) {
+            formatter = BigDecimalFormatter.getInstance(currentFormat);
+        }
+        return formatter;
+    }
+    private BigDecimalFormatter formatter;
+
     /**
      * Contains the text that is displayed in the control if no {@link #number}
      * is set.
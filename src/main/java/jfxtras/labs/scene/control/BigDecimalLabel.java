@@ -37,6 +37,7 @@ import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.scene.control.Label;
+import jfxtras.labs.util.BigDecimalFormatter;
 
 /**
  * Label implementation that displays a formatted BigDecimal.
@@ -86,7 +87,14 @@ public class BigDecimalLabel extends Label {
 
             @Override
             public void changed(ObservableValue<? extends BigDecimal> observable, BigDecimal oldValue, BigDecimal newValue) {
-                setText(getFormattedString());
+                if (deferFormatting) {
+                    if (!formatPending) {
+                        formatPending = true;
+                        requestLayout();
+                    }
+                } else {
+                    setText(getFormattedString());
+                }
             }
         });
         // Text is formatted and displayed if the underlying number or format changes.
@@ -99,12 +107,40 @@ public class BigDecimalLabel extends Label {
 
         });
     }
+    /**
+     * If set, a changed number is formatted once in the next layout pass instead of immediately, so a label that
+     * receives many updates per frame formats only the last one. {@link #getText()} lags behind until then.
+     */
+    public final void setDeferFormatting(boolean value) {
+        deferFormatting = value;
+        if (!value && formatPending) {
+            formatPending = false;
+            setText(getFormattedString());
+        }
+    }
+    public final boolean isDeferFormatting() { return deferFormatting; }
+    private boolean deferFormatting = false;
+    private boolean formatPending = false;
+
+    @Override
+    protected void layoutChildren() {
+        if (formatPending) {
+            formatPending = false;
+            setText(getFormattedString());
+        }
+        super.layoutChildren();
+    }
+
     private String getFormattedString() {
         if(getNumber() == null || getFormat() == null) {
             return null;
         }
         try {
-            String formattedString = getFormat().format(getNumber());
+            // the cached formatter is shared between all labels with an equal format, the format may also have been modified in place
+            if (formatter == null || !formatter.isFormatOf(getFormat())) {
+                formatter = BigDecimalFormatter.getInstance(getFormat());
+            }
+            String formattedString = formatter.format(getNumber());
             return formattedString;
         } catch (Exception e) {
             setText("n/a");
@@ -112,5 +148,6 @@ public class BigDecimalLabel extends Label {
             return null;
         }
     }
+    private BigDecimalFormatter formatter;
 
 }
@@ -69,6 +69,7 @@ public class Magnifier extends Control {
 	private BooleanProperty active;
 	private BooleanProperty scalableOnScroll;
 	private BooleanProperty resizableOnScroll;
+	private BooleanProperty continuousRefresh;
 
 	// Default values
 	private final double DEFAULT_RADIUS = 86.0D;
@@ -79,6 +80,7 @@ public class Magnifier extends Control {
 	private final boolean DEFAULT_ACTIVE = true;
 	private final boolean DEFAULT_SCALABLE_ONSCROLL = false;
 	private final boolean DEFAULT_RESIZABLE_ONSCROLL = false;
+	private final boolean DEFAULT_CONTINUOUS_REFRESH = false;
 	
 	private final String DEFAULT_STYLE_CLASS = "magnifier";
 	
@@ -452,4 +454,49 @@ public class Magnifier extends Control {
 	public final boolean isResizableOnScroll() {
 		return ((this.resizableOnScroll == null) ? DEFAULT_RESIZABLE_ONSCROLL : this.resizableOnScroll.getValue());
 	}
+
+	/**
+	 * Controls whether the magnified image is taken again a few times per second while the mouse hovers over the content.
+	 * The image is always taken again when the content requests a layout, so this is only needed for content that changes
+	 * without requesting a layout, like animations.
+	 * <ul>
+	 * <li> {@code true} Refreshes the magnified image periodically while hovering.</li>
+	 * <li> {@code false} Refreshes the magnified image only when the content is invalidated or the mouse leaves the cached area.</li>
+	 * </ul>
+	 * <p>Default value is {@code false}</p>.
+	 * 
+	 * @see #setContinuousRefresh(boolean)
+	 * @see #isContinuousRefresh()
+	 */
+	public final BooleanProperty continuousRefreshProperty() {
+		if (this.continuousRefresh == null) {
+			this.continuousRefresh = new BooleanPropertyBase(DEFAULT_CONTINUOUS_REFRESH) {
+
+				@Override
+				public String getName() {
+					return "continuousRefresh";
+				}
+
+				@Override
+				public Object getBean() {
+					return Magnifier.this;
+				}
+			};
+		}
+		return this.continuousRefresh;
+	}
+
+	/**
+	 * Sets the value of the property continuousRefresh.
+	 */
+	public final void setContinuousRefresh(boolean paramContinuousRefresh) {
+		continuousRefreshProperty().setValue(paramContinuousRefresh);
+	}
+
+	/**
+	 * Gets the value of the property continuousRefresh.
+	 */
+	public final boolean isContinuousRefresh() {
+		return ((this.continuousRefresh == null) ? DEFAULT_CONTINUOUS_REFRESH : this.continuousRefresh.getValue());
+	}
 }
@@ -1,10 +1,10 @@
 package jfxtras.labs.scene.control.edittable.triple;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
@@ -23,25 +23,38 @@ public abstract class TripleEditTable<T,A,B,C> extends EditTable<T>
 	
 	protected List<Triple<A,B,C>> tripleList;
 	
+	/**
+	 * Every bean element is converted again, because an element may have been changed in place since the last call.
+	 * The new rows are diffed against the table rows keyed on their content, so only the changed rows are replaced in the table.
+	 */
 	@Override
 	public void setBeanList(List<T> beanList)
 	{
 		super.setBeanList(beanList);
-		tripleList = beanList.stream()
-			.map(e -> converter.fromBeanElement(e))
-			.collect(Collectors.toList());
+		tripleList = new ArrayList<>(beanList.size());
+		for (T e : beanList)
+		{
+			tripleList.add(converter.fromBeanElement(e));
+		}
 		TripleEditTableSkin<A,B,C> tripleEditTableSkin = (TripleEditTableSkin<A,B,C>) getSkin();
-		System.out.println("tripleEditTableSkin:" + tripleEditTableSkin);
 		if (tripleEditTableSkin != null)
 		{
 			ObservableList<Triple<A,B,C>> tableList = tripleEditTableSkin.getTableList();
-			tableList.clear();
-			System.out.println("clear tableList:"+tableList.size() + " " + tripleList);
-			tableList.addAll(tripleList);
-			if (tableList.isEmpty())
+			// keep the empty row at the end of the table
+			List<Triple<A,B,C>> rows = new ArrayList<>(tripleList);
+			int emptyRowsStart = tableList.size();
+			while (emptyRowsStart > 0 && tableList.get(emptyRowsStart - 1).isEmpty())
+			{
+				emptyRowsStart--;
+			}
+			rows.addAll(tableList.subList(emptyRowsStart, tableList.size()));
+			if (rows.isEmpty())
 			{
-				tableList.add(new Triple<A,B,C>());
+				rows.add(new Triple<A,B,C>());
 			}
+			TripleRowDiff.replaceChangedRows(tableList, rows);
+			// the rows that were kept are the ones in the table now
+			tripleList = new ArrayList<>(tableList.subList(0, tripleList.size()));
 		}
 	}
 	
@@ -65,15 +78,12 @@ public abstract class TripleEditTable<T,A,B,C> extends EditTable<T>
             		if (t.getValue() != null)
             		{
 	            		T e = converter.toBeanElement(t);
-	            		System.out.println("i:" + i + " " + getBeanList().size());
 	            		if (i <= getBeanList().size()-1)
 	            		{
-	            			System.out.println("changed existing element");
 	            			getBeanList().set(i, e);
 	            		} else
 	            		{
 	            			getBeanList().add(e);
-	            			System.out.println("new element added");
 	            		}
             		}
             	}
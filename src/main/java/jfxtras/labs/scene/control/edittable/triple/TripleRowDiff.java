@@ -0,0 +1,154 @@
+package jfxtras.labs.scene.control.edittable.triple;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javafx.collections.ObservableList;
+
+/**
+ * Brings the rows of a TripleEditTable in line with the rows converted from the bean list.
+ */
+final class TripleRowDiff
+{
+	private TripleRowDiff() {}
+	
+	/**
+	 * Diffs the rows keyed on their content (name, value and primary): every new row is matched to an unused table row
+	 * with the same content, the longest run of matched rows that keep their order stays in the table, the other table
+	 * rows are removed and the unmatched new rows are inserted.
+	 * So rows that stay are not reported as removed and added again, also when rows are inserted, removed or moved in the middle.
+	 */
+	static <A,B,C> void replaceChangedRows(ObservableList<Triple<A,B,C>> tableList, List<Triple<A,B,C>> rows)
+	{
+		// the rows at the start and at the end usually stay, they need no matching
+		int max = Math.min(tableList.size(), rows.size());
+		int prefix = 0;
+		while (prefix < max && isSameRow(tableList.get(prefix), rows.get(prefix)))
+		{
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < max - prefix && isSameRow(tableList.get(tableList.size() - 1 - suffix), rows.get(rows.size() - 1 - suffix)))
+		{
+			suffix++;
+		}
+		List<Triple<A,B,C>> oldRows = new ArrayList<>(tableList.subList(prefix, tableList.size() - suffix));
+		List<Triple<A,B,C>> newRows = rows.subList(prefix, rows.size() - suffix);
+		
+		// match every new row to the first unused old row with the same content
+		Map<List<Object>, Deque<Integer>> oldIndexesByKey = new HashMap<>();
+		for (int i = 0; i < oldRows.size(); i++)
+		{
+			oldIndexesByKey.computeIfAbsent(rowKey(oldRows.get(i)), k -> new ArrayDeque<>()).add(i);
+		}
+		int[] matchedOldIndex = new int[newRows.size()];
+		for (int j = 0; j < newRows.size(); j++)
+		{
+			Deque<Integer> oldIndexes = oldIndexesByKey.get(rowKey(newRows.get(j)));
+			matchedOldIndex[j] = (oldIndexes == null || oldIndexes.isEmpty()) ? -1 : oldIndexes.poll();
+		}
+		
+		boolean[] keepNew = longestIncreasingRun(matchedOldIndex);
+		boolean[] keepOld = new boolean[oldRows.size()];
+		for (int j = 0; j < newRows.size(); j++)
+		{
+			if (keepNew[j])
+			{
+				keepOld[matchedOldIndex[j]] = true;
+			}
+		}
+		
+		// remove back to front, so the indexes of the ranges still to remove do not shift
+		for (int i = oldRows.size() - 1; i >= 0; )
+		{
+			if (keepOld[i])
+			{
+				i--;
+				continue;
+			}
+			int end = i + 1;
+			while (i >= 0 && !keepOld[i])
+			{
+				i--;
+			}
+			tableList.remove(prefix + i + 1, prefix + end);
+		}
+		// insert front to back, everything before the insert position is in its final place by then
+		for (int j = 0; j < newRows.size(); )
+		{
+			if (keepNew[j])
+			{
+				j++;
+				continue;
+			}
+			int start = j;
+			while (j < newRows.size() && !keepNew[j])
+			{
+				j++;
+			}
+			tableList.addAll(prefix + start, newRows.subList(start, j));
+		}
+	}
+	
+	/**
+	 * @return which of the matched indexes (not -1) form the longest strictly increasing subsequence
+	 */
+	private static boolean[] longestIncreasingRun(int[] indexes)
+	{
+		// tails[k] is the position of the smallest last index of an increasing subsequence of length k+1
+		int[] tails = new int[indexes.length];
+		int[] previous = new int[indexes.length];
+		int length = 0;
+		for (int j = 0; j < indexes.length; j++)
+		{
+			if (indexes[j] < 0)
+			{
+				continue;
+			}
+			int low = 0;
+			int high = length;
+			while (low < high)
+			{
+				int mid = (low + high) >>> 1;
+				if (indexes[tails[mid]] < indexes[j])
+				{
+					low = mid + 1;
+				} else
+				{
+					high = mid;
+				}
+			}
+			previous[j] = (low > 0) ? tails[low - 1] : -1;
+			tails[low] = j;
+			if (low == length)
+			{
+				length++;
+			}
+		}
+		boolean[] keep = new boolean[indexes.length];
+		for (int j = (length > 0) ? tails[length - 1] : -1; j >= 0; j = previous[j])
+		{
+			keep[j] = true;
+		}
+		return keep;
+	}
+	
+	private static List<Object> rowKey(Triple<?,?,?> row)
+	{
+		return Arrays.asList(row.getName(), row.getValue(), row.isPrimary());
+	}
+	
+	private static <A,B,C> boolean isSameRow(Triple<A,B,C> row, Triple<A,B,C> other)
+	{
+		return row == other
+			|| (Objects.equals(row.getName(), other.getName())
+				&& Objects.equals(row.getValue(), other.getValue())
+				&& Objects.equals(row.isPrimary(), other.isPrimary()));
+	}
+}
@@ -2,10 +2,26 @@ package jfxtras.labs.scene.control.login;
 
 import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.scene.control.Control;
 import javafx.scene.control.Skin;
 import javafx.util.Callback;
+import javafx.util.Duration;
 import jfxtras.labs.internal.scene.control.skin.login.LoginSkin;
 
 public class Login extends Control
@@ -51,6 +67,183 @@ public class Login extends Control
         this.loginCallback = loginCallback;
     }
 
+    /* Asynchronous log in callback */
+    private Function<String[], ? extends CompletionStage<?>> asyncLoginCallback = null;
+    /** Gets asynchronous callback that is executed on clicking "sign in", null if the synchronous callback is used */
+    public Function<String[], ? extends CompletionStage<?>> getAsyncSigninCallback()
+    {
+        return asyncLoginCallback;
+    }
+    /**
+     * Sets asynchronous callback that is executed on clicking "sign in" instead of the synchronous one.
+     * The returned stage completes when the credentials are checked, until then the control shows progress
+     * and further sign in attempts are dropped.  The callback is called on the FX thread, so the actual check
+     * should be moved off that thread, for example by wrapping it with {@link #onWorker(Function)}.
+     * <p>
+     * The timeout and {@link #cancelSignin()} complete the CompletableFuture of the stage.  If the stage is not a
+     * CompletableFuture itself, that is a copy, and the stage is cancelled as well if it is a {@link Future}.
+     * Either way the check itself is only interrupted if the code running it reacts to the cancellation.
+     */
+    public void setAsyncSigninCallback(Function<String[], ? extends CompletionStage<?>> asyncLoginCallback)
+    {
+        this.asyncLoginCallback = asyncLoginCallback;
+    }
+
+    /* Sign in timeout */
+    private Duration signinTimeout = null;
+    /** Gets maximum time an asynchronous sign in may take, null for no timeout */
+    public Duration getSigninTimeout()
+    {
+        return signinTimeout;
+    }
+    /** Sets maximum time an asynchronous sign in may take, after which its stage completes with a TimeoutException */
+    public void setSigninTimeout(Duration signinTimeout)
+    {
+        this.signinTimeout = signinTimeout;
+    }
+
+    /* Error callback */
+    private Callback<Throwable, Void> errorCallback = (exception) ->
+    {
+        Logger.getLogger(Login.class.getName()).log(Level.WARNING, null, exception);
+        return null;
+    };
+    /** Gets callback that is executed on the FX thread when background work of the control or its skin fails */
+    public Callback<Throwable, Void> getErrorCallback()
+    {
+        return errorCallback;
+    }
+    /** Sets callback that is executed on the FX thread when background work of the control or its skin fails, by default the exception is logged */
+    public void setErrorCallback(Callback<Throwable, Void> errorCallback)
+    {
+        this.errorCallback = errorCallback;
+    }
+
+    /* Signing in */
+    private final ReadOnlyBooleanWrapper signingIn = new ReadOnlyBooleanWrapper(this, "signingIn", false);
+    /** True while an asynchronous sign in is running */
+    public ReadOnlyBooleanProperty signingInProperty()
+    {
+        return signingIn.getReadOnlyProperty();
+    }
+    public boolean isSigningIn()
+    {
+        return signingIn.get();
+    }
+    private CompletableFuture<?> pendingSignin = null;
+
+    /** Worker threads for {@link #onWorker(Function)}, daemon so they do not keep the application alive */
+    private static final ExecutorService WORKER = Executors.newCachedThreadPool(runnable ->
+    {
+        Thread thread = new Thread(runnable, "Login worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** Gets the shared executor used to run credential checks and other slow login work off the FX thread */
+    public static ExecutorService getWorkerExecutor()
+    {
+        return WORKER;
+    }
+    /** Wraps a blocking credentials check so it runs on the shared worker executor, for use as asynchronous sign in callback */
+    public static <T> Function<String[], CompletionStage<T>> onWorker(Function<String[], T> check)
+    {
+        return (credentials) -> CompletableFuture.supplyAsync(() -> check.apply(credentials), WORKER);
+    }
+
+    /**
+     * Signs in with the given credentials, using the asynchronous callback if set and the synchronous one otherwise.
+     * When an asynchronous sign in fails or times out, the exception is passed to the error callback.
+     * 
+     * @return false if the credentials were dropped because an earlier sign in is still running
+     */
+    public boolean signin(String[] credentials)
+    {
+        if (isSigningIn())
+        {
+            return false;
+        }
+        if (asyncLoginCallback == null)
+        {
+            loginCallback.call(credentials);
+            return true;
+        }
+        CompletionStage<?> stage = asyncLoginCallback.apply(credentials);
+        // may be a copy of the stage, then cancelling and timing out only reach the stage through cancelStage
+        CompletableFuture<?> future = stage.toCompletableFuture();
+        if (signinTimeout != null && ! signinTimeout.isIndefinite())
+        {
+            future.orTimeout((long) signinTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        pendingSignin = future;
+        signingIn.set(true);
+        future.whenComplete((result, exception) ->
+        {
+            Throwable cause = (exception instanceof CompletionException && exception.getCause() != null) ? exception.getCause() : exception;
+            if (stage != future && (cause instanceof CancellationException || cause instanceof TimeoutException))
+            {
+                cancelStage(stage);
+            }
+            runOnFxThread(() ->
+            {
+                signinFinished(future);
+                // a cancelled sign in was ended on purpose, every other failure (including a timeout) is reported
+                if (cause != null && ! (cause instanceof CancellationException))
+                {
+                    getErrorCallback().call(cause);
+                }
+            });
+        });
+        return true;
+    }
+    
+    private static void cancelStage(CompletionStage<?> stage)
+    {
+        if (stage instanceof Future)
+        {
+            try
+            {
+                ((Future<?>) stage).cancel(true);
+            }
+            catch (UnsupportedOperationException e)
+            {
+                // a minimal completion stage cannot be cancelled
+            }
+        }
+    }
+    
+    /** Cancels a running asynchronous sign in, its stage completes with a CancellationException */
+    public void cancelSignin()
+    {
+        CompletableFuture<?> future = pendingSignin;
+        if (future != null)
+        {
+            signinFinished(future);
+            future.cancel(true);
+        }
+    }
+
+    private void signinFinished(CompletableFuture<?> future)
+    {
+        // a late completion of a cancelled sign in must not end a newer one
+        if (pendingSignin == future)
+        {
+            pendingSignin = null;
+            signingIn.set(false);
+        }
+    }
+
+    private static void runOnFxThread(Runnable runnable)
+    {
+        if (Platform.isFxApplicationThread())
+        {
+            runnable.run();
+        }
+        else
+        {
+            Platform.runLater(runnable);
+        }
+    }
+
     /* Array of additional arguments for skins */
     private Object[] args;
     
@@ -78,6 +271,10 @@ public class Login extends Control
                 this,
                 resources,
                 initialUsername,
-                loginCallback);
+                (credentials) ->
+                {
+                    signin(credentials);
+                    return null;
+                });
     }
 }
@@ -30,6 +30,7 @@
 package jfxtras.labs.scene.control.radialmenu;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import javafx.animation.Animation.Status;
@@ -53,6 +54,12 @@ public class RadialContainerMenuItem extends RadialMenuItem {
     private FadeTransition fadeIn = null;
     private FadeTransition fadeOut = null;
 
+    /**
+     * the child items are only bound and added to the scene graph when this
+     * item is expanded for the first time
+     */
+    private boolean materialized = false;
+
     protected List<RadialMenuItem> items = new ArrayList<RadialMenuItem>();
     protected Polyline arrow = new Polyline(-5.0, -5.0, 5.0, 0.0, -5.0, 5.0, -5.0, -5.0);
 
@@ -84,12 +91,17 @@ public class RadialContainerMenuItem extends RadialMenuItem {
 	    }
 	});
 	this.getChildren().add(this.childAnimGroup);
+	this.getChildren().add(this.arrow);
+    }
+
+    private void materialize() {
+	this.materialized = true;
 	this.fadeIn = new FadeTransition(Duration.millis(400), this.childAnimGroup);
 	fadeIn.setFromValue(0.0);
 	fadeIn.setToValue(1.0);
 	this.fadeOut = new FadeTransition(Duration.millis(400), this.childAnimGroup);
-	fadeOut.setFromValue(0.0);
-	fadeOut.setToValue(1.0);
+	fadeOut.setFromValue(1.0);
+	fadeOut.setToValue(0.0);
 	fadeOut.setOnFinished(new EventHandler<ActionEvent>() {
 
 		    @Override
@@ -98,10 +110,48 @@ public class RadialContainerMenuItem extends RadialMenuItem {
 				.setVisible(false);
 		    }
 		});
-	this.getChildren().add(this.arrow);
+	double offset = 0;
+	for (final RadialMenuItem item : this.items) {
+	    this.bindMenuItem(item, offset);
+	    offset += item.getMenuSize();
+	}
+	this.childAnimGroup.getChildren().addAll(this.items);
     }
 
     public void addMenuItem(final RadialMenuItem item) {
+	if (this.materialized) {
+	    this.bindMenuItem(item, this.getItemsMenuSize());
+	    this.childAnimGroup.getChildren().add(item);
+	}
+	this.items.add(item);
+    }
+
+    /**
+     * Adds all items at once, see {@link RadialMenu#addMenuItems(Collection)}.
+     *
+     * @param items the items to add in the order they appear in the menu
+     */
+    public void addMenuItems(final Collection<? extends RadialMenuItem> items) {
+	if (this.materialized) {
+	    double offset = this.getItemsMenuSize();
+	    for (final RadialMenuItem item : items) {
+		this.bindMenuItem(item, offset);
+		offset += item.getMenuSize();
+	    }
+	    this.childAnimGroup.getChildren().addAll(items);
+	}
+	this.items.addAll(items);
+    }
+
+    private double getItemsMenuSize() {
+	double size = 0;
+	for (final RadialMenuItem item : this.items) {
+	    size += item.getMenuSize();
+	}
+	return size;
+    }
+
+    private void bindMenuItem(final RadialMenuItem item, final double offset) {
 	item.backgroundColorProperty().bind(this.backgroundColor);
 	item.backgroundMouseOnColorProperty().bind(this.backgroundMouseOnColor);
 	item.innerRadiusProperty().bind(this.radius);
@@ -112,13 +162,7 @@ public class RadialContainerMenuItem extends RadialMenuItem {
 	item.clockwiseProperty().bind(this.clockwise);
 	item.backgroundVisibleProperty().bind(this.backgroundVisible);
 	item.strokeVisibleProperty().bind(this.strokeVisible);
-	this.items.add(item);
-	this.childAnimGroup.getChildren().add(item);
-	double offset = 0;
-	for (final RadialMenuItem it : this.items) {
-	    it.startAngleProperty().bind(this.startAngleProperty().add(offset));
-	    offset += it.getMenuSize();
-	}
+	item.startAngleProperty().bind(this.startAngleProperty().add(offset));
     }
 
     public void removeMenuItem(final RadialMenuItem item) {
@@ -133,7 +177,7 @@ public class RadialContainerMenuItem extends RadialMenuItem {
 	item.clockwiseProperty().unbind();
 	item.backgroundVisibleProperty().unbind();
 	item.strokeVisibleProperty().unbind();
-
+	item.startAngleProperty().unbind();
     }
 
     public void removeMenuItem(final int itemIndex) {
@@ -189,6 +233,9 @@ public class RadialContainerMenuItem extends RadialMenuItem {
     void setSelected(final boolean selected) {
 	this.selected = selected;
 	if (this.selected) {
+	    if (!this.materialized) {
+		this.materialize();
+	    }
 	    double startOpacity = 0;
 	    if (this.fadeOut.getStatus() == Status.RUNNING) {
 		this.fadeOut.stop();
@@ -199,7 +246,7 @@ public class RadialContainerMenuItem extends RadialMenuItem {
 	    this.childAnimGroup.setVisible(true);
 	    this.fadeIn.fromValueProperty().set(startOpacity);
 	    this.fadeIn.playFromStart();
-	} else {
+	} else if (this.materialized) {
 	    // draw Children
 	    double startOpacity = 1.0;
 	    if (this.fadeIn.getStatus() == Status.RUNNING) {
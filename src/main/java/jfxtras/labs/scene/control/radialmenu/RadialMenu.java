@@ -30,6 +30,7 @@
 package jfxtras.labs.scene.control.radialmenu;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import javafx.animation.Animation;
@@ -328,12 +329,7 @@ public class RadialMenu extends Group implements EventHandler<MouseEvent>,
 
     public void setInitialAngle(final double angle) {
         this.initialAngle.set(angle);
-
-        double angleOffset = this.initialAngle.get();
-        for (final RadialMenuItem item : this.items) {
-            item.setStartAngle(angleOffset);
-            angleOffset = angleOffset + item.getMenuSize();
-        }
+        this.layoutAngles();
     }
 
     public void setInnerRadius(final double radius) {
@@ -381,6 +377,29 @@ public class RadialMenu extends Group implements EventHandler<MouseEvent>,
     }
 
     public void addMenuItem(final RadialMenuItem item) {
+        this.bindMenuItem(item);
+        this.items.add(item);
+        this.itemGroup.getChildren().add(item);
+        this.layoutAngles();
+    }
+
+    /**
+     * Adds all items at once. The start angles are assigned in one go after
+     * the last item was added, which is considerably cheaper than calling
+     * {@link #addMenuItem(RadialMenuItem)} for each item of a large menu.
+     *
+     * @param items the items to add in the order they appear in the menu
+     */
+    public void addMenuItems(final Collection<? extends RadialMenuItem> items) {
+        for (final RadialMenuItem item : items) {
+            this.bindMenuItem(item);
+        }
+        this.items.addAll(items);
+        this.itemGroup.getChildren().addAll(items);
+        this.layoutAngles();
+    }
+
+    private void bindMenuItem(final RadialMenuItem item) {
         item.visibleProperty().bind(this.visibleProperty());
         item.backgroundColorProperty().bind(this.backgroundFill);
         item.backgroundMouseOnColorProperty().bind(this.backgroundMouseOnFill);
@@ -392,15 +411,15 @@ public class RadialMenu extends Group implements EventHandler<MouseEvent>,
         item.clockwiseProperty().bind(this.clockwise);
         item.backgroundVisibleProperty().bind(this.backgroundVisible);
         item.strokeVisibleProperty().bind(this.strokeVisible);
-        this.items.add(item);
-        this.itemGroup.getChildren().add(this.itemGroup.getChildren().size(),
-                item);
+        item.setOnMouseClicked(this);
+    }
+
+    private void layoutAngles() {
         double angleOffset = this.initialAngle.get();
-        for (final RadialMenuItem it : this.items) {
-            it.setStartAngle(angleOffset);
+        for (final RadialMenuItem item : this.items) {
+            item.setStartAngle(angleOffset);
             angleOffset = angleOffset + item.getMenuSize();
         }
-        item.setOnMouseClicked(this);
     }
 
     public void removeMenuItem(final RadialMenuItem item) {
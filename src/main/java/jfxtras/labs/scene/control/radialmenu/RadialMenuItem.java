@@ -49,6 +49,7 @@ import javafx.scene.shape.FillRule;
 import javafx.scene.shape.LineTo;
 import javafx.scene.shape.MoveTo;
 import javafx.scene.shape.Path;
+import javafx.scene.transform.Rotate;
 
 public class RadialMenuItem extends Group implements ChangeListener<Object> {
 
@@ -87,26 +88,50 @@ public class RadialMenuItem extends Group implements ChangeListener<Object> {
 
     protected LineTo lineTo2;
 
+    /**
+     * the sector coordinates in the rotated (absolute) position, as they were
+     * used to draw the path before it was rotated into place; they are still
+     * computed for subclasses, but the path is drawn from the shared
+     * {@link SectorGeometry}
+     */
+    @Deprecated
     protected double innerStartX;
 
+    @Deprecated
     protected double innerStartY;
 
+    @Deprecated
     protected double innerEndX;
 
+    @Deprecated
     protected double innerEndY;
 
+    @Deprecated
     protected boolean innerSweep;
 
+    @Deprecated
     protected double startX;
 
+    @Deprecated
     protected double startY;
 
+    @Deprecated
     protected double endX;
 
+    @Deprecated
     protected double endY;
 
+    @Deprecated
     protected boolean sweep;
 
+    /**
+     * the path is drawn at start angle 0 and rotated into place, so items
+     * that only differ in their start angle share the same sector geometry
+     */
+    protected Rotate pathRotate;
+
+    private SectorGeometry sector;
+
     protected double graphicX;
 
     protected double graphicY;
@@ -123,6 +148,18 @@ public class RadialMenuItem extends Group implements ChangeListener<Object> {
 
     protected String text;
 
+    /**
+     * set when a property changed; the redraw itself happens once in the next
+     * layout pass, no matter how many properties changed in between
+     */
+    protected boolean redrawPending = false;
+
+    /**
+     * set when one of the properties the sector geometry depends on changed;
+     * fill or stroke changes alone do not recompute the coordinates
+     */
+    protected boolean geometryDirty = true;
+
     public RadialMenuItem() {
 	this.menuSize = 45;
 	this.innerRadius.addListener(this);
@@ -143,12 +180,14 @@ public class RadialMenuItem extends Group implements ChangeListener<Object> {
 	this.arcTo = new ArcTo();
 	this.lineTo = new LineTo();
 	this.lineTo2 = new LineTo();
+	this.pathRotate = new Rotate();
 
 	this.path.getElements().add(this.moveTo);
 	this.path.getElements().add(this.arcToInner);
 	this.path.getElements().add(this.lineTo);
 	this.path.getElements().add(this.arcTo);
 	this.path.getElements().add(this.lineTo2);
+	this.path.getTransforms().add(this.pathRotate);
 
 	this.getChildren().add(this.path);
 
@@ -181,7 +220,7 @@ public class RadialMenuItem extends Group implements ChangeListener<Object> {
 	if (this.graphic != null)
 	    this.getChildren().add(this.graphic);
 
-	this.redraw();
+	this.requestRedraw();
     }
 
     public RadialMenuItem(final double menuSize, final Node graphic,
@@ -197,7 +236,7 @@ public class RadialMenuItem extends Group implements ChangeListener<Object> {
 				paramT.getSource(), paramT.getTarget()));
 		    }
 		});
-	this.redraw();
+	this.requestRedraw();
     }
 
     public RadialMenuItem(final double menuSize, final String text,
@@ -206,7 +245,7 @@ public class RadialMenuItem extends Group implements ChangeListener<Object> {
 	this(menuSize, graphic);
 
 	this.text = text;
-	this.redraw();
+	this.requestRedraw();
     }
 
     public RadialMenuItem(final double menuSize, final String text,
@@ -215,7 +254,7 @@ public class RadialMenuItem extends Group implements ChangeListener<Object> {
 	this(menuSize, graphic, actionHandler);
 
 	this.text = text;
-	this.redraw();
+	this.requestRedraw();
     }
 
     DoubleProperty innerRadiusProperty() {
@@ -278,12 +317,13 @@ public class RadialMenuItem extends Group implements ChangeListener<Object> {
 	if (this.graphic != null) {
 	    this.getChildren().add(graphic);
 	}
-	this.redraw();
+	this.geometryDirty = true;
+	this.requestRedraw();
     }
 
     public void setText(final String text) {
 	this.text = text;
-	this.redraw();
+	this.requestRedraw();
     }
 
     public String getText() {
@@ -305,52 +345,86 @@ public class RadialMenuItem extends Group implements ChangeListener<Object> {
 
 	this.path.setFillRule(FillRule.EVEN_ODD);
 
-	this.computeCoordinates();
+	if (this.geometryDirty) {
+	    this.geometryDirty = false;
+	    this.computeCoordinates();
+	    this.update();
+	}
 
-	this.update();
+    }
 
+    /**
+     * Marks the item for a redraw in the next layout pass. Use {@link #layout()}
+     * to force the pending redraw, e.g. to measure an item that is not shown
+     * yet.
+     */
+    protected void requestRedraw() {
+	if (!this.redrawPending) {
+	    this.redrawPending = true;
+	    this.requestLayout();
+	}
     }
 
-    protected void update() {
-	final double innerRadiusValue = this.innerRadius.get();
-	final double radiusValue = this.radius.get();
+    @Override
+    protected void layoutChildren() {
+	super.layoutChildren();
+	if (this.redrawPending) {
+	    this.redrawPending = false;
+	    this.redraw();
+	}
+    }
 
-	this.moveTo.setX(this.innerStartX + this.translateX);
-	this.moveTo.setY(this.innerStartY + this.translateY);
+    protected void update() {
+	this.pathRotate.setAngle(this.clockwise.get() ? this.startAngle.get()
+		: -this.startAngle.get());
 
-	this.arcToInner.setX(this.innerEndX + this.translateX);
-	this.arcToInner.setY(this.innerEndY + this.translateY);
-	this.arcToInner.setSweepFlag(this.innerSweep);
-	this.arcToInner.setRadiusX(innerRadiusValue);
-	this.arcToInner.setRadiusY(innerRadiusValue);
+	if (this.graphic != null) {
+	    this.graphic.setTranslateX(this.graphicX + this.translateX);
+	    this.graphic.setTranslateY(this.graphicY + this.translateY);
+	}
 
-	this.lineTo.setX(this.startX + this.translateX);
-	this.lineTo.setY(this.startY + this.translateY);
+	final SectorGeometry geometry = SectorGeometry.get(
+		this.innerRadius.get(), this.radius.get(), this.offset.get(),
+		this.menuSize, this.clockwise.get());
+	if (geometry == this.sector) {
+	    // only the start angle changed
+	    return;
+	}
+	this.sector = geometry;
 
-	this.arcTo.setX(this.endX + this.translateX);
-	this.arcTo.setY(this.endY + this.translateY);
-	this.arcTo.setSweepFlag(this.sweep);
+	this.moveTo.setX(geometry.innerStartX + geometry.translateX);
+	this.moveTo.setY(geometry.innerStartY + geometry.translateY);
 
-	this.arcTo.setRadiusX(radiusValue);
-	this.arcTo.setRadiusY(radiusValue);
+	this.arcToInner.setX(geometry.innerEndX + geometry.translateX);
+	this.arcToInner.setY(geometry.innerEndY + geometry.translateY);
+	this.arcToInner.setSweepFlag(geometry.innerSweep);
+	this.arcToInner.setRadiusX(geometry.innerRadius);
+	this.arcToInner.setRadiusY(geometry.innerRadius);
 
-	this.lineTo2.setX(this.innerStartX + this.translateX);
-	this.lineTo2.setY(this.innerStartY + this.translateY);
+	this.lineTo.setX(geometry.startX + geometry.translateX);
+	this.lineTo.setY(geometry.startY + geometry.translateY);
 
-	if (this.graphic != null) {
-	    this.graphic.setTranslateX(this.graphicX + this.translateX);
-	    this.graphic.setTranslateY(this.graphicY + this.translateY);
-	}
+	this.arcTo.setX(geometry.endX + geometry.translateX);
+	this.arcTo.setY(geometry.endY + geometry.translateY);
+	this.arcTo.setSweepFlag(geometry.sweep);
+	this.arcTo.setRadiusX(geometry.radius);
+	this.arcTo.setRadiusY(geometry.radius);
 
-	// this.translateXProperty().set(this.translateX);
-	// this.translateYProperty().set(this.translateY);
+	this.lineTo2.setX(geometry.innerStartX + geometry.translateX);
+	this.lineTo2.setY(geometry.innerStartY + geometry.translateY);
     }
 
+    /**
+     * Computes the position of the graphic and the offset translation. The
+     * sector itself is taken from the shared {@link SectorGeometry} in
+     * {@link #update()}.
+     */
     protected void computeCoordinates() {
 	final double innerRadiusValue = this.innerRadius.get();
 	final double startAngleValue = this.startAngle.get();
 
-	final double graphicAngle = startAngleValue + (this.menuSize / 2.0);
+	final double graphicAngle = Math.toRadians(startAngleValue
+		+ (this.menuSize / 2.0));
 	final double radiusValue = this.radius.get();
 
 	final double graphicRadius = innerRadiusValue
@@ -358,83 +432,42 @@ public class RadialMenuItem extends Group implements ChangeListener<Object> {
 
 	final double offsetValue = this.offset.get();
 
-	if (!this.clockwise.get()) {
-	    this.innerStartX = innerRadiusValue
-		    * Math.cos(Math.toRadians(startAngleValue));
-	    this.innerStartY = -innerRadiusValue
-		    * Math.sin(Math.toRadians(startAngleValue));
-	    this.innerEndX = innerRadiusValue
-		    * Math.cos(Math.toRadians(startAngleValue + this.menuSize));
-	    this.innerEndY = -innerRadiusValue
-		    * Math.sin(Math.toRadians(startAngleValue + this.menuSize));
-
-	    this.innerSweep = false;
-
-	    this.startX = radiusValue
-		    * Math.cos(Math.toRadians(startAngleValue + this.menuSize));
-	    this.startY = -radiusValue
-		    * Math.sin(Math.toRadians(startAngleValue + this.menuSize));
-	    this.endX = radiusValue * Math.cos(Math.toRadians(startAngleValue));
-	    this.endY = -radiusValue
-		    * Math.sin(Math.toRadians(startAngleValue));
-
-	    this.sweep = true;
-
-	    if (this.graphic != null) {
-		this.graphicX = graphicRadius
-			* Math.cos(Math.toRadians(graphicAngle))
-			- this.graphic.getBoundsInParent().getWidth() / 2.0;
-		this.graphicY = -graphicRadius
-			* Math.sin(Math.toRadians(graphicAngle))
-			- this.graphic.getBoundsInParent().getHeight() / 2.0;
+	// screen y points down, counter clockwise menus mirror y
+	final double sign = this.clockwise.get() ? 1.0 : -1.0;
+	final double cos = Math.cos(graphicAngle);
+	final double sin = Math.sin(graphicAngle);
 
-	    }
-	    this.translateX = offsetValue
-		    * Math.cos(Math.toRadians(startAngleValue
-			    + (this.menuSize / 2.0)));
-	    this.translateY = -offsetValue
-		    * Math.sin(Math.toRadians(startAngleValue
-			    + (this.menuSize / 2.0)));
-
-	} else if (this.clockwise.get()) {
-	    this.innerStartX = innerRadiusValue
-		    * Math.cos(Math.toRadians(startAngleValue));
-	    this.innerStartY = innerRadiusValue
-		    * Math.sin(Math.toRadians(startAngleValue));
-	    this.innerEndX = innerRadiusValue
-		    * Math.cos(Math.toRadians(startAngleValue + this.menuSize));
-	    this.innerEndY = innerRadiusValue
-		    * Math.sin(Math.toRadians(startAngleValue + this.menuSize));
-
-	    this.innerSweep = true;
-
-	    this.startX = radiusValue
-		    * Math.cos(Math.toRadians(startAngleValue + this.menuSize));
-	    this.startY = radiusValue
-		    * Math.sin(Math.toRadians(startAngleValue + this.menuSize));
-	    this.endX = radiusValue * Math.cos(Math.toRadians(startAngleValue));
-	    this.endY = radiusValue * Math.sin(Math.toRadians(startAngleValue));
-
-	    this.sweep = false;
-
-	    if (this.graphic != null) {
-		this.graphicX = graphicRadius
-			* Math.cos(Math.toRadians(graphicAngle))
-			- this.graphic.getBoundsInParent().getWidth() / 2.0;
-		this.graphicY = graphicRadius
-			* Math.sin(Math.toRadians(graphicAngle))
-			- this.graphic.getBoundsInParent().getHeight() / 2.0;
-
-	    }
-
-	    this.translateX = offsetValue
-		    * Math.cos(Math.toRadians(startAngleValue
-			    + (this.menuSize / 2.0)));
-	    this.translateY = offsetValue
-		    * Math.sin(Math.toRadians(startAngleValue
-			    + (this.menuSize / 2.0)));
+	if (this.graphic != null) {
+	    this.graphicX = graphicRadius * cos
+		    - this.graphic.getBoundsInParent().getWidth() / 2.0;
+	    this.graphicY = sign * graphicRadius * sin
+		    - this.graphic.getBoundsInParent().getHeight() / 2.0;
 	}
+	this.translateX = offsetValue * cos;
+	this.translateY = sign * offsetValue * sin;
 
+	computeSectorCoordinates(innerRadiusValue, radiusValue, startAngleValue, sign);
+    }
+
+    @SuppressWarnings("deprecation")
+    private void computeSectorCoordinates(final double innerRadiusValue,
+	    final double radiusValue, final double startAngleValue,
+	    final double sign) {
+	final double startAngleRadians = Math.toRadians(startAngleValue);
+	final double endAngleRadians = Math.toRadians(startAngleValue
+		+ this.menuSize);
+
+	this.innerStartX = innerRadiusValue * Math.cos(startAngleRadians);
+	this.innerStartY = sign * innerRadiusValue * Math.sin(startAngleRadians);
+	this.innerEndX = innerRadiusValue * Math.cos(endAngleRadians);
+	this.innerEndY = sign * innerRadiusValue * Math.sin(endAngleRadians);
+	this.innerSweep = this.clockwise.get();
+
+	this.startX = radiusValue * Math.cos(endAngleRadians);
+	this.startY = sign * radiusValue * Math.sin(endAngleRadians);
+	this.endX = radiusValue * Math.cos(startAngleRadians);
+	this.endY = sign * radiusValue * Math.sin(startAngleRadians);
+	this.sweep = !this.clockwise.get();
     }
 
     public double getMenuSize() {
@@ -444,7 +477,12 @@ public class RadialMenuItem extends Group implements ChangeListener<Object> {
     @Override
     public void changed(final ObservableValue<? extends Object> arg0,
 	    final Object arg1, final Object arg2) {
-	this.redraw();
+	if (arg0 == this.startAngle || arg0 == this.innerRadius
+		|| arg0 == this.radius || arg0 == this.offset
+		|| arg0 == this.clockwise) {
+	    this.geometryDirty = true;
+	}
+	this.requestRedraw();
 
     }
 
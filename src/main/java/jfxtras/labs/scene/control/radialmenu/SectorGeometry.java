@@ -0,0 +1,146 @@
+/**
+ * SectorGeometry.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control.radialmenu;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The coordinates of a ring sector that starts at angle 0. A menu item
+ * rotates the path by its start angle, so all sectors with the same radii,
+ * offset and span share one instance, no matter where they sit in the menu.
+ */
+final class SectorGeometry {
+
+    private static final int MAX_CACHE_SIZE = 256;
+
+    private static final Map<SectorGeometry, SectorGeometry> CACHE = Collections
+	    .synchronizedMap(new LinkedHashMap<SectorGeometry, SectorGeometry>(
+		    16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(
+			final Map.Entry<SectorGeometry, SectorGeometry> eldest) {
+		    return this.size() > MAX_CACHE_SIZE;
+		}
+	    });
+
+    final double innerRadius;
+    final double radius;
+    final double offset;
+    final double span;
+    final boolean clockwise;
+
+    double innerStartX;
+    double innerStartY;
+    double innerEndX;
+    double innerEndY;
+    boolean innerSweep;
+    double startX;
+    double startY;
+    double endX;
+    double endY;
+    boolean sweep;
+    double translateX;
+    double translateY;
+
+    private SectorGeometry(final double innerRadius, final double radius,
+	    final double offset, final double span, final boolean clockwise) {
+	this.innerRadius = innerRadius;
+	this.radius = radius;
+	this.offset = offset;
+	this.span = span;
+	this.clockwise = clockwise;
+    }
+
+    static SectorGeometry get(final double innerRadius, final double radius,
+	    final double offset, final double span, final boolean clockwise) {
+	final SectorGeometry key = new SectorGeometry(innerRadius, radius,
+		offset, span, clockwise);
+	SectorGeometry geometry = CACHE.get(key);
+	if (geometry == null) {
+	    key.compute();
+	    CACHE.put(key, key);
+	    geometry = key;
+	}
+	return geometry;
+    }
+
+    private void compute() {
+	// screen y points down, counter clockwise sectors mirror y
+	final double sign = this.clockwise ? 1.0 : -1.0;
+	final double cos = Math.cos(Math.toRadians(this.span));
+	final double sin = Math.sin(Math.toRadians(this.span));
+
+	this.innerStartX = this.innerRadius;
+	this.innerStartY = 0;
+	this.innerEndX = this.innerRadius * cos;
+	this.innerEndY = sign * this.innerRadius * sin;
+	this.innerSweep = this.clockwise;
+
+	this.startX = this.radius * cos;
+	this.startY = sign * this.radius * sin;
+	this.endX = this.radius;
+	this.endY = 0;
+	this.sweep = !this.clockwise;
+
+	this.translateX = this.offset
+		* Math.cos(Math.toRadians(this.span / 2.0));
+	this.translateY = sign * this.offset
+		* Math.sin(Math.toRadians(this.span / 2.0));
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+	if (this == obj) {
+	    return true;
+	}
+	if (!(obj instanceof SectorGeometry)) {
+	    return false;
+	}
+	final SectorGeometry other = (SectorGeometry) obj;
+	return Double.compare(this.innerRadius, other.innerRadius) == 0
+		&& Double.compare(this.radius, other.radius) == 0
+		&& Double.compare(this.offset, other.offset) == 0
+		&& Double.compare(this.span, other.span) == 0
+		&& this.clockwise == other.clockwise;
+    }
+
+    @Override
+    public int hashCode() {
+	int result = Double.hashCode(this.innerRadius);
+	result = 31 * result + Double.hashCode(this.radius);
+	result = 31 * result + Double.hashCode(this.offset);
+	result = 31 * result + Double.hashCode(this.span);
+	return 31 * result + (this.clockwise ? 1 : 0);
+    }
+}
@@ -11,7 +11,10 @@ import jfxtras.labs.scene.control.scheduler.skin.SchedulerSkin;
 
 import java.time.LocalDateTime;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletionStage;
 
 /**
  * @author Tom Eugelink
@@ -144,6 +147,29 @@ public class Scheduler extends Control {
         return this;
     }
 
+    /**
+     * DenseRendering: paint the events of each resource onto a canvas instead of creating a node per event, for views with very many events.
+     * Only the hovered and the selected events get a node, which can be dragged and resized as usual.
+     */
+    public SimpleBooleanProperty denseRenderingProperty() {
+        return denseRenderingObjectProperty;
+    }
+
+    final private SimpleBooleanProperty denseRenderingObjectProperty = new SimpleBooleanProperty(this, "denseRendering", false);
+
+    public boolean getDenseRendering() {
+        return denseRenderingObjectProperty.getValue();
+    }
+
+    public void setDenseRendering(boolean value) {
+        denseRenderingObjectProperty.setValue(value);
+    }
+
+    public Scheduler withDenseRendering(boolean value) {
+        setDenseRendering(value);
+        return this;
+    }
+
 
     /**
      * DisplayedCalendar: this calendar denotes the timeframe being displayed.
@@ -210,6 +236,60 @@ public class Scheduler extends Control {
         return this;
     }
 
+    /**
+     * eventProviderCallback:
+     * When set, the Scheduler no longer expects all events in the events list, but asks this callback for the events
+     * of the displayed resources, one week at a time, and keeps the events list filled with the displayed ones.
+     * The callback is called on the FX thread and may complete the returned stage on any thread.
+     * Events that are added to or removed from the events list meanwhile, e.g. by the new event callback, are kept in the fetched weeks,
+     * but the callback should return them from then on, because fetched weeks are dropped again.
+     * Appointments should match:
+     * - resource id in the range's resource ids
+     * - start date &lt; range end
+     * - end date &gt;= range start
+     */
+    public ObjectProperty<Callback<EventRange, CompletionStage<List<Event>>>> eventProviderCallbackProperty() {
+        return eventProviderCallbackObjectProperty;
+    }
+
+    final private ObjectProperty<Callback<EventRange, CompletionStage<List<Event>>>> eventProviderCallbackObjectProperty = new SimpleObjectProperty<Callback<EventRange, CompletionStage<List<Event>>>>(this, "eventProviderCallback", null);
+
+    public Callback<EventRange, CompletionStage<List<Event>>> getEventProviderCallback() {
+        return this.eventProviderCallbackObjectProperty.getValue();
+    }
+
+    public void setEventProviderCallback(Callback<EventRange, CompletionStage<List<Event>>> value) {
+        this.eventProviderCallbackObjectProperty.setValue(value);
+    }
+
+    public Scheduler withEventProviderCallback(Callback<EventRange, CompletionStage<List<Event>>> value) {
+        setEventProviderCallback(value);
+        return this;
+    }
+
+    /**
+     * eventProviderCacheSize:
+     * The number of weeks of provided events that are kept, the displayed weeks and their neighbours are always kept
+     */
+    public IntegerProperty eventProviderCacheSizeProperty() {
+        return eventProviderCacheSizeIntegerProperty;
+    }
+
+    final private IntegerProperty eventProviderCacheSizeIntegerProperty = new SimpleIntegerProperty(this, "eventProviderCacheSize", 12);
+
+    public int getEventProviderCacheSize() {
+        return eventProviderCacheSizeIntegerProperty.getValue();
+    }
+
+    public void setEventProviderCacheSize(int value) {
+        eventProviderCacheSizeIntegerProperty.setValue(value);
+    }
+
+    public Scheduler withEventProviderCacheSize(int value) {
+        setEventProviderCacheSize(value);
+        return this;
+    }
+
     /**
      * addEventCallback:
      * Since the Scheduler is not the owner of the appointments but only dictates an interface, it does not know how to create a new one.
@@ -338,6 +418,26 @@ public class Scheduler extends Control {
         }
     }
 
+    /**
+     * A Datetime range for a number of resources, for the event provider callback
+     */
+    static public class EventRange extends LocalDateTimeRange {
+        public EventRange(LocalDateTime start, LocalDateTime end, List<Long> resourceIds) {
+            super(start, end);
+            this.resourceIds = Collections.unmodifiableList(resourceIds);
+        }
+
+        public List<Long> getResourceIds() {
+            return resourceIds;
+        }
+
+        final List<Long> resourceIds;
+
+        public String toString() {
+            return super.toString() + " for " + resourceIds;
+        }
+    }
+
     /**
      * Force the agenda to completely refresh itself
      */
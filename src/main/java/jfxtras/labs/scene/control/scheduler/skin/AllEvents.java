@@ -7,8 +7,9 @@ import javafx.collections.WeakListChangeListener;
 import jfxtras.labs.scene.control.scheduler.Scheduler.Event;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -22,6 +23,9 @@ public class AllEvents {
     public AllEvents(ObservableList<Event> events) {
         this.events = events;
 
+        for (Event lEvent : events) {
+            index(lEvent);
+        }
         events.addListener(new WeakListChangeListener<>(listChangeListener));
 
     }
@@ -30,6 +34,15 @@ public class AllEvents {
     final private ListChangeListener<Event> listChangeListener = new ListChangeListener<Event>() {
         @Override
         public void onChanged(javafx.collections.ListChangeListener.Change<? extends Event> changes) {
+            // keep the index up to date before anyone is told
+            while (changes.next()) {
+                for (Event lEvent : changes.getRemoved()) {
+                    unindex(lEvent);
+                }
+                for (Event lEvent : changes.getAddedSubList()) {
+                    index(lEvent);
+                }
+            }
             fireOnChangeListener();
         }
     };
@@ -59,7 +72,11 @@ public class AllEvents {
      * @return
      */
     public List<Event> collectRegularForResourceAndDates(long resourceId, LocalDate minDate, LocalDate maxDate) {
-        List<Event> collectedEvents =  events.parallelStream().filter(c ->
+        Set<Event> lResourceEvents = eventsPerResourceId.get(resourceId);
+        if (lResourceEvents == null) {
+            return new ArrayList<>();
+        }
+        List<Event> collectedEvents =  lResourceEvents.stream().filter(c ->
                 c.getResourceId().equals(resourceId)
     &&(  ( (c.getStartTime().toLocalDate().isAfter(minDate) || c.getStartTime().toLocalDate().isEqual(minDate))
                         && (c.getStartTime().toLocalDate().isBefore(maxDate) || c.getStartTime().toLocalDate().isEqual(maxDate))  )
@@ -77,4 +94,174 @@ public class AllEvents {
         }*/
         return collectedEvents;
     }
+
+    /**
+     * The occupancy of a resource per bucket of time, for showing an aggregate instead of the individual events
+     *
+     * If the occupancy is not indexed yet, it is indexed from now on.
+     *
+     * @param bucketSeconds the size of a bucket, a multiple of the indexed buckets of 15 minutes
+     * @return per bucket the time occupied by events divided by the bucket size; overlapping events may add up to more than 1
+     */
+    double[] collectOccupancyForResourceAndDates(long resourceId, LocalDate minDate, LocalDate maxDate, long bucketSeconds) {
+        setOccupancyIndexed(true);
+        long lIndexedBucketsPerBucket = Math.max(1, bucketSeconds / INDEXED_BUCKET_SECONDS);
+        long lFirstIndexedBucket = Math.floorDiv(epochSecond(minDate.atStartOfDay()), INDEXED_BUCKET_SECONDS);
+        long lLastIndexedBucket = Math.floorDiv(epochSecond(maxDate.plusDays(1).atStartOfDay()), INDEXED_BUCKET_SECONDS);
+        double[] lOccupancy = new double[(int) ((lLastIndexedBucket - lFirstIndexedBucket + lIndexedBucketsPerBucket - 1) / lIndexedBucketsPerBucket)];
+
+        Map<Long, Long> lOccupiedSecondsPerBucket = occupiedSecondsPerResourceId.get(resourceId);
+        if (lOccupiedSecondsPerBucket == null) {
+            return lOccupancy;
+        }
+        for (long lIndexedBucket = lFirstIndexedBucket; lIndexedBucket < lLastIndexedBucket; lIndexedBucket++) {
+            Long lOccupiedSeconds = lOccupiedSecondsPerBucket.get(lIndexedBucket);
+            if (lOccupiedSeconds != null) {
+                lOccupancy[(int) ((lIndexedBucket - lFirstIndexedBucket) / lIndexedBucketsPerBucket)] += (double) lOccupiedSeconds / (lIndexedBucketsPerBucket * INDEXED_BUCKET_SECONDS);
+            }
+        }
+        return lOccupancy;
+    }
+
+    // ==================================================================================================================
+    // INDEX
+
+    // the events per resource, and per resource the seconds occupied in each bucket of 15 minutes since the epoch
+    final static long INDEXED_BUCKET_SECONDS = 15 * 60;
+    final private Map<Long, Set<Event>> eventsPerResourceId = new HashMap<>();
+    final private Map<Long, Map<Long, Long>> occupiedSecondsPerResourceId = new HashMap<>();
+
+    /**
+     * The occupancy is only needed to show aggregates, which is off by default, so its buckets are only kept while this is set.
+     * Setting it indexes the occupancy of all events, clearing it drops the buckets.
+     */
+    void setOccupancyIndexed(boolean value) {
+        if (occupancyIndexed == value) {
+            return;
+        }
+        occupancyIndexed = value;
+        if (value) {
+            for (IndexedEvent lIndexedEvent : indexedEvents.values()) {
+                addOccupancy(lIndexedEvent, 1);
+            }
+        }
+        else {
+            occupiedSecondsPerResourceId.clear();
+        }
+    }
+
+    boolean isOccupancyIndexed() {
+        return occupancyIndexed;
+    }
+
+    /**
+     * @return the number of occupancy buckets kept over all resources
+     */
+    int getOccupancyBucketCount() {
+        int lCount = 0;
+        for (Map<Long, Long> lOccupiedSecondsPerBucket : occupiedSecondsPerResourceId.values()) {
+            lCount += lOccupiedSecondsPerBucket.size();
+        }
+        return lCount;
+    }
+
+    private boolean occupancyIndexed = false;
+
+    // events are mutable, so what was indexed is remembered, in order to be able to remove it again
+    final private Map<Event, IndexedEvent> indexedEvents = new IdentityHashMap<>();
+
+    final static private class IndexedEvent {
+        IndexedEvent(Event event) {
+            resourceId = event.getResourceId();
+            startTime = event.getStartTime();
+            endTime = event.getEndTime();
+        }
+        final Long resourceId;
+        final LocalDateTime startTime;
+        final LocalDateTime endTime;
+
+        boolean matches(Event event) {
+            return Objects.equals(resourceId, event.getResourceId())
+                && Objects.equals(startTime, event.getStartTime())
+                && Objects.equals(endTime, event.getEndTime());
+        }
+    }
+
+    /**
+     * Added and removed events are indexed by the list listener; events changed in place are only picked up here, this visits all events
+     */
+    void reindex() {
+        for (Event lEvent : new ArrayList<>(indexedEvents.keySet())) {
+            reindex(lEvent);
+        }
+    }
+
+    /**
+     * Events of these resources that were changed in place, e.g. by dragging, are indexed again
+     */
+    void reindex(Collection<Long> resourceIds) {
+        for (Long lResourceId : resourceIds) {
+            Set<Event> lResourceEvents = eventsPerResourceId.get(lResourceId);
+            if (lResourceEvents != null) {
+                for (Event lEvent : new ArrayList<>(lResourceEvents)) {
+                    reindex(lEvent);
+                }
+            }
+        }
+    }
+
+    private void reindex(Event event) {
+        IndexedEvent lIndexedEvent = indexedEvents.get(event);
+        if (lIndexedEvent != null && !lIndexedEvent.matches(event)) {
+            unindex(event);
+            index(event);
+        }
+    }
+
+    private void index(Event event) {
+        if (indexedEvents.containsKey(event)) {
+            return;
+        }
+        IndexedEvent lIndexedEvent = new IndexedEvent(event);
+        indexedEvents.put(event, lIndexedEvent);
+        eventsPerResourceId.computeIfAbsent(lIndexedEvent.resourceId, (resourceId) -> new LinkedHashSet<>()).add(event);
+        if (occupancyIndexed) {
+            addOccupancy(lIndexedEvent, 1);
+        }
+    }
+
+    private void unindex(Event event) {
+        IndexedEvent lIndexedEvent = indexedEvents.remove(event);
+        if (lIndexedEvent == null) {
+            return;
+        }
+        Set<Event> lResourceEvents = eventsPerResourceId.get(lIndexedEvent.resourceId);
+        lResourceEvents.remove(event);
+        if (lResourceEvents.isEmpty()) {
+            eventsPerResourceId.remove(lIndexedEvent.resourceId);
+        }
+        if (occupancyIndexed) {
+            addOccupancy(lIndexedEvent, -1);
+        }
+    }
+
+    private void addOccupancy(IndexedEvent indexedEvent, int sign) {
+        if (indexedEvent.startTime == null || indexedEvent.endTime == null) {
+            return;
+        }
+        Map<Long, Long> lOccupiedSecondsPerBucket = occupiedSecondsPerResourceId.computeIfAbsent(indexedEvent.resourceId, (resourceId) -> new HashMap<>());
+        long lStart = epochSecond(indexedEvent.startTime);
+        long lEnd = epochSecond(indexedEvent.endTime);
+        for (long lBucket = Math.floorDiv(lStart, INDEXED_BUCKET_SECONDS); lBucket * INDEXED_BUCKET_SECONDS < lEnd; lBucket++) {
+            long lOverlap = Math.min(lEnd, (lBucket + 1) * INDEXED_BUCKET_SECONDS) - Math.max(lStart, lBucket * INDEXED_BUCKET_SECONDS);
+            lOccupiedSecondsPerBucket.merge(lBucket, sign * lOverlap, (a, b) -> a + b == 0 ? null : a + b);
+        }
+        if (lOccupiedSecondsPerBucket.isEmpty()) {
+            occupiedSecondsPerResourceId.remove(indexedEvent.resourceId);
+        }
+    }
+
+    static private long epochSecond(LocalDateTime localDateTime) {
+        return localDateTime.toEpochSecond(ZoneOffset.UTC);
+    }
 }
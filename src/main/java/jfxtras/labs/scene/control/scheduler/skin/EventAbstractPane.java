@@ -1,7 +1,7 @@
 package jfxtras.labs.scene.control.scheduler.skin;
 
-import javafx.collections.ListChangeListener;
-import javafx.collections.WeakListChangeListener;
+import javafx.css.PseudoClass;
+import javafx.event.EventHandler;
 import javafx.scene.Cursor;
 import javafx.scene.control.Tooltip;
 import javafx.scene.input.MouseButton;
@@ -28,72 +28,86 @@ abstract class EventAbstractPane extends Pane {
 
     final protected Scheduler.Event event;
     final protected LayoutHelp layoutHelp;
-    final protected HistoricalVisualizer historyVisualizer;
-    final protected EventMenu eventMenu;
+
+    // the start time under which the skin tracks this pane until it becomes history, null if it is not tracked
+    LocalDateTime upcomingStart;
 
     EventAbstractPane(Scheduler.Event event, LayoutHelp layoutHelp) {
         this.event = event;
         this.layoutHelp = layoutHelp;
-        eventMenu = new EventMenu(this, event, layoutHelp);
 
         // for debugging setStyle("-fx-border-color:PINK;-fx-border-width:1px;");
         getStyleClass().add("Event");
         getStyleClass().add("group5");
 
-        // historical visualizer
-        historyVisualizer = new HistoricalVisualizer(this);
-        getChildren().add(historyVisualizer);
-
-        // tooltip
-        Tooltip tooltip = new Tooltip(
-                "Start time: \n" + event.getStartTime().toString()
-                        + "\nEnd Time:\n" + event.getEndTime().toString());
-        tooltip.setFont(new Font(12));
-        if (event.getId() != null) {
-            Tooltip.install(this, tooltip);
-        }
+        // the decorations are created when the event is first hovered, most events never are
+        addEventHandler(MouseEvent.MOUSE_ENTERED, decorateOnHoverEventHandler);
 
         // dragging
         setupDragging();
 
-        // react to changes in the selected events
-        layoutHelp.skinnable.selectedEvents().addListener(new WeakListChangeListener<>(listChangeListener));
+        // the selected state is set by the skin, which listens to the selected events on behalf of all panes
+    }
+
+    /**
+     * Visualizes the selection of the event, called by the skin only when the state changes
+     */
+    void setSelected(boolean selected) {
+        pseudoClassStateChanged(SELECTED_PSEUDO_CLASS, selected);
+    }
+
+    private static final PseudoClass SELECTED_PSEUDO_CLASS = PseudoClass.getPseudoClass("selected");
+
+    /**
+     * Marks an event that started before now with the :history pseudo-class, which replaces the former .History overlay
+     * @param now
+     */
+    void determineHistoryVisualizer(LocalDateTime now) {
+        pseudoClassStateChanged(HISTORY_PSEUDO_CLASS, event.getStartTime().isBefore(now));
     }
 
+    private static final PseudoClass HISTORY_PSEUDO_CLASS = PseudoClass.getPseudoClass("history");
 
-    final private ListChangeListener<Scheduler.Event> listChangeListener = new ListChangeListener<Scheduler.Event>() {
+    /**
+     * Installs the tooltip and the menu icon on the first hover
+     */
+    final private EventHandler<MouseEvent> decorateOnHoverEventHandler = new EventHandler<MouseEvent>() {
         @Override
-        public void onChanged(javafx.collections.ListChangeListener.Change<? extends Scheduler.Event> changes) {
-            setOrRemoveSelected();
+        public void handle(MouseEvent mouseEvent) {
+            removeEventHandler(MouseEvent.MOUSE_ENTERED, this);
+
+            // tooltip
+            if (event.getId() != null) {
+                Tooltip tooltip = new Tooltip(
+                        "Start time: \n" + event.getStartTime().toString()
+                                + "\nEnd Time:\n" + event.getEndTime().toString());
+                tooltip.setFont(new Font(12));
+                Tooltip.install(EventAbstractPane.this, tooltip);
+            }
+
+            // menu
+            if (showEventMenuIcon()) {
+                getEventMenu();
+            }
         }
     };
 
     /**
-     *
+     * The menu is created on first use; panes showing its icon add it to their children
      */
-    private void setOrRemoveSelected() {
-        // remove class if not selected
-        if (getStyleClass().contains(SELECTED) == true // visually selected
-                && layoutHelp.skinnable.selectedEvents().contains(event) == false // but no longer in the selected collection
-                ) {
-            getStyleClass().remove(SELECTED);
-        }
-
-        // add class if selected
-        if (getStyleClass().contains(SELECTED) == false // visually not selected
-                && layoutHelp.skinnable.selectedEvents().contains(event) == true // but still in the selected collection
-                ) {
-            getStyleClass().add(SELECTED);
+    EventMenu getEventMenu() {
+        if (eventMenu == null) {
+            eventMenu = new EventMenu(this, event, layoutHelp);
+            if (showEventMenuIcon()) {
+                getChildren().add(eventMenu);
+            }
         }
+        return eventMenu;
     }
+    private EventMenu eventMenu = null;
 
-    private static final String SELECTED = "Selected";
-
-    /**
-     * @param now
-     */
-    void determineHistoryVisualizer(LocalDateTime now) {
-        historyVisualizer.setVisible(event.getStartTime().isBefore(now));
+    protected boolean showEventMenuIcon() {
+        return false;
     }
 
     /**
@@ -109,7 +123,7 @@ abstract class EventAbstractPane extends Pane {
             }
             // popup: right button
             if (mouseEvent.getButton().equals(MouseButton.SECONDARY)) {
-                eventMenu.showMenu(mouseEvent);
+                getEventMenu().showMenu(mouseEvent);
                 return;
             }
             // only on primary
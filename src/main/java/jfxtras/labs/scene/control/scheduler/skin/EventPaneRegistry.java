@@ -0,0 +1,198 @@
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import jfxtras.labs.scene.control.scheduler.Scheduler;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The panes that show each event, keyed on the identity of the event.
+ * The panes are referenced weakly: panes that are dropped without being unregistered are removed once they are garbage collected.
+ * A pane holds its event, so an event is only held for as long as one of its panes is.
+ */
+class EventPaneRegistry {
+
+    final private Map<Scheduler.Event, List<PaneReference>> paneReferencesPerEvent = new IdentityHashMap<>();
+    final private ReferenceQueue<EventAbstractPane> referenceQueue = new ReferenceQueue<>();
+    private int paneCount = 0;
+    private long collectedCount = 0;
+
+    /**
+     * A weak reference to a pane that remembers the event it was registered for, so it can be found after the pane is collected
+     */
+    final static private class PaneReference extends WeakReference<EventAbstractPane> {
+        PaneReference(EventAbstractPane pane, ReferenceQueue<EventAbstractPane> referenceQueue) {
+            super(pane, referenceQueue);
+            this.event = pane.event;
+        }
+        final Scheduler.Event event;
+    }
+
+    void register(EventAbstractPane pane) {
+        expungeCollected();
+        paneReferencesPerEvent.computeIfAbsent(pane.event, (event) -> new ArrayList<>(1)).add(new PaneReference(pane, referenceQueue));
+        paneCount++;
+    }
+
+    /**
+     * Register the panes in one go, for when a resource sets up its events
+     */
+    void registerAll(Collection<? extends EventAbstractPane> panes) {
+        expungeCollected();
+        for (EventAbstractPane lPane : panes) {
+            paneReferencesPerEvent.computeIfAbsent(lPane.event, (event) -> new ArrayList<>(1)).add(new PaneReference(lPane, referenceQueue));
+        }
+        paneCount += panes.size();
+    }
+
+    void unregister(EventAbstractPane pane) {
+        expungeCollected();
+        List<PaneReference> lPaneReferences = paneReferencesPerEvent.get(pane.event);
+        if (lPaneReferences == null) {
+            return;
+        }
+        for (int i = 0; i < lPaneReferences.size(); i++) {
+            PaneReference lPaneReference = lPaneReferences.get(i);
+            if (lPaneReference.get() == pane) {
+                lPaneReference.clear(); // a cleared reference is not enqueued anymore
+                remove(lPaneReferences, i);
+                return;
+            }
+        }
+    }
+
+    void unregisterAll(Collection<? extends EventAbstractPane> panes) {
+        for (EventAbstractPane lPane : panes) {
+            unregister(lPane);
+        }
+    }
+
+    /**
+     * @return the live panes of the event, the most recently registered last
+     */
+    List<EventAbstractPane> collectPanes(Scheduler.Event event) {
+        expungeCollected();
+        List<PaneReference> lPaneReferences = paneReferencesPerEvent.get(event);
+        if (lPaneReferences == null) {
+            return Collections.emptyList();
+        }
+        List<EventAbstractPane> lPanes = new ArrayList<>(lPaneReferences.size());
+        for (PaneReference lPaneReference : lPaneReferences) {
+            EventAbstractPane lPane = lPaneReference.get();
+            if (lPane != null) {
+                lPanes.add(lPane);
+            }
+        }
+        return lPanes;
+    }
+
+    /**
+     * @return the most recently registered live pane of the event, or null
+     */
+    EventAbstractPane findPane(Scheduler.Event event) {
+        expungeCollected();
+        List<PaneReference> lPaneReferences = paneReferencesPerEvent.get(event);
+        if (lPaneReferences == null) {
+            return null;
+        }
+        for (int i = lPaneReferences.size() - 1; i >= 0; i--) {
+            EventAbstractPane lPane = lPaneReferences.get(i).get();
+            if (lPane != null) {
+                return lPane;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return all live panes
+     */
+    List<EventAbstractPane> collectAllPanes() {
+        expungeCollected();
+        List<EventAbstractPane> lPanes = new ArrayList<>(paneCount);
+        for (List<PaneReference> lPaneReferences : paneReferencesPerEvent.values()) {
+            for (PaneReference lPaneReference : lPaneReferences) {
+                EventAbstractPane lPane = lPaneReference.get();
+                if (lPane != null) {
+                    lPanes.add(lPane);
+                }
+            }
+        }
+        return lPanes;
+    }
+
+    /**
+     * @return the number of events that have a registered pane
+     */
+    int getEventCount() {
+        expungeCollected();
+        return paneReferencesPerEvent.size();
+    }
+
+    /**
+     * @return the number of registered panes
+     */
+    int getPaneCount() {
+        expungeCollected();
+        return paneCount;
+    }
+
+    /**
+     * @return the number of panes that were garbage collected without being unregistered; if this keeps growing, panes are leaking out of the skin
+     */
+    long getCollectedCount() {
+        expungeCollected();
+        return collectedCount;
+    }
+
+    void clear() {
+        for (List<PaneReference> lPaneReferences : paneReferencesPerEvent.values()) {
+            for (PaneReference lPaneReference : lPaneReferences) {
+                lPaneReference.clear();
+            }
+        }
+        paneReferencesPerEvent.clear();
+        paneCount = 0;
+        while (referenceQueue.poll() != null) {
+            // discard
+        }
+    }
+
+    private void expungeCollected() {
+        PaneReference lPaneReference;
+        while ((lPaneReference = (PaneReference) referenceQueue.poll()) != null) {
+            List<PaneReference> lPaneReferences = paneReferencesPerEvent.get(lPaneReference.event);
+            if (lPaneReferences == null) {
+                continue;
+            }
+            int lIdx = indexOfIdentity(lPaneReferences, lPaneReference);
+            if (lIdx >= 0) {
+                remove(lPaneReferences, lIdx);
+                collectedCount++;
+            }
+        }
+    }
+
+    private void remove(List<PaneReference> paneReferences, int idx) {
+        PaneReference lPaneReference = paneReferences.remove(idx);
+        paneCount--;
+        if (paneReferences.isEmpty()) {
+            paneReferencesPerEvent.remove(lPaneReference.event);
+        }
+    }
+
+    static private int indexOfIdentity(List<PaneReference> paneReferences, PaneReference paneReference) {
+        for (int i = 0; i < paneReferences.size(); i++) {
+            if (paneReferences.get(i) == paneReference) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
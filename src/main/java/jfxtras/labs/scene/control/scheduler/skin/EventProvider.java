@@ -0,0 +1,289 @@
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import javafx.application.Platform;
+import javafx.util.Callback;
+import jfxtras.labs.scene.control.scheduler.Scheduler;
+import jfxtras.labs.scene.control.scheduler.Scheduler.Event;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Fetches the events of the displayed resources through the event provider callback of the Scheduler.
+ * Events are fetched per week; the fetched weeks are kept in a least recently used cache,
+ * and only resources that are neither loaded nor underway are requested.
+ * The weeks before and after the displayed ones are prefetched.
+ * Events that are added to or removed from the events list of the Scheduler while providing, e.g. by the new event callback
+ * or the delete menu item, are written through to the fetched weeks, so they survive the next publish.
+ * The provider does not notice events that are changed in place, e.g. dragged to another week; the callback's backend has to,
+ * those events are shown in their new week once it is fetched again.
+ */
+class EventProvider {
+
+    EventProvider(Scheduler scheduler, Consumer<List<Event>> publisher) {
+        this(scheduler::getEventProviderCallback, scheduler::getEventProviderCacheSize, Platform::runLater, publisher);
+    }
+
+    /**
+     * @param fxThreadExecutor runs the handling of fetch results and the publishing on the FX thread
+     */
+    EventProvider(Supplier<Callback<Scheduler.EventRange, CompletionStage<List<Event>>>> callbackSupplier, IntSupplier cacheSizeSupplier, Executor fxThreadExecutor, Consumer<List<Event>> publisher) {
+        this.callbackSupplier = callbackSupplier;
+        this.cacheSizeSupplier = cacheSizeSupplier;
+        this.fxThreadExecutor = fxThreadExecutor;
+        this.publisher = publisher;
+    }
+    final private Supplier<Callback<Scheduler.EventRange, CompletionStage<List<Event>>>> callbackSupplier;
+    final private IntSupplier cacheSizeSupplier;
+    final private Executor fxThreadExecutor;
+    final private Consumer<List<Event>> publisher;
+
+    final static private int PREFETCH_WEEKS = 1;
+
+    // the fetched weeks in access order, the displayed weeks are touched last and thus never the eldest
+    final private Map<LocalDate, WeekTile> weekTiles = new LinkedHashMap<LocalDate, WeekTile>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LocalDate, WeekTile> eldest) {
+            return size() > Math.max(cacheSizeSupplier.getAsInt(), displayedWeeks.size() + 2 * PREFETCH_WEEKS);
+        }
+    };
+    private List<LocalDate> displayedWeeks = Collections.emptyList();
+    private List<Long> displayedResourceIds = Collections.emptyList();
+    private boolean publishScheduled = false;
+    private boolean disposed = false;
+
+    /**
+     * The events of one week, per resource
+     */
+    final static private class WeekTile {
+        final Map<Long, List<Event>> eventsPerResourceId = new HashMap<>();
+        final Set<Long> pendingResourceIds = new HashSet<>();
+        // edits of resources that are underway, applied to the result when it arrives
+        final List<Event> addedWhilePending = new ArrayList<>();
+        final Set<Object> removedWhilePending = new HashSet<>();
+    }
+
+    /**
+     * @return true if the Scheduler has an event provider callback
+     */
+    boolean isActive() {
+        return callbackSupplier.get() != null;
+    }
+
+    /**
+     * Write events that were added to the events list of the Scheduler through to the fetched weeks they fall in
+     */
+    void added(List<? extends Event> events) {
+        for (Event lEvent : events) {
+            for (Map.Entry<LocalDate, WeekTile> lEntry : weekTiles.entrySet()) {
+                if (!overlaps(lEvent, lEntry.getKey())) {
+                    continue;
+                }
+                WeekTile lWeekTile = lEntry.getValue();
+                List<Event> lEvents = lWeekTile.eventsPerResourceId.get(lEvent.getResourceId());
+                if (lEvents != null) {
+                    if (!lEvents.contains(lEvent)) {
+                        lEvents.add(lEvent);
+                    }
+                }
+                else if (lWeekTile.pendingResourceIds.contains(lEvent.getResourceId())) {
+                    lWeekTile.removedWhilePending.remove(key(lEvent));
+                    lWeekTile.addedWhilePending.add(lEvent);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write events that were removed from the events list of the Scheduler through to the fetched weeks
+     */
+    void removed(List<? extends Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Set<Object> lKeys = new HashSet<>();
+        for (Event lEvent : events) {
+            lKeys.add(key(lEvent));
+        }
+        for (WeekTile lWeekTile : weekTiles.values()) {
+            for (List<Event> lEvents : lWeekTile.eventsPerResourceId.values()) {
+                lEvents.removeIf((event) -> lKeys.contains(key(event)));
+            }
+            if (!lWeekTile.pendingResourceIds.isEmpty()) {
+                lWeekTile.addedWhilePending.removeIf((event) -> lKeys.contains(key(event)));
+                lWeekTile.removedWhilePending.addAll(lKeys);
+            }
+        }
+    }
+
+    /**
+     * Have the events for the resources and dates fetched, plus the adjacent weeks
+     *
+     * @return the events that already are available
+     */
+    List<Event> request(List<Long> resourceIds, LocalDate startDate, LocalDate endDate) {
+        displayedResourceIds = new ArrayList<>(resourceIds);
+        List<LocalDate> lWeeks = new ArrayList<>();
+        for (LocalDate lWeek = startOfWeek(startDate); !lWeek.isAfter(endDate); lWeek = lWeek.plusWeeks(1)) {
+            lWeeks.add(lWeek);
+        }
+        displayedWeeks = lWeeks;
+
+        // prefetch first, so the displayed weeks are the most recently used
+        for (int i = PREFETCH_WEEKS; i > 0; i--) {
+            fetch(lWeeks.get(0).minusWeeks(i));
+            fetch(lWeeks.get(lWeeks.size() - 1).plusWeeks(i));
+        }
+        for (LocalDate lWeek : lWeeks) {
+            fetch(lWeek);
+        }
+        return collectDisplayed();
+    }
+
+    /**
+     * Forget all fetched events, results that are still underway are ignored
+     */
+    void invalidate() {
+        weekTiles.clear();
+    }
+
+    void dispose() {
+        disposed = true;
+        weekTiles.clear();
+    }
+
+    private void fetch(LocalDate week) {
+        Callback<Scheduler.EventRange, CompletionStage<List<Event>>> lCallback = callbackSupplier.get();
+        WeekTile lWeekTile = weekTiles.computeIfAbsent(week, (w) -> new WeekTile());
+
+        // only ask for what is not loaded and not underway
+        List<Long> lResourceIds = new ArrayList<>();
+        for (Long lResourceId : displayedResourceIds) {
+            if (!lWeekTile.eventsPerResourceId.containsKey(lResourceId) && !lWeekTile.pendingResourceIds.contains(lResourceId)) {
+                lResourceIds.add(lResourceId);
+            }
+        }
+        if (lResourceIds.isEmpty() || lCallback == null) {
+            return;
+        }
+        lWeekTile.pendingResourceIds.addAll(lResourceIds);
+
+        Scheduler.EventRange lRange = new Scheduler.EventRange(week.atStartOfDay(), week.plusWeeks(1).atStartOfDay(), lResourceIds);
+        CompletionStage<List<Event>> lCompletionStage;
+        try {
+            lCompletionStage = lCallback.call(lRange);
+        }
+        catch (RuntimeException e) {
+            lWeekTile.pendingResourceIds.removeAll(lResourceIds);
+            throw e;
+        }
+        if (lCompletionStage == null) {
+            fetched(week, lWeekTile, lResourceIds, Collections.emptyList(), null);
+            return;
+        }
+        lCompletionStage.whenComplete((events, throwable) -> {
+            fxThreadExecutor.execute(() -> fetched(week, lWeekTile, lResourceIds, events, throwable));
+        });
+    }
+
+    private void fetched(LocalDate week, WeekTile weekTile, List<Long> resourceIds, List<Event> events, Throwable throwable) {
+        // drop results for weeks that were evicted or invalidated in the meantime
+        if (disposed || weekTiles.get(week) != weekTile) {
+            return;
+        }
+        weekTile.pendingResourceIds.removeAll(resourceIds);
+
+        // a failed fetch leaves the resources unloaded, so the next request tries again
+        if (throwable == null) {
+            for (Long lResourceId : resourceIds) {
+                weekTile.eventsPerResourceId.put(lResourceId, new ArrayList<>());
+            }
+            if (events != null) {
+                for (Event lEvent : events) {
+                    List<Event> lEvents = weekTile.eventsPerResourceId.get(lEvent.getResourceId());
+                    if (lEvents != null && resourceIds.contains(lEvent.getResourceId()) && !weekTile.removedWhilePending.contains(key(lEvent))) {
+                        lEvents.add(lEvent);
+                    }
+                }
+            }
+            for (Iterator<Event> lIterator = weekTile.addedWhilePending.iterator(); lIterator.hasNext(); ) {
+                Event lEvent = lIterator.next();
+                List<Event> lEvents = weekTile.eventsPerResourceId.get(lEvent.getResourceId());
+                if (lEvents != null && resourceIds.contains(lEvent.getResourceId())) {
+                    lIterator.remove();
+                    if (!lEvents.contains(lEvent)) {
+                        lEvents.add(lEvent);
+                    }
+                }
+            }
+        }
+        if (weekTile.pendingResourceIds.isEmpty()) {
+            weekTile.addedWhilePending.clear();
+            weekTile.removedWhilePending.clear();
+        }
+        if (throwable != null) {
+            return;
+        }
+
+        // arrivals in the same pulse are published together
+        if (displayedWeeks.contains(week) && !publishScheduled) {
+            publishScheduled = true;
+            fxThreadExecutor.execute(() -> {
+                publishScheduled = false;
+                if (!disposed) {
+                    publisher.accept(collectDisplayed());
+                }
+            });
+        }
+    }
+
+    /**
+     * Events spanning weeks are returned for each of them, so they are deduplicated on id (or identity if they have none)
+     */
+    private List<Event> collectDisplayed() {
+        Map<Object, Event> lEvents = new LinkedHashMap<>();
+        for (LocalDate lWeek : displayedWeeks) {
+            WeekTile lWeekTile = weekTiles.get(lWeek);
+            if (lWeekTile == null) {
+                continue;
+            }
+            for (Long lResourceId : displayedResourceIds) {
+                List<Event> lResourceEvents = lWeekTile.eventsPerResourceId.get(lResourceId);
+                if (lResourceEvents != null) {
+                    for (Event lEvent : lResourceEvents) {
+                        lEvents.putIfAbsent(key(lEvent), lEvent);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(lEvents.values());
+    }
+
+    static private Object key(Event event) {
+        return event.getId() != null ? event.getId() : event;
+    }
+
+    /**
+     * Same matching as asked of the callback: start before the end of the week and end at or after its start
+     */
+    static private boolean overlaps(Event event, LocalDate week) {
+        LocalDateTime lStart = event.getStartTime();
+        if (lStart == null) {
+            return false;
+        }
+        LocalDateTime lEnd = event.getEndTime() != null ? event.getEndTime() : lStart;
+        return lStart.isBefore(week.plusWeeks(1).atStartOfDay()) && !lEnd.isBefore(week.atStartOfDay());
+    }
+
+    static private LocalDate startOfWeek(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
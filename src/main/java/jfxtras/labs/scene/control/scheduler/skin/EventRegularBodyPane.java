@@ -40,9 +40,6 @@ public class EventRegularBodyPane extends EventAbstractTrackedPane {
             getChildren().add(lSummaryText);
         }
 
-        // add the menu header
-        getChildren().add(eventMenu);
-
         // add the duration dragger
         layoutHelp.skinnable.allowResizeProperty().addListener(new WeakInvalidationListener(allowResizeInvalidationListener));
         setupDurationDragger();
@@ -51,6 +48,14 @@ public class EventRegularBodyPane extends EventAbstractTrackedPane {
         setCache(true);
         setCacheShape(true);
     }
+    /**
+     * The menu icon appears once the event is hovered
+     */
+    @Override
+    protected boolean showEventMenuIcon() {
+        return true;
+    }
+
     private String startAsString;
     private String endAsString;
     final private InvalidationListener allowResizeInvalidationListener = new InvalidationListener() {
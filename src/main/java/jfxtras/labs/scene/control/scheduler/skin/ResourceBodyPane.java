@@ -2,12 +2,21 @@ package jfxtras.labs.scene.control.scheduler.skin;
 
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Cursor;
 import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Background;
 import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
 import javafx.scene.shape.Rectangle;
 import jfxtras.labs.scene.control.scheduler.Scheduler;
+import jfxtras.labs.util.IntervalIndex;
 import jfxtras.util.NodeUtil;
 
 import java.time.Duration;
@@ -16,7 +25,9 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Tom Eugelink
@@ -27,12 +38,19 @@ public class ResourceBodyPane extends Pane {
     final AllEvents allEvents;
     final LayoutHelp layoutHelp;
     final Scheduler.Resource resource;
+    // null when the event panes are registered with the skin, a band of printed or exported tiles has its own
+    final EventPaneRegistry bandEventPaneRegistry;
     List<LocalDate> displayedLocalDates;
     ObjectProperty<LocalDate> minDateObjectProperty = new SimpleObjectProperty<>();
     ObjectProperty<LocalDate> maxDateObjectProperty = new SimpleObjectProperty<>();
 
 
     public ResourceBodyPane(List<LocalDate> displayedLocalDates, Scheduler.Resource resource, AllEvents allEvents, LayoutHelp layoutHelp) {
+        this(displayedLocalDates, resource, allEvents, layoutHelp, null);
+    }
+
+    ResourceBodyPane(List<LocalDate> displayedLocalDates, Scheduler.Resource resource, AllEvents allEvents, LayoutHelp layoutHelp, EventPaneRegistry bandEventPaneRegistry) {
+        this.bandEventPaneRegistry = bandEventPaneRegistry;
         this.allEvents = allEvents;
         this.layoutHelp = layoutHelp;
         this.resource = resource;
@@ -76,6 +94,11 @@ public class ResourceBodyPane extends Pane {
 
         setupMouseDrag();
 
+        // in dense rendering leaving the resource is leaving the hovered event
+        addEventHandler(MouseEvent.MOUSE_EXITED, (mouseEvent) -> {
+            demoteHovered();
+        });
+
 /*        setCacheHint(CacheHint.QUALITY);
         setCache(true);
         setCacheShape(true);*/
@@ -187,68 +210,114 @@ public class ResourceBodyPane extends Pane {
     }
 
     private void relayout() {
+        // zooming in or out may cross the level of detail
+        if (isAggregating() != (aggregateCanvas != null)) {
+            setupEvents();
+            return;
+        }
 
         double lNumberOfPixelsPerMinute = layoutHelp.resourceWidthProperty.get() / (24 * 60 * displayedLocalDates.size());
 
+        if (aggregateCanvas != null) {
+            relayoutAggregated(lNumberOfPixelsPerMinute);
+            return;
+        }
+
         for (EventAbstractTrackedPane lEventAbstractTrackedPane : trackedEventBodyPanes) {
+            Rectangle2D lBounds = determineBounds(lEventAbstractTrackedPane.trackedEvent, lNumberOfPixelsPerMinute);
+            lEventAbstractTrackedPane.setLayoutX(lBounds.getMinX());
+            lEventAbstractTrackedPane.setLayoutY(lBounds.getMinY());
+            lEventAbstractTrackedPane.setPrefWidth(lBounds.getWidth());
+            lEventAbstractTrackedPane.setPrefHeight(lBounds.getHeight());
+        }
 
-            // for this pane specifically
-            double lNumberOfTracks = (double) lEventAbstractTrackedPane.clusterOwner.clusterTracks.size();
-            double lTrackHeight = layoutHelp.resourceHeightProperty.get() / lNumberOfTracks;
-            double lTrackIdx = (double) lEventAbstractTrackedPane.clusterTrackIdx;
+        if (denseCanvas != null) {
+            relayoutDense(lNumberOfPixelsPerMinute);
+        }
+    }
+
+    /**
+     * The snapped location and size of an event, based on its time and its placement in the tracks
+     */
+    private Rectangle2D determineBounds(TrackedEvent<?> trackedEvent, double numberOfPixelsPerMinute) {
 
+        // for this pane specifically
+        double lNumberOfTracks = (double) trackedEvent.numberOfTracks();
+        double lTrackHeight = layoutHelp.resourceHeightProperty.get() / lNumberOfTracks;
+        double lTrackIdx = (double) trackedEvent.clusterTrackIdx;
 
-            double lY = (lTrackHeight * lTrackIdx);
-            lEventAbstractTrackedPane.setLayoutY(NodeUtil.snapXY(lY));
 
-            // the Y is determined by the start time in minutes projected onto the total day height (being 24 hours)
+        double lY = NodeUtil.snapXY(lTrackHeight * lTrackIdx);
+
+        // the Y is determined by the start time in minutes projected onto the total day height (being 24 hours)
 //            int lStartOffsetInMinutes = displayedLocalDates.size() * ((lEventAbstractTrackedPane.startDateTime.getHour() * 60) + lEventAbstractTrackedPane.startDateTime.getMinute());
 //            double lX = lNumberOfPixelsPerMinute * lStartOffsetInMinutes;
-            double lX = getPositionByLocalDateTime(lEventAbstractTrackedPane.startDateTime);
-            lEventAbstractTrackedPane.setLayoutX(NodeUtil.snapXY(lX));
-
-            // the width is the remaining width (subtracting the wholeday appointments) divided by the number of tracks in the cluster
-            double lH = lTrackHeight;
-            // all but the most right appointment get 50% extra width, so they underlap the next track
-            if (lTrackIdx < lNumberOfTracks - 1) {
-                lH *= 1.75;
-            }
-            lEventAbstractTrackedPane.setPrefHeight(NodeUtil.snapWH(lEventAbstractTrackedPane.getLayoutY(), lH));
+        double lX = NodeUtil.snapXY(getPositionByLocalDateTime(trackedEvent.startDateTime));
 
-            // the height is determined by the duration projected against the total dayHeight (being 24 hours)
-            double lW;
+        // the width is the remaining width (subtracting the wholeday appointments) divided by the number of tracks in the cluster
+        double lH = lTrackHeight;
+        // all but the most right appointment get 50% extra width, so they underlap the next track
+        if (lTrackIdx < lNumberOfTracks - 1) {
+            lH *= 1.75;
+        }
 
-            long lWidthInMinutes = lEventAbstractTrackedPane.durationInMS / 1000 / 60;
-            lW = lNumberOfPixelsPerMinute * lWidthInMinutes;
+        // the height is determined by the duration projected against the total dayHeight (being 24 hours)
+        double lW;
 
-            // if start date of event < that minimal displayed date, then subtract appropriate amount of width
-            if (lEventAbstractTrackedPane.startDateTime.isBefore(minDateObjectProperty.get().atStartOfDay())) {
-                Duration duration = Duration.between(lEventAbstractTrackedPane.startDateTime, minDateObjectProperty.get().atStartOfDay());
-                long seconds = duration.getSeconds();
-                lW -= (seconds / 60) * lNumberOfPixelsPerMinute;
-            }
+        long lWidthInMinutes = trackedEvent.durationInMS / 1000 / 60;
+        lW = numberOfPixelsPerMinute * lWidthInMinutes;
 
-            // the width has a minimum size, in order to be able to render sensibly
-            if (lW < 2 * layoutHelp.paddingProperty.get()) {
-                lW = 2 * layoutHelp.paddingProperty.get();
-            }
+        // if start date of event < that minimal displayed date, then subtract appropriate amount of width
+        if (trackedEvent.startDateTime.isBefore(minDateObjectProperty.get().atStartOfDay())) {
+            Duration duration = Duration.between(trackedEvent.startDateTime, minDateObjectProperty.get().atStartOfDay());
+            long seconds = duration.getSeconds();
+            lW -= (seconds / 60) * numberOfPixelsPerMinute;
+        }
 
-            lEventAbstractTrackedPane.setPrefWidth(NodeUtil.snapWH(lEventAbstractTrackedPane.getLayoutX(), lW));
+        // the width has a minimum size, in order to be able to render sensibly
+        if (lW < 2 * layoutHelp.paddingProperty.get()) {
+            lW = 2 * layoutHelp.paddingProperty.get();
         }
+
+        return new Rectangle2D(lX, lY, NodeUtil.snapWH(lX, lW), NodeUtil.snapWH(lY, lH));
     }
 
     final private List<Scheduler.Event> regularEvents = new ArrayList<>();
     final private List<EventRegularBodyPane> regularEventBodyPanes = new ArrayList<>();
 
     void setupEvents() {
+        if (isAggregating()) {
+            removeRegularEvents();
+            trackedEventBodyPanes.clear();
+            removeDenseEvents();
+            setupAggregatedEvents();
+            relayout();
+            return;
+        }
+        removeAggregatedEvents();
+
+        if (layoutHelp.skinnable.getDenseRendering()) {
+            removeRegularEvents();
+            trackedEventBodyPanes.clear();
+            setupDenseEvents();
+            relayout();
+            return;
+        }
+        removeDenseEvents();
+
         setupRegularEvents();
 
         trackedEventBodyPanes.clear();
-        trackedEventBodyPanes.addAll(regularEventBodyPanes);
-        List<? extends EventAbstractTrackedPane> determineTracks = EventRegularBodyPane.determineTracks(trackedEventBodyPanes);
+        List<TrackedEvent<EventAbstractTrackedPane>> lTrackedEvents = new ArrayList<>();
+        for (EventRegularBodyPane lEventPane : regularEventBodyPanes) {
+            lTrackedEvents.add(lEventPane.trackedEvent);
+        }
+        for (TrackedEvent<EventAbstractTrackedPane> lTrackedEvent : TrackedEvent.determineTracks(lTrackedEvents)) {
+            trackedEventBodyPanes.add(lTrackedEvent.visual);
+        }
         // add the appointments to the pane in the correct order, so they overlap nicely
-        getChildren().removeAll(determineTracks);
-        getChildren().addAll(determineTracks);
+        getChildren().removeAll(trackedEventBodyPanes);
+        getChildren().addAll(trackedEventBodyPanes);
 
         relayout();
 
@@ -261,19 +330,312 @@ public class ResourceBodyPane extends Pane {
         regularEvents.addAll(allEvents.collectRegularForResourceAndDates(resource.getId(), minDateObjectProperty.get(), maxDateObjectProperty.get()));
 
         // remove all events
-        getChildren().removeAll(regularEventBodyPanes);
-        regularEventBodyPanes.clear();
+        removeRegularEvents();
 
         // for all regular events of this resource, create a header event pane
         int lCnt = 0;
         for (Scheduler.Event lEvent : regularEvents) {
             EventRegularBodyPane lEventPane = new EventRegularBodyPane(lEvent, layoutHelp);
             regularEventBodyPanes.add(lEventPane);
-            ((SchedulerSkinAbstract<Scheduler.Event>) layoutHelp.skin).eventNodeMap().put(System.identityHashCode(lEvent), lEventPane);
             lEventPane.setId(lEventPane.getClass().getSimpleName() + resource.getId() + "/" + lCnt); // for testing
 
             lCnt++;
         }
+        ((SchedulerSkinAbstract<?>) layoutHelp.skin).registerEventPanes(bandEventPaneRegistry, regularEventBodyPanes);
+    }
+
+    private void removeRegularEvents() {
+        getChildren().removeAll(regularEventBodyPanes);
+        ((SchedulerSkinAbstract<?>) layoutHelp.skin).unregisterEventPanes(bandEventPaneRegistry, regularEventBodyPanes);
+        regularEventBodyPanes.clear();
+    }
+
+    /**
+     * Releases the event panes, for when this pane is no longer used
+     */
+    void dispose() {
+        removeRegularEvents();
+        trackedEventBodyPanes.clear();
+        removeDenseEvents();
+        removeAggregatedEvents();
+    }
+
+    // ==================================================================================================================
+    // DENSE RENDERING
+
+    // the events are painted as bars on a canvas, only the hovered and selected events are promoted to a pane
+    private Canvas denseCanvas = null;
+    private Region denseBarPrototype = null;
+    final private List<TrackedEvent<Scheduler.Event>> denseTrackedEvents = new ArrayList<>();
+    final private Map<Scheduler.Event, TrackedEvent<Scheduler.Event>> denseTrackedEventsByEvent = new IdentityHashMap<>();
+    private Rectangle2D[] denseBounds = new Rectangle2D[0];
+    private IntervalIndex<Integer> denseIndex = null;
+    final private Map<Scheduler.Event, EventRegularBodyPane> densePromotedPanes = new IdentityHashMap<>();
+    private EventRegularBodyPane denseHoverPane = null;
+
+    private void setupDenseEvents() {
+        removeDenseEvents();
+
+        // the canvas is at the bottom, the drag rectangle and promoted panes are placed over it
+        denseCanvas = new Canvas();
+        denseCanvas.setOnMouseMoved((mouseEvent) -> {
+            promoteHovered(findDenseEventAt(mouseEvent.getX(), mouseEvent.getY()));
+        });
+        getChildren().add(0, denseCanvas);
+
+        // an invisible event is styled by CSS, the bars are painted in its colors
+        denseBarPrototype = createPrototype("Event", "group5");
+
+        // same tracks as the panes
+        for (Scheduler.Event lEvent : allEvents.collectRegularForResourceAndDates(resource.getId(), minDateObjectProperty.get(), maxDateObjectProperty.get())) {
+            TrackedEvent<Scheduler.Event> lTrackedEvent = new TrackedEvent<>(lEvent, lEvent.getStartTime(), lEvent.getEndTime());
+            denseTrackedEvents.add(lTrackedEvent);
+            denseTrackedEventsByEvent.put(lEvent, lTrackedEvent);
+        }
+        TrackedEvent.determineTracks(denseTrackedEvents);
+
+        // the selected events are shown as panes right away
+        SchedulerSkinAbstract<?> lSkin = (SchedulerSkinAbstract<?>) layoutHelp.skin;
+        for (TrackedEvent<Scheduler.Event> lTrackedEvent : denseTrackedEvents) {
+            if (lSkin.isSelected(lTrackedEvent.visual)) {
+                promote(lTrackedEvent);
+            }
+        }
+    }
+
+    private void removeDenseEvents() {
+        if (denseCanvas == null) {
+            return;
+        }
+        for (Scheduler.Event lEvent : new ArrayList<>(densePromotedPanes.keySet())) {
+            demote(lEvent);
+        }
+        getChildren().removeAll(denseCanvas, denseBarPrototype);
+        denseCanvas = null;
+        denseBarPrototype = null;
+        denseTrackedEvents.clear();
+        denseTrackedEventsByEvent.clear();
+        denseBounds = new Rectangle2D[0];
+        denseIndex = null;
+        denseHoverPane = null;
+    }
+
+    /**
+     * Positions the bars, indexes them on their horizontal extent, and paints them
+     */
+    private void relayoutDense(double numberOfPixelsPerMinute) {
+        denseBounds = new Rectangle2D[denseTrackedEvents.size()];
+        List<Integer> lIndexes = new ArrayList<>(denseBounds.length);
+        for (int i = 0; i < denseBounds.length; i++) {
+            denseBounds[i] = determineBounds(denseTrackedEvents.get(i), numberOfPixelsPerMinute);
+            lIndexes.add(i);
+        }
+        denseIndex = new IntervalIndex<>(lIndexes, (i) -> denseBounds[i].getMinX(), (i) -> denseBounds[i].getMaxX());
+
+        for (EventRegularBodyPane lEventPane : densePromotedPanes.values()) {
+            applyBounds(lEventPane, denseTrackedEventsByEvent.get(lEventPane.event), numberOfPixelsPerMinute);
+        }
+
+        paintDense();
+    }
+
+    private void paintDense() {
+        denseCanvas.setWidth(getWidth());
+        denseCanvas.setHeight(getHeight());
+        GraphicsContext lGraphicsContext = denseCanvas.getGraphicsContext2D();
+        lGraphicsContext.clearRect(0, 0, denseCanvas.getWidth(), denseCanvas.getHeight());
+
+        Paint lFill = determineFill(denseBarPrototype);
+        lGraphicsContext.setFill(lFill);
+        lGraphicsContext.setStroke(lFill instanceof Color ? ((Color) lFill).darker() : Color.DARKGRAY);
+        lGraphicsContext.setLineWidth(1.0);
+
+        // in track order, so the bars overlap like the panes would
+        for (Rectangle2D lBounds : denseBounds) {
+            lGraphicsContext.fillRect(lBounds.getMinX(), lBounds.getMinY(), lBounds.getWidth(), lBounds.getHeight());
+            lGraphicsContext.strokeRect(lBounds.getMinX() + 0.5, lBounds.getMinY() + 0.5, lBounds.getWidth() - 1, lBounds.getHeight() - 1);
+        }
+    }
+
+    /**
+     * @return the topmost event painted at the location, or null
+     */
+    private TrackedEvent<Scheduler.Event> findDenseEventAt(double x, double y) {
+        if (denseIndex == null) {
+            return null;
+        }
+        int lTopmost = -1;
+        for (Integer i : denseIndex.query(x)) {
+            if (i > lTopmost && denseBounds[i].getMinY() <= y && y <= denseBounds[i].getMaxY()) {
+                lTopmost = i;
+            }
+        }
+        return lTopmost < 0 ? null : denseTrackedEvents.get(lTopmost);
+    }
+
+    /**
+     * Only one event is promoted because it is hovered, the previous one is demoted unless it is selected or being dragged
+     */
+    private void promoteHovered(TrackedEvent<Scheduler.Event> trackedEvent) {
+        if (denseHoverPane != null && trackedEvent != null && denseHoverPane.event == trackedEvent.visual) {
+            return;
+        }
+        demoteHovered();
+        if (trackedEvent != null && !densePromotedPanes.containsKey(trackedEvent.visual)) {
+            denseHoverPane = promote(trackedEvent);
+        }
+    }
+
+    private void demoteHovered() {
+        if (denseHoverPane == null) {
+            return;
+        }
+        SchedulerSkinAbstract<?> lSkin = (SchedulerSkinAbstract<?>) layoutHelp.skin;
+        if (!denseHoverPane.isPressed() && !lSkin.isSelected(denseHoverPane.event)) {
+            demote(denseHoverPane.event);
+        }
+        denseHoverPane = null;
+    }
+
+    /**
+     * Called by the skin when the selection of an event of this resource changes
+     */
+    void denseSelectionChanged(Scheduler.Event event, boolean selected) {
+        TrackedEvent<Scheduler.Event> lTrackedEvent = denseTrackedEventsByEvent.get(event);
+        if (lTrackedEvent == null) {
+            return;
+        }
+        if (selected && !densePromotedPanes.containsKey(event)) {
+            promote(lTrackedEvent);
+        }
+        if (!selected && (denseHoverPane == null || denseHoverPane.event != event)) {
+            demote(event);
+        }
+    }
+
+    private EventRegularBodyPane promote(TrackedEvent<Scheduler.Event> trackedEvent) {
+        EventRegularBodyPane lEventPane = new EventRegularBodyPane(trackedEvent.visual, layoutHelp);
+        densePromotedPanes.put(trackedEvent.visual, lEventPane);
+        ((SchedulerSkinAbstract<?>) layoutHelp.skin).registerEventPane(bandEventPaneRegistry, lEventPane);
+        lEventPane.setId(lEventPane.getClass().getSimpleName() + resource.getId() + "/dense"); // for testing
+
+        // leaving the pane is leaving the hovered event
+        lEventPane.setOnMouseExited((mouseEvent) -> {
+            if (denseHoverPane == lEventPane) {
+                demoteHovered();
+            }
+        });
+
+        double lNumberOfPixelsPerMinute = layoutHelp.resourceWidthProperty.get() / (24 * 60 * displayedLocalDates.size());
+        applyBounds(lEventPane, trackedEvent, lNumberOfPixelsPerMinute);
+        getChildren().add(lEventPane);
+        return lEventPane;
+    }
+
+    private void demote(Scheduler.Event event) {
+        EventRegularBodyPane lEventPane = densePromotedPanes.remove(event);
+        if (lEventPane == null) {
+            return;
+        }
+        getChildren().remove(lEventPane);
+        ((SchedulerSkinAbstract<?>) layoutHelp.skin).unregisterEventPane(bandEventPaneRegistry, lEventPane);
+    }
+
+    /**
+     * An invisible region styled by CSS, for painting in the colors of the style classes
+     */
+    private Region createPrototype(String... styleClasses) {
+        Region lRegion = new Region();
+        lRegion.getStyleClass().addAll(styleClasses);
+        lRegion.setVisible(false);
+        lRegion.setManaged(false);
+        getChildren().add(lRegion);
+        return lRegion;
+    }
+
+    private Paint determineFill(Region prototype) {
+        prototype.applyCss();
+        Background lBackground = prototype.getBackground();
+        if (lBackground != null && !lBackground.getFills().isEmpty()) {
+            return lBackground.getFills().get(0).getFill();
+        }
+        return Color.GRAY;
+    }
+
+    // ==================================================================================================================
+    // AGGREGATION
+
+    // when zoomed out the occupancy per bucket of time is painted instead of the events
+    private Canvas aggregateCanvas = null;
+    private Region aggregatePrototype = null;
+    final static private int[] AGGREGATE_BUCKET_MINUTES = {15, 30, 60, 120, 240, 360, 720, 1440};
+    final static private double AGGREGATE_MIN_BUCKET_WIDTH = 3.0;
+
+    /**
+     * As long as the width is not known, nothing is visible, so the cheapest level of detail is used
+     */
+    private boolean isAggregating() {
+        double lNumberOfPixelsPerMinute = layoutHelp.resourceWidthProperty.get() / (24 * 60 * displayedLocalDates.size());
+        return lNumberOfPixelsPerMinute < ((SchedulerSkinAbstract<?>) layoutHelp.skin).getAggregateBelowPixelsPerMinute();
+    }
+
+    private void setupAggregatedEvents() {
+        removeAggregatedEvents();
+
+        // clicks go to the resource, so new events can be created as usual
+        aggregateCanvas = new Canvas();
+        aggregateCanvas.setMouseTransparent(true);
+        getChildren().add(0, aggregateCanvas);
+        aggregatePrototype = createPrototype("EventAggregate", "group5");
+    }
+
+    private void removeAggregatedEvents() {
+        if (aggregateCanvas == null) {
+            return;
+        }
+        getChildren().removeAll(aggregateCanvas, aggregatePrototype);
+        aggregateCanvas = null;
+        aggregatePrototype = null;
+    }
+
+    /**
+     * Paints a bar per bucket, as high as the bucket is occupied, using the smallest bucket that still is a few pixels wide
+     */
+    private void relayoutAggregated(double numberOfPixelsPerMinute) {
+        aggregateCanvas.setWidth(getWidth());
+        aggregateCanvas.setHeight(getHeight());
+        GraphicsContext lGraphicsContext = aggregateCanvas.getGraphicsContext2D();
+        lGraphicsContext.clearRect(0, 0, aggregateCanvas.getWidth(), aggregateCanvas.getHeight());
+        if (numberOfPixelsPerMinute <= 0) {
+            return;
+        }
+
+        int lBucketMinutes = AGGREGATE_BUCKET_MINUTES[AGGREGATE_BUCKET_MINUTES.length - 1];
+        for (int lMinutes : AGGREGATE_BUCKET_MINUTES) {
+            if (lMinutes * numberOfPixelsPerMinute >= AGGREGATE_MIN_BUCKET_WIDTH) {
+                lBucketMinutes = lMinutes;
+                break;
+            }
+        }
+        double[] lOccupancy = allEvents.collectOccupancyForResourceAndDates(resource.getId(), minDateObjectProperty.get(), maxDateObjectProperty.get(), lBucketMinutes * 60L);
+
+        lGraphicsContext.setFill(determineFill(aggregatePrototype));
+        double lBucketWidth = lBucketMinutes * numberOfPixelsPerMinute;
+        double lHeight = layoutHelp.resourceHeightProperty.get();
+        for (int i = 0; i < lOccupancy.length; i++) {
+            if (lOccupancy[i] > 0) {
+                double lBarHeight = NodeUtil.snapWH(0, Math.max(1.0, Math.min(1.0, lOccupancy[i]) * lHeight));
+                lGraphicsContext.fillRect(NodeUtil.snapXY(i * lBucketWidth), lHeight - lBarHeight, NodeUtil.snapWH(i * lBucketWidth, lBucketWidth), lBarHeight);
+            }
+        }
+    }
+
+    private void applyBounds(EventRegularBodyPane eventPane, TrackedEvent<Scheduler.Event> trackedEvent, double numberOfPixelsPerMinute) {
+        Rectangle2D lBounds = determineBounds(trackedEvent, numberOfPixelsPerMinute);
+        eventPane.setLayoutX(lBounds.getMinX());
+        eventPane.setLayoutY(lBounds.getMinY());
+        eventPane.setPrefWidth(lBounds.getWidth());
+        eventPane.setPrefHeight(lBounds.getHeight());
     }
 
 
@@ -0,0 +1,184 @@
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import javafx.beans.InvalidationListener;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.scene.transform.NonInvertibleTransformException;
+import javafx.scene.transform.Transform;
+import jfxtras.util.NodeUtil;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps a point in the scene to the resource and the date time below it, without visiting the resource panes.
+ * The row offsets of the resources are kept as prefix sums, the day columns follow from the day width in LayoutHelp,
+ * and the inverse of the scene transform of the week body is cached until the body is scrolled, resized or moved.
+ * A lookup is then a binary search and some arithmetic.
+ * Like NodeUtil.sceneX/sceneY, which the resource panes used, the location of the scene in its window is added to scene coordinates.
+ */
+class SceneCoordinateModel {
+
+    final private Pane weekBodyPane;
+    final private List<ResourceBodyPane> resourceBodyPanes;
+    final private LayoutHelp layoutHelp;
+
+    // top of each resource row in week body coordinates, the last entry is the bottom of the last row
+    private double[] rowOffsets = new double[0];
+    private boolean rowsDirty = true;
+
+    // inverse of the local-to-scene transform of the week body
+    private double ixx, ixy, itx, iyx, iyy, ity;
+    private boolean transformDirty = true;
+
+    // result of the last locate
+    private double localX;
+    private int row;
+
+    final private InvalidationListener transformInvalidationListener = (observable) -> transformDirty = true;
+    final private InvalidationListener rowsInvalidationListener = (observable) -> rowsDirty = true;
+    // the location of the scene in its window is part of the transform
+    private Scene observedScene;
+    final private InvalidationListener sceneInvalidationListener = (observable) -> {
+        transformDirty = true;
+        observeScene(getWeekBodyScene());
+    };
+
+    SceneCoordinateModel(Pane weekBodyPane, List<ResourceBodyPane> resourceBodyPanes, LayoutHelp layoutHelp) {
+        this.weekBodyPane = weekBodyPane;
+        this.resourceBodyPanes = resourceBodyPanes;
+        this.layoutHelp = layoutHelp;
+
+        // scrolling and resizing change the transform, not the week body itself
+        weekBodyPane.localToSceneTransformProperty().addListener(transformInvalidationListener);
+        weekBodyPane.sceneProperty().addListener(sceneInvalidationListener);
+        observeScene(weekBodyPane.getScene());
+        layoutHelp.resourceHeightProperty.addListener(rowsInvalidationListener);
+    }
+
+    void dispose() {
+        weekBodyPane.localToSceneTransformProperty().removeListener(transformInvalidationListener);
+        weekBodyPane.sceneProperty().removeListener(sceneInvalidationListener);
+        observeScene(null);
+        layoutHelp.resourceHeightProperty.removeListener(rowsInvalidationListener);
+    }
+
+    private Scene getWeekBodyScene() {
+        return weekBodyPane.getScene();
+    }
+
+    private void observeScene(Scene scene) {
+        if (observedScene == scene) {
+            return;
+        }
+        if (observedScene != null) {
+            observedScene.xProperty().removeListener(transformInvalidationListener);
+            observedScene.yProperty().removeListener(transformInvalidationListener);
+        }
+        observedScene = scene;
+        if (observedScene != null) {
+            observedScene.xProperty().addListener(transformInvalidationListener);
+            observedScene.yProperty().addListener(transformInvalidationListener);
+        }
+    }
+
+    /**
+     * @param x scene coordinate
+     * @param y scene coordinate
+     * @return the date time at the location, with the nano seconds set to EventAbstractPane.DRAG_DAY, or null if the location is not on a resource
+     */
+    LocalDateTime convertClickInSceneToDateTime(double x, double y) {
+        if (locate(x, y) == false) {
+            return null;
+        }
+
+        double lWidthOffset = localX - layoutHelp.timeWidthProperty.get();
+        int lDayCountOffset = (int) (lWidthOffset / layoutHelp.dayWidthProperty.get());
+        double lPixelsOffsetOfOneDay = lWidthOffset - (lDayCountOffset * layoutHelp.dayWidthProperty.get());
+        int ms = (int) (lPixelsOffsetOfOneDay * layoutHelp.durationInMSPerPixelProperty.get());
+        LocalDateTime lLocalDateTime = resourceBodyPanes.get(row).displayedLocalDates.get(0).plusDays(lDayCountOffset).atStartOfDay().plusSeconds(ms / 1000L);
+        return lLocalDateTime.withNano(EventAbstractPane.DRAG_DAY); // we abuse the nano second to deviate body panes from header panes
+    }
+
+    /**
+     * @param x scene coordinate
+     * @param y scene coordinate
+     * @return the id of the resource at the location, or 0 if the location is not on a resource
+     */
+    long convertClickInSceneToResourceId(double x, double y) {
+        if (locate(x, y) == false) {
+            return 0;
+        }
+        return resourceBodyPanes.get(row).resource.getId();
+    }
+
+    /**
+     * Determines the row and the x in week body coordinates of the location
+     */
+    private boolean locate(double x, double y) {
+        if (transformDirty) {
+            updateTransform();
+        }
+        if (rowsDirty || rowOffsets.length != resourceBodyPanes.size() + 1) {
+            updateRows();
+        }
+        if (resourceBodyPanes.isEmpty()) {
+            return false;
+        }
+
+        localX = ixx * x + ixy * y + itx;
+        double lLocalY = iyx * x + iyy * y + ity;
+
+        // the resource panes all start after the time column and span the remaining width
+        double lLeft = layoutHelp.timeWidthProperty.get();
+        if (localX < lLeft || localX >= weekBodyPane.getWidth()) {
+            return false;
+        }
+        if (lLocalY < rowOffsets[0] || lLocalY >= rowOffsets[rowOffsets.length - 1]) {
+            return false;
+        }
+
+        // last row whose top is at or above the location
+        int lIdx = Arrays.binarySearch(rowOffsets, lLocalY);
+        row = lIdx >= 0 ? lIdx : -lIdx - 2;
+        return true;
+    }
+
+    private void updateTransform() {
+        transformDirty = false;
+        Transform lTransform = weekBodyPane.getLocalToSceneTransform(); // reading the transform validates it, so the listener fires again
+        // reading the location validates it as well
+        double lSceneX = observedScene == null ? 0 : observedScene.getX();
+        double lSceneY = observedScene == null ? 0 : observedScene.getY();
+        try {
+            Transform lInverse = lTransform.createInverse();
+            ixx = lInverse.getMxx();
+            ixy = lInverse.getMxy();
+            iyx = lInverse.getMyx();
+            iyy = lInverse.getMyy();
+            // subtract the location of the scene before applying the inverse
+            itx = lInverse.getTx() - ixx * lSceneX - ixy * lSceneY;
+            ity = lInverse.getTy() - iyx * lSceneX - iyy * lSceneY;
+        }
+        catch (NonInvertibleTransformException e) {
+            // collapsed, nothing can be hit
+            ixx = ixy = iyx = iyy = 0;
+            itx = ity = Double.NEGATIVE_INFINITY;
+        }
+    }
+
+    private void updateRows() {
+        rowsDirty = false;
+        double lResourceHeight = layoutHelp.resourceHeightProperty.get(); // reading the height re-arms the listener
+        int lCnt = resourceBodyPanes.size();
+        if (rowOffsets.length != lCnt + 1) {
+            rowOffsets = new double[lCnt + 1];
+        }
+        // same snapping as the layoutY binding of the resource panes
+        for (int j = 0; j < lCnt; j++) {
+            rowOffsets[j] = NodeUtil.snapXY(lResourceHeight * j);
+        }
+        rowOffsets[lCnt] = lCnt == 0 ? 0 : rowOffsets[lCnt - 1] + lResourceHeight;
+    }
+}
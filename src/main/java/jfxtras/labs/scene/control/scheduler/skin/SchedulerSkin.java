@@ -2,6 +2,7 @@ package jfxtras.labs.scene.control.scheduler.skin;
 
 import javafx.print.PrinterJob;
 import javafx.scene.Node;
+import javafx.util.Callback;
 import jfxtras.labs.scene.control.scheduler.Scheduler;
 
 import java.time.LocalDateTime;
@@ -46,4 +47,44 @@ public interface SchedulerSkin {
     Node getNodeForPopup(Scheduler.Event event);
 
     public void print(PrinterJob job);
+
+    /**
+     * Prints in pages of a number of resources by a number of days (0 for all).
+     * Skins that do not print in pages print everything as {@link #print(PrinterJob)} does.
+     */
+    default public void print(PrinterJob job, int resourcesPerPage, int daysPerPage, Callback<TileProgress, Void> progressCallback) {
+        print(job);
+        if (progressCallback != null) {
+            progressCallback.call(new TileProgress(1, 1));
+        }
+    }
+
+    /**
+     * The progress of printing or exporting in tiles
+     */
+    static public class TileProgress {
+        TileProgress(int tileIdx, int numberOfTiles) {
+            this.tileIdx = tileIdx;
+            this.numberOfTiles = numberOfTiles;
+        }
+
+        /**
+         * @return the number of tiles done
+         */
+        public int getTileIdx() {
+            return tileIdx;
+        }
+
+        final int tileIdx;
+
+        public int getNumberOfTiles() {
+            return numberOfTiles;
+        }
+
+        final int numberOfTiles;
+
+        public String toString() {
+            return super.toString() + " " + tileIdx + " of " + numberOfTiles;
+        }
+    }
 }
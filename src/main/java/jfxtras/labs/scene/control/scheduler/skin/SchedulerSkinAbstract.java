@@ -8,22 +8,35 @@ import javafx.collections.ListChangeListener;
 import javafx.css.CssMetaData;
 import javafx.css.SimpleStyleableObjectProperty;
 import javafx.css.Styleable;
+import javafx.embed.swing.SwingFXUtils;
+import javafx.geometry.Orientation;
+import javafx.geometry.Rectangle2D;
 import javafx.print.PageLayout;
 import javafx.print.PrinterJob;
 import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.control.ScrollBar;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.SkinBase;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.transform.Scale;
+import javafx.scene.transform.Translate;
+import javafx.util.Callback;
 import javafx.util.Duration;
 import jfxtras.css.CssMetaDataForSkinProperty;
 import jfxtras.css.converters.DoubleConverter;
 import jfxtras.labs.scene.control.scheduler.Scheduler;
 import jfxtras.util.NodeUtil;
 
+import javax.imageio.ImageIO;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.text.SimpleDateFormat;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -52,6 +65,9 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
     private WeekHeaderPane weekHeaderPane = null;
     private ScrollPane weekScrollPane = null;
     private WeekBodyPane weekBodyPane = null;
+    private SceneCoordinateModel sceneCoordinateModel = null;
+    private EventProvider eventProvider = null;
+    private boolean settingProvidedEvents = false;
 
     private LayoutHelp layoutHelp = new LayoutHelp(getSkinnable(), this);
 
@@ -78,6 +94,11 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
     private void construct() {
         resources = new AllResources(getSkinnable().resources());
         events = new AllEvents(getSkinnable().events());
+        eventProvider = new EventProvider(getSkinnable(), (providedEvents) -> {
+            if (setProvidedEvents(providedEvents)) {
+                setupEvents();
+            }
+        });
 
         // setup component
         createNodes();
@@ -94,8 +115,21 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
         // react to changes in the resources
         getSkinnable().resources().addListener(resourceListChangeListener);
 
-        // clean up removed appointments from eventNodeMap
-        getSkinnable().events().addListener(eventNodeMapCleanUpListChangeListener);
+        // react to changes in the event provider
+        getSkinnable().eventProviderCallbackProperty().addListener(eventProviderInvalidationListener);
+
+        // react to changes in the rendering mode
+        getSkinnable().denseRenderingProperty().addListener(denseRenderingInvalidationListener);
+
+        // the occupancy of the events is only indexed while aggregates may be shown
+        events.setOccupancyIndexed(getAggregateBelowPixelsPerMinute() > 0);
+        aggregateBelowPixelsPerMinuteProperty.addListener((observable) -> events.setOccupancyIndexed(getAggregateBelowPixelsPerMinute() > 0));
+
+        // one listener visualizes the selection for all event panes
+        for (Scheduler.Event lEvent : getSkinnable().selectedEvents()) {
+            addSelected(lEvent);
+        }
+        getSkinnable().selectedEvents().addListener(selectedEventsListChangeListener);
 
         // initial setup
         refresh();
@@ -109,7 +143,25 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
         scrollWeekpaneToShowDisplayedTime();
         setupEvents();
     };
+    private InvalidationListener eventProviderInvalidationListener = (observable) -> {
+        eventProvider.invalidate();
+        refresh();
+    };
+    private InvalidationListener denseRenderingInvalidationListener = (observable) -> {
+        setupEvents();
+    };
     private ListChangeListener<Scheduler.Event> eventListChangeListener = (changes) -> {
+        if (settingProvidedEvents) {
+            return;
+        }
+        // edits of the displayed events are written through to the fetched weeks, so the next publish keeps them
+        if (eventProvider.isActive()) {
+            while (changes.next()) {
+                eventProvider.removed(changes.getRemoved());
+                eventProvider.added(changes.getAddedSubList());
+            }
+            changes.reset();
+        }
         if (changes.next()) {
             if (changes.wasRemoved()) {
                 changes.getRemoved().forEach(c-> setupParticularEvents(c.getResourceId(), c.getResourceId()));
@@ -118,15 +170,9 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
         }
         setupEvents();
     };
-    private ListChangeListener<Scheduler.Event> eventNodeMapCleanUpListChangeListener = (changes) -> {
-        while (changes.next()) {
-            if (changes.wasRemoved()) {
-                changes.getRemoved().stream().forEach(a -> eventNodeMap().remove(System.identityHashCode(a)));
-            }
-        }
-    };
     private ListChangeListener<Scheduler.Resource> resourceListChangeListener = (changes) -> {
         weekBodyPane.reconstruct();
+        requestProvidedEvents(determineDisplayedLocalDates());
         setupEvents();
         layoutHelp.resourcesCountProperty.set(resources.collectRegular().size());
     };
@@ -141,7 +187,15 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
         getSkinnable().localeProperty().removeListener(localeInvalidationListener);
         getSkinnable().displayedLocalDateTime().removeListener(displayedDateTimeChangeListener);
         getSkinnable().events().removeListener(eventListChangeListener);
-        getSkinnable().events().removeListener(eventNodeMapCleanUpListChangeListener);
+        getSkinnable().selectedEvents().removeListener(selectedEventsListChangeListener);
+        getSkinnable().eventProviderCallbackProperty().removeListener(eventProviderInvalidationListener);
+        getSkinnable().denseRenderingProperty().removeListener(denseRenderingInvalidationListener);
+
+        // stop updating the now line
+        nowTimer.stop();
+        sceneCoordinateModel.dispose();
+        eventProvider.dispose();
+        eventPaneRegistry.clear();
 
         // reset style classes
         getSkinnable().getStyleClass().clear();
@@ -181,12 +235,45 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
             Scheduler.LocalDateTimeRange lRange = new Scheduler.LocalDateTimeRange(lStartLocalDate.atStartOfDay(), lEndLocalDate.plusDays(1).atStartOfDay());
             getSkinnable().getLocalDateTimeRangeCallback().call(lRange);
         }
+
+        // in provider mode show what is available, the callers set up the events afterwards
+        requestProvidedEvents(lLocalDates);
 /*        if (getSkinnable().getCalendarRangeCallback() != null) {
             Agenda.CalendarRange lRange = new Agenda.CalendarRange( DateTimeToCalendarHelper.createCalendarFromLocalDate(lStartLocalDate, TimeZone.getDefault(), Locale.getDefault()), DateTimeToCalendarHelper.createCalendarFromLocalDate(lEndLocalDate, TimeZone.getDefault(), Locale.getDefault()));
             getSkinnable().getCalendarRangeCallback().call(lRange);
         }*/
     }
 
+    /**
+     * Have the provider fetch the events of the displayed resources and dates
+     */
+    private void requestProvidedEvents(List<LocalDate> localDates) {
+        if (!eventProvider.isActive()) {
+            return;
+        }
+        List<Long> lResourceIds = resources.collectRegular().stream().map(Scheduler.Resource::getId).collect(Collectors.toList());
+        setProvidedEvents(eventProvider.request(lResourceIds, localDates.get(0), localDates.get(localDates.size() - 1)));
+    }
+
+    /**
+     * Replace the events in the control by the provided ones, without the event list listener setting up the panes
+     *
+     * @return true if the events changed
+     */
+    private boolean setProvidedEvents(List<Scheduler.Event> providedEvents) {
+        if (providedEvents.equals(getSkinnable().events())) {
+            return false;
+        }
+        settingProvidedEvents = true;
+        try {
+            getSkinnable().events().setAll(providedEvents);
+        }
+        finally {
+            settingProvidedEvents = false;
+        }
+        return true;
+    }
+
     /**
      *
      */
@@ -229,6 +316,7 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
      * @param newResourceId
      */
     public void setupParticularEvents(long oldResourceId, long newResourceId) {
+        events.reindex(Arrays.asList(oldResourceId, newResourceId));
         List<ResourceBodyPane> resourceBodyPanes = weekBodyPane.resourceBodyPanes.stream()
                 .filter(c -> c.resource.getId().equals(oldResourceId) || c.resource.getId().equals(newResourceId))
                 .collect(Collectors.toList());
@@ -244,6 +332,7 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
     public void refresh() {
         assignDateToDayAndHeaderPanes();
         refreshLocale();
+        events.reindex(); // pick up events changed in place
         setupEvents();
         nowUpdateRunnable.run();
     }
@@ -253,13 +342,129 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
      */
     @Override
     public Pane getNodeForPopup(Scheduler.Event event) {
-        return eventNodeMap.get(System.identityHashCode(event));
+        return eventPaneRegistry.findPane(event);
     }
 
-    final private Map<Integer, Pane> eventNodeMap = new HashMap<>();
+    // the panes showing each event
+    final private EventPaneRegistry eventPaneRegistry = new EventPaneRegistry();
 
-    Map<Integer, Pane> eventNodeMap() {
-        return eventNodeMap;
+    /**
+     * @return the number of events that are shown by a pane
+     */
+    public int getRegisteredEventCount() {
+        return eventPaneRegistry.getEventCount();
+    }
+
+    /**
+     * @return the number of panes showing an event
+     */
+    public int getRegisteredEventPaneCount() {
+        return eventPaneRegistry.getPaneCount();
+    }
+
+    /**
+     * @return the number of event panes that were dropped without being unregistered, this should not keep growing
+     */
+    public long getCollectedEventPaneCount() {
+        return eventPaneRegistry.getCollectedCount();
+    }
+
+    // ==================================================================================================================
+    // SELECTION
+
+    // how often each event is in the selected events
+    final private Map<Scheduler.Event, Integer> selectedEventCounts = new IdentityHashMap<>();
+
+    /**
+     * Only the panes of the events that were added to or removed from the selection are updated
+     */
+    private ListChangeListener<Scheduler.Event> selectedEventsListChangeListener = (changes) -> {
+        while (changes.next()) {
+            for (Scheduler.Event lEvent : changes.getRemoved()) {
+                removeSelected(lEvent);
+            }
+            for (Scheduler.Event lEvent : changes.getAddedSubList()) {
+                addSelected(lEvent);
+            }
+        }
+    };
+
+    private void addSelected(Scheduler.Event event) {
+        if (selectedEventCounts.merge(event, 1, Integer::sum) == 1) {
+            setEventPanesSelected(event, true);
+        }
+    }
+
+    private void removeSelected(Scheduler.Event event) {
+        Integer lCount = selectedEventCounts.get(event);
+        if (lCount == null) {
+            return;
+        }
+        if (lCount > 1) {
+            selectedEventCounts.put(event, lCount - 1);
+            return;
+        }
+        selectedEventCounts.remove(event);
+        setEventPanesSelected(event, false);
+    }
+
+    private void setEventPanesSelected(Scheduler.Event event, boolean selected) {
+        // in dense rendering the resource must first promote the event to a pane, or may demote it again
+        if (getSkinnable().getDenseRendering()) {
+            ResourceBodyPane lResourceBodyPane = weekBodyPane.resourceBodyPanePerResourceId.get(event.getResourceId());
+            if (lResourceBodyPane != null) {
+                lResourceBodyPane.denseSelectionChanged(event, selected);
+            }
+        }
+
+        for (EventAbstractPane lPane : eventPaneRegistry.collectPanes(event)) {
+            lPane.setSelected(selected);
+        }
+    }
+
+    /**
+     * Panes must be registered to show the selection and history of their event, and to be found for popups.
+     * Panes of printed or exported tiles are registered in the registry of their band instead; they get the selection and history once and are not updated.
+     *
+     * @param bandEventPaneRegistry the registry of a band of tiles, or null for the skin's own
+     */
+    void registerEventPane(EventPaneRegistry bandEventPaneRegistry, EventAbstractPane pane) {
+        registerEventPanes(bandEventPaneRegistry, Collections.singletonList(pane));
+    }
+
+    void registerEventPanes(EventPaneRegistry bandEventPaneRegistry, Collection<? extends EventAbstractPane> panes) {
+        if (bandEventPaneRegistry != null) {
+            bandEventPaneRegistry.registerAll(panes);
+            for (EventAbstractPane lPane : panes) {
+                lPane.setSelected(selectedEventCounts.containsKey(lPane.event));
+                lPane.determineHistoryVisualizer(historyNow);
+            }
+            return;
+        }
+        eventPaneRegistry.registerAll(panes);
+        for (EventAbstractPane lPane : panes) {
+            lPane.setSelected(selectedEventCounts.containsKey(lPane.event));
+            trackHistory(lPane);
+        }
+    }
+
+    boolean isSelected(Scheduler.Event event) {
+        return selectedEventCounts.containsKey(event);
+    }
+
+    void unregisterEventPane(EventPaneRegistry bandEventPaneRegistry, EventAbstractPane pane) {
+        unregisterEventPanes(bandEventPaneRegistry, Collections.singletonList(pane));
+    }
+
+    void unregisterEventPanes(EventPaneRegistry bandEventPaneRegistry, Collection<? extends EventAbstractPane> panes) {
+        if (bandEventPaneRegistry != null) {
+            bandEventPaneRegistry.unregisterAll(panes);
+            return;
+        }
+        for (EventAbstractPane lPane : panes) {
+            untrackHistory(lPane);
+        }
+        eventPaneRegistry.unregisterAll(panes);
     }
 
     // ==================================================================================================================
@@ -284,11 +489,37 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
         return snapToMinutesProperty.get().intValue();
     }
 
+    @SuppressWarnings("unchecked")
     public final T withSnapToMinutes(double value) {
         setSnapToMinutes(value);
         return (T) this;
     }
 
+    /**
+     * aggregateBelowPixelsPerMinute
+     * When less pixels per minute are available, the occupancy of each resource is shown instead of the individual events.
+     * The occupancy cannot be clicked, selected or dragged, so this is 0 (never aggregate) by default.
+     */
+    public final ObjectProperty<Double> aggregateBelowPixelsPerMinuteProperty() {
+        return aggregateBelowPixelsPerMinuteProperty;
+    }
+
+    private ObjectProperty<Double> aggregateBelowPixelsPerMinuteProperty = new SimpleStyleableObjectProperty<Double>(StyleableProperties.AGGREGATEBELOWPIXELSPERMINUTE_CSSMETADATA, StyleableProperties.AGGREGATEBELOWPIXELSPERMINUTE_CSSMETADATA.getInitialValue(null));
+
+    public final void setAggregateBelowPixelsPerMinute(double value) {
+        aggregateBelowPixelsPerMinuteProperty().set(value);
+    }
+
+    public final double getAggregateBelowPixelsPerMinute() {
+        return aggregateBelowPixelsPerMinuteProperty.get().doubleValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    public final T withAggregateBelowPixelsPerMinute(double value) {
+        setAggregateBelowPixelsPerMinute(value);
+        return (T) this;
+    }
+
     // -------------------------
 
     private static class StyleableProperties {
@@ -299,11 +530,19 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
             }
         };
 
+        private static final CssMetaData<Scheduler, Double> AGGREGATEBELOWPIXELSPERMINUTE_CSSMETADATA = new CssMetaDataForSkinProperty<Scheduler, SchedulerSkinAbstract<?>, Double>("-fxx-aggregate-below-pixels-per-minute", DoubleConverter.getInstance(), 0.0) {
+            @Override
+            protected ObjectProperty<Double> getProperty(SchedulerSkinAbstract<?> s) {
+                return s.aggregateBelowPixelsPerMinuteProperty;
+            }
+        };
+
         private static final List<CssMetaData<? extends Styleable, ?>> STYLEABLES;
 
         static {
             final List<CssMetaData<? extends Styleable, ?>> styleables = new ArrayList<CssMetaData<? extends Styleable, ?>>(SkinBase.getClassCssMetaData());
             styleables.add(SNAPTOMINUTES_CSSMETADATA);
+            styleables.add(AGGREGATEBELOWPIXELSPERMINUTE_CSSMETADATA);
             STYLEABLES = Collections.unmodifiableList(styleables);
         }
     }
@@ -349,11 +588,14 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
 
         // borderpane center
         weekBodyPane = new WeekBodyPane();
+        sceneCoordinateModel = new SceneCoordinateModel(weekBodyPane, weekBodyPane.resourceBodyPanes, layoutHelp);
         weekScrollPane = new ScrollPane();
         weekScrollPane.setContent(weekBodyPane);
         weekScrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
         weekScrollPane.setFitToWidth(true);
         weekScrollPane.setPannable(false); // panning would conflict with creating a new event
+        weekScrollPane.skinProperty().addListener(scrollbarSizeInvalidationListener);
+        scrollbarSize = Double.NaN;
         borderPane.setCenter(weekScrollPane);
         // bind to the scrollpane's viewport
         weekScrollPane.viewportBoundsProperty().addListener((observable) -> {
@@ -400,8 +642,10 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
      */
     class WeekHeaderPane extends Pane {
         final List<DayHeaderPane> dayHeaderPanes = new ArrayList<DayHeaderPane>();
+        final private WeekBodyPane weekBodyPane;
 
         public WeekHeaderPane(WeekBodyPane weekBodyPane) {
+            this.weekBodyPane = weekBodyPane;
             construct();
         }
 
@@ -444,9 +688,24 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
      */
     class WeekBodyPane extends Pane {
         final List<DayBodyPane> dayBodyPanes = new ArrayList<DayBodyPane>();
+        final List<ResourceHeaderPane> resourceHeaderPanes = new ArrayList<ResourceHeaderPane>();
         final List<ResourceBodyPane> resourceBodyPanes = new ArrayList<ResourceBodyPane>();
+        // the same panes, to find the pane of a resource without visiting all of them
+        final Map<Long, ResourceBodyPane> resourceBodyPanePerResourceId = new HashMap<>();
+        final private List<Scheduler.Resource> bandResources;
+        // a band of tiles registers its event panes apart from the skin's, so they are not found for popups or selection
+        final private EventPaneRegistry bandEventPaneRegistry;
 
         public WeekBodyPane() {
+            this(null);
+        }
+
+        /**
+         * @param bandResources only show these resources, for rendering a band of tiles, or null for all resources
+         */
+        WeekBodyPane(List<Scheduler.Resource> bandResources) {
+            this.bandResources = bandResources;
+            this.bandEventPaneRegistry = (bandResources == null ? null : new EventPaneRegistry());
             getStyleClass().add("Week");
             construct();
         }
@@ -461,7 +720,12 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
                 lDayPane.layoutXProperty().bind(layoutHelp.dayWidthProperty.multiply(i).add(layoutHelp.dayFirstColumnXProperty));
                 lDayPane.layoutYProperty().set(0.0);
                 lDayPane.prefWidthProperty().bind(layoutHelp.dayWidthProperty);
-                lDayPane.prefHeightProperty().bind(layoutHelp.dayHeightProperty);
+                if (bandResources == null) {
+                    lDayPane.prefHeightProperty().bind(layoutHelp.dayHeightProperty);
+                }
+                else {
+                    lDayPane.prefHeightProperty().bind(layoutHelp.resourceHeightProperty.multiply(bandResources.size()));
+                }
                 getChildren().add(lDayPane);
 
                 // remember
@@ -471,7 +735,7 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
             }
 
             int j = 0;
-            for (Scheduler.Resource lResource : resources.collectRegular()) {
+            for (Scheduler.Resource lResource : (bandResources == null ? resources.collectRegular() : bandResources)) {
                 ResourceHeaderPane resourceHeaderPane = new ResourceHeaderPane(lResource, layoutHelp);
                 resourceHeaderPane.layoutXProperty().setValue(0.0);
                 resourceHeaderPane.layoutYProperty().bind(NodeUtil.snapXY(layoutHelp.resourceHeightProperty.multiply(j)));
@@ -479,8 +743,9 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
                 resourceHeaderPane.prefWidthProperty().bind(layoutHelp.timeWidthProperty);
                 resourceHeaderPane.prefHeightProperty().bind(layoutHelp.resourceHeightProperty);
                 getChildren().add(resourceHeaderPane);
+                resourceHeaderPanes.add(resourceHeaderPane);
 
-                ResourceBodyPane resourceBodyPane = new ResourceBodyPane(determineDisplayedLocalDates(), lResource, events, layoutHelp);
+                ResourceBodyPane resourceBodyPane = new ResourceBodyPane(determineDisplayedLocalDates(), lResource, events, layoutHelp, bandEventPaneRegistry);
                 resourceBodyPane.layoutXProperty().bind(layoutHelp.timeWidthProperty);
                 resourceBodyPane.layoutYProperty().bind(NodeUtil.snapXY(layoutHelp.resourceHeightProperty.multiply(j)));
 
@@ -490,6 +755,7 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
 
                 // remember
                 resourceBodyPanes.add(resourceBodyPane);
+                resourceBodyPanePerResourceId.put(lResource.getId(), resourceBodyPane);
                 j++;
             }
 
@@ -498,9 +764,22 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
 
         void reconstruct() {
             dayBodyPanes.clear();
+            resourceHeaderPanes.clear();
+            dispose();
             getChildren().clear();
             construct();
         }
+
+        void dispose() {
+            for (ResourceBodyPane lResourceBodyPane : resourceBodyPanes) {
+                lResourceBodyPane.dispose();
+            }
+            resourceBodyPanes.clear();
+            resourceBodyPanePerResourceId.clear();
+            if (bandEventPaneRegistry != null) {
+                bandEventPaneRegistry.clear();
+            }
+        }
     }
 
     // ==================================================================================================================
@@ -560,27 +839,74 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
             }
 
             // history
-            for (DayHeaderPane lDayHeaderPane : weekHeaderPane.dayHeaderPanes) {
-                for (Node lNode : lDayHeaderPane.getChildren()) {
-                    if (lNode instanceof EventAbstractPane) {
-                        ((EventAbstractPane) lNode).determineHistoryVisualizer(lNow);
-                    }
-                }
+            updateHistory(lNow);
+        }
+    };
+
+    // the panes of events that had not started at the last update, ordered on start time; only these can become history
+    // the panes are referenced weakly like in the registry, so a pane that is dropped without being unregistered is still collected
+    final private TreeMap<LocalDateTime, List<WeakReference<EventAbstractPane>>> upcomingEventPanes = new TreeMap<>();
+    private LocalDateTime historyNow = LocalDateTime.now();
+
+    /**
+     * Only the panes of the events that started since the previous update are changed
+     */
+    private void updateHistory(LocalDateTime now) {
+        // the clock was set back, start over
+        if (now.isBefore(historyNow)) {
+            historyNow = now;
+            upcomingEventPanes.clear();
+            for (EventAbstractPane lPane : eventPaneRegistry.collectAllPanes()) {
+                trackHistory(lPane);
             }
-            for (DayBodyPane lDayBodyPane : weekBodyPane.dayBodyPanes) {
-                for (Node lNode : lDayBodyPane.getChildren()) {
-                    if (lNode instanceof EventAbstractPane) {
-                        ((EventAbstractPane) lNode).determineHistoryVisualizer(lNow);
-                    }
+            return;
+        }
+
+        historyNow = now;
+        SortedMap<LocalDateTime, List<WeakReference<EventAbstractPane>>> lStarted = upcomingEventPanes.headMap(now);
+        for (List<WeakReference<EventAbstractPane>> lPaneReferences : lStarted.values()) {
+            for (WeakReference<EventAbstractPane> lPaneReference : lPaneReferences) {
+                EventAbstractPane lPane = lPaneReference.get();
+                if (lPane != null) {
+                    lPane.determineHistoryVisualizer(now);
+                    lPane.upcomingStart = null;
                 }
             }
         }
-    };
+        lStarted.clear();
+    }
+
+    private void trackHistory(EventAbstractPane pane) {
+        pane.determineHistoryVisualizer(historyNow);
+        LocalDateTime lStart = pane.event.getStartTime();
+        if (!lStart.isBefore(historyNow)) {
+            upcomingEventPanes.computeIfAbsent(lStart, (start) -> new ArrayList<>(1)).add(new WeakReference<>(pane));
+            pane.upcomingStart = lStart;
+        }
+    }
+
+    private void untrackHistory(EventAbstractPane pane) {
+        // the start as it was tracked, the event may have been moved since
+        LocalDateTime lStart = pane.upcomingStart;
+        if (lStart == null) {
+            return;
+        }
+        pane.upcomingStart = null;
+        List<WeakReference<EventAbstractPane>> lPaneReferences = upcomingEventPanes.get(lStart);
+        if (lPaneReferences == null) {
+            return;
+        }
+        // drop the references of collected panes at the same start along the way
+        lPaneReferences.removeIf((paneReference) -> paneReference.get() == null || paneReference.get() == pane);
+        if (lPaneReferences.isEmpty()) {
+            upcomingEventPanes.remove(lStart);
+        }
+    }
 
     /**
      * This timer takes care of updating NOW
      */
-    jfxtras.animation.Timer nowTimer = new jfxtras.animation.Timer(nowUpdateRunnable)
+    jfxtras.labs.animation.Timer nowTimer = new jfxtras.labs.animation.Timer(nowUpdateRunnable)
             .withCycleDuration(new Duration(60 * 1000)) // every minute
             .withDelay(new Duration(((60 - LocalDateTime.now().getSecond()) * 1000) - (LocalDateTime.now().getNano() / 1000000))) // trigger exactly on each new minute
             .start();
@@ -597,6 +923,34 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
     }
 
 
+    // measured on the scroll pane's own vertical scrollbar, again when it is reskinned or restyled
+    private double scrollbarSize = Double.NaN;
+    private InvalidationListener scrollbarSizeInvalidationListener = (observable) -> {
+        scrollbarSize = Double.NaN;
+    };
+
+    /**
+     * @return the width of the vertical scrollbar of the week scroll pane, 0 as long as the scroll pane is not skinned
+     */
+    private double determineScrollbarSize() {
+        if (!Double.isNaN(scrollbarSize)) {
+            return scrollbarSize;
+        }
+        for (Node lNode : weekScrollPane.lookupAll(".scroll-bar")) {
+            if (lNode instanceof ScrollBar && ((ScrollBar) lNode).getOrientation() == Orientation.VERTICAL) {
+                ScrollBar lScrollBar = (ScrollBar) lNode;
+                lScrollBar.skinProperty().removeListener(scrollbarSizeInvalidationListener); // measured before
+                lScrollBar.widthProperty().removeListener(scrollbarSizeInvalidationListener);
+                lScrollBar.skinProperty().addListener(scrollbarSizeInvalidationListener);
+                lScrollBar.widthProperty().addListener(scrollbarSizeInvalidationListener);
+                // the scrollbar may be hidden, its preferred width still follows the CSS
+                scrollbarSize = lScrollBar.prefWidth(-1);
+                return scrollbarSize;
+            }
+        }
+        return 0;
+    }
+
     /**
      * These values can not be determined by binding them to other values, because their calculation is too complex
      */
@@ -616,7 +970,7 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
         }
 
         // hour height
-        double lScrollbarSize = new ScrollBar().getWidth();
+        double lScrollbarSize = determineScrollbarSize();
         layoutHelp.resourceHeightProperty.set(layoutHelp.textHeightProperty.get() * 2 + 10); // 10 is padding
         if (weekScrollPane.viewportBoundsProperty().get() != null && (weekScrollPane.viewportBoundsProperty().get().getHeight() - lScrollbarSize) > layoutHelp.resourceHeightProperty.get() * 24) {
             // if there is more room than absolutely required, let the height grow with the available room
@@ -630,24 +984,11 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
      * @param y scene coordinate
      */
     public LocalDateTime convertClickInSceneToDateTime(double x, double y) {
-
-        for (ResourceBodyPane lResourcePane : weekBodyPane.resourceBodyPanes) {
-            LocalDateTime lLocalDateTime = lResourcePane.convertClickInSceneToDateTime(x, y);
-            if (lLocalDateTime != null) {
-                return lResourcePane.convertClickInSceneToDateTime(x, y);
-            }
-        }
-        return null;
+        return sceneCoordinateModel.convertClickInSceneToDateTime(x, y);
     }
 
     public long convertClickInSceneToResourceId(double x, double y) {
-        for (ResourceBodyPane lResourcePane : weekBodyPane.resourceBodyPanes) {
-            LocalDateTime lLocalDateTime = lResourcePane.convertClickInSceneToDateTime(x, y);
-            if (lLocalDateTime != null) {
-                return lResourcePane.convertClickInSceneToResourceId(x, y);
-            }
-        }
-        return 0;
+        return sceneCoordinateModel.convertClickInSceneToResourceId(x, y);
     }
 
 
@@ -656,6 +997,7 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
 
     /**
      * Prints the current skin using the given printer job.
+     * All days are printed on a page, with as many resources as fit when the width fits the page.
      * <p>This method does not modify the state of the job, nor does it call
      * {@link PrinterJob#endJob}, so the job may be safely reused afterwards.
      *
@@ -663,35 +1005,135 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
      * @since JavaFX 8.0
      */
     public void print(PrinterJob job) {
-        float width = 5000;
-        float height = 5000;
+        PageLayout pageLayout = job.getJobSettings().getPageLayout();
+        int lResourcesPerPage = 0;
+        double lWidth = layoutHelp.timeWidthProperty.get() + layoutHelp.resourceWidthProperty.get();
+        if (lWidth > 0 && layoutHelp.resourceHeightProperty.get() > 0) {
+            double lScale = pageLayout.getPrintableWidth() / lWidth;
+            lResourcesPerPage = Math.max(1, (int) ((pageLayout.getPrintableHeight() / lScale - layoutHelp.headerHeightProperty.get()) / layoutHelp.resourceHeightProperty.get()));
+        }
+        print(job, lResourcesPerPage, 0, null);
+    }
 
-        // we use a borderpane
-        BorderPane borderPane = new BorderPane();
-        borderPane.prefWidthProperty().set(width);
-        borderPane.prefHeightProperty().set(height);
+    /**
+     * Prints the current skin in pages of a number of resources by a number of days, each page scaled to fit.
+     * Only the nodes of one band of resources exist at any time.
+     *
+     * @param job printer job used for printing
+     * @param resourcesPerPage the number of resources on a page, 0 for all
+     * @param daysPerPage the number of days on a page, 0 for all displayed days
+     * @param progressCallback is called after each page, may be null
+     */
+    public void print(PrinterJob job, int resourcesPerPage, int daysPerPage, Callback<TileProgress, Void> progressCallback) {
+        PageLayout pageLayout = job.getJobSettings().getPageLayout();
+        renderTiles(resourcesPerPage, daysPerPage, progressCallback, (tileRoot, tile, band, slice) -> {
+            double lScale = Math.min(pageLayout.getPrintableWidth() / tile.getWidth(), pageLayout.getPrintableHeight() / tile.getHeight());
+            tileRoot.setClip(new Rectangle(tile.getMinX(), tile.getMinY(), tile.getWidth(), tile.getHeight()));
+            tileRoot.getTransforms().setAll(new Scale(lScale, lScale), new Translate(-tile.getMinX(), -tile.getMinY()));
+            job.printPage(pageLayout, tileRoot);
+            tileRoot.setClip(null);
+            tileRoot.getTransforms().clear();
+        });
+    }
 
-        // borderpane center
-        WeekBodyPane weekBodyPane = new WeekBodyPane();
-        borderPane.setCenter(weekBodyPane);
+    /**
+     * Writes the current skin as PNG files of a number of resources by a number of days, named scheduler-[band]-[slice].png.
+     * Only the nodes of one band of resources and the image of one tile exist at any time.
+     *
+     * @param directory where the files are written
+     * @param resourcesPerTile the number of resources in a tile, 0 for all
+     * @param daysPerTile the number of days in a tile, 0 for all displayed days
+     * @param progressCallback is called after each tile, may be null
+     * @return the written files
+     */
+    public List<File> exportTiles(File directory, int resourcesPerTile, int daysPerTile, Callback<TileProgress, Void> progressCallback) throws IOException {
+        List<File> lFiles = new ArrayList<>();
+        renderTiles(resourcesPerTile, daysPerTile, progressCallback, (tileRoot, tile, band, slice) -> {
+            SnapshotParameters lSnapshotParameters = new SnapshotParameters();
+            lSnapshotParameters.setViewport(tile);
+            WritableImage lImage = tileRoot.snapshot(lSnapshotParameters, null);
+            File lFile = new File(directory, String.format("scheduler-%03d-%03d.png", band, slice));
+            ImageIO.write(SwingFXUtils.fromFXImage(lImage, null), "png", lFile);
+            lFiles.add(lFile);
+        });
+        return lFiles;
+    }
 
-        // borderpane top: header has to be created after the content, because there is a binding
-        WeekHeaderPane weekHeaderPane = new WeekHeaderPane(weekBodyPane); // must be done after the WeekBodyPane
-        borderPane.setTop(weekHeaderPane);
+    /**
+     * Renders one tile, the tile is the area of the tile root to use
+     */
+    @FunctionalInterface
+    private interface TileRenderer<E extends Exception> {
+        void render(Region tileRoot, Rectangle2D tile, int band, int slice) throws E;
+    }
 
-        // style
-        borderPane.getStyleClass().add(Scheduler.class.getSimpleName()); // always add self as style class, because CSS should relate to the skin not the control
-        borderPane.getStyleClass().add(getClass().getSimpleName()); // always add self as style class, because CSS should relate to the skin not the control
+    /**
+     * The tiles are rendered per band of resources, in one off-screen scene; the nodes of a band are released before the next band is created.
+     * The days of a band are cut into slices, each slice shows the resource headers at its left.
+     */
+    private <E extends Exception> void renderTiles(int resourcesPerTile, int daysPerTile, Callback<TileProgress, Void> progressCallback, TileRenderer<E> tileRenderer) throws E {
+        List<Scheduler.Resource> lResources = new ArrayList<>(resources.collectRegular());
+        int lNumberOfDays = determineDisplayedLocalDates().size();
+        int lResourcesPerTile = (resourcesPerTile < 1 ? Math.max(1, lResources.size()) : resourcesPerTile);
+        int lDaysPerTile = (daysPerTile < 1 ? lNumberOfDays : Math.min(daysPerTile, lNumberOfDays));
+        int lNumberOfBands = Math.max(1, (lResources.size() + lResourcesPerTile - 1) / lResourcesPerTile);
+        int lNumberOfSlices = (lNumberOfDays + lDaysPerTile - 1) / lDaysPerTile;
+        int lNumberOfTiles = lNumberOfBands * lNumberOfSlices;
+
+        // the scene is reused for all tiles
+        BorderPane lTileRoot = new BorderPane();
+        lTileRoot.getStyleClass().add(Scheduler.class.getSimpleName()); // always add self as style class, because CSS should relate to the skin not the control
+        lTileRoot.getStyleClass().add(getClass().getSimpleName()); // always add self as style class, because CSS should relate to the skin not the control
+        lTileRoot.getStylesheets().setAll(getSkinnable().getStylesheets());
+        Scene lTileScene = new Scene(lTileRoot);
+        if (getSkinnable().getUserAgentStylesheet() != null) {
+            lTileScene.getStylesheets().add(getSkinnable().getUserAgentStylesheet());
+        }
+        if (getSkinnable().getScene() != null) {
+            lTileScene.getStylesheets().addAll(getSkinnable().getScene().getStylesheets());
+        }
 
-        // scale to match page
-        PageLayout pageLayout = job.getJobSettings().getPageLayout();
-        double scaleX = pageLayout.getPrintableWidth() / borderPane.getBoundsInParent().getWidth();
-        double scaleY = pageLayout.getPrintableHeight() / borderPane.getBoundsInParent().getHeight();
-        scaleY *= 0.9; // for some reason the height doesn't fit
-        borderPane.getTransforms().add(new Scale(scaleX, scaleY));
+        int lTileIdx = 0;
+        for (int lBand = 0; lBand < lNumberOfBands; lBand++) {
+            List<Scheduler.Resource> lBandResources = lResources.subList(Math.min(lResources.size(), lBand * lResourcesPerTile), Math.min(lResources.size(), (lBand + 1) * lResourcesPerTile));
+            WeekBodyPane lWeekBodyPane = new WeekBodyPane(lBandResources);
+            WeekHeaderPane lWeekHeaderPane = new WeekHeaderPane(lWeekBodyPane); // must be done after the WeekBodyPane
+            lTileRoot.setCenter(lWeekBodyPane);
+            lTileRoot.setTop(lWeekHeaderPane);
+            try {
+                double lWidth = layoutHelp.timeWidthProperty.get() + layoutHelp.resourceWidthProperty.get();
+                double lHeight = layoutHelp.headerHeightProperty.get() + layoutHelp.resourceHeightProperty.get() * lBandResources.size();
+                lTileRoot.applyCss();
+                lTileRoot.resize(lWidth, lHeight);
+                lTileRoot.layout();
+
+                for (int lSlice = 0; lSlice < lNumberOfSlices; lSlice++) {
+                    int lFirstDay = lSlice * lDaysPerTile;
+                    int lDays = Math.min(lDaysPerTile, lNumberOfDays - lFirstDay);
+                    double lX = lFirstDay * layoutHelp.dayWidthProperty.get();
+
+                    // the resource headers are moved over the previous slice, so they are at the left of this one
+                    for (ResourceHeaderPane lResourceHeaderPane : lWeekBodyPane.resourceHeaderPanes) {
+                        lResourceHeaderPane.setTranslateX(lX);
+                        lResourceHeaderPane.toFront();
+                    }
+                    // the header over the time column would show the days of the previous slice, so only the days of this slice are shown
+                    lWeekHeaderPane.setClip(new Rectangle(lX + layoutHelp.timeWidthProperty.get(), 0, lDays * layoutHelp.dayWidthProperty.get(), layoutHelp.headerHeightProperty.get()));
 
-        // print
-        job.printPage(pageLayout, borderPane);
+                    tileRenderer.render(lTileRoot, new Rectangle2D(lX, 0, layoutHelp.timeWidthProperty.get() + lDays * layoutHelp.dayWidthProperty.get(), lHeight), lBand, lSlice);
+                    lTileIdx++;
+                    if (progressCallback != null) {
+                        progressCallback.call(new TileProgress(lTileIdx, lNumberOfTiles));
+                    }
+                }
+            }
+            finally {
+                // release the event panes of the band
+                lTileRoot.setCenter(null);
+                lTileRoot.setTop(null);
+                lWeekBodyPane.dispose();
+            }
+        }
     }
 
 }
@@ -29,6 +29,10 @@
 
 package jfxtras.labs.scene.control.window;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import javafx.collections.ObservableList;
 
 /**
@@ -39,4 +43,45 @@ public interface Clipboard {
     public boolean select(SelectableNode n, boolean selected);
     public void unselectAll();
     ObservableList<SelectableNode> getSelectedItems();
+
+    /**
+     * Selects the specified nodes. Implementations should fire a single
+     * change of the selected items.
+     *
+     * @param nodes nodes to select
+     * @return the number of nodes that accepted the selection request
+     */
+    public default int selectAll(Collection<? extends SelectableNode> nodes) {
+        int result = 0;
+        for (SelectableNode n : nodes) {
+            if (select(n, true)) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Unselects the specified nodes. Implementations should fire a single
+     * change of the selected items.
+     *
+     * @param nodes nodes to unselect
+     */
+    public default void unselectAll(Collection<? extends SelectableNode> nodes) {
+        for (SelectableNode n : new ArrayList<>(nodes)) {
+            select(n, false);
+        }
+    }
+
+    /**
+     * Selects the nodes in the specified range of the list.
+     *
+     * @param nodes list of nodes, e.g., the children of a canvas
+     * @param from index of the first node to select (inclusive)
+     * @param to index of the last node to select (exclusive)
+     * @return the number of nodes that accepted the selection request
+     */
+    public default int selectRange(List<? extends SelectableNode> nodes, int from, int to) {
+        return selectAll(nodes.subList(from, to));
+    }
 }
@@ -96,6 +96,12 @@ public class Window extends Control implements SelectableNode {
      * Resize property (defines whether is the window movable,performed by skin)
      */
     private BooleanProperty movableProperty = new SimpleBooleanProperty(true);
+    /**
+     * Deferred layout property (defines whether the content is shown as a
+     * snapshot instead of being laid out while the window is resized,
+     * performed by skin)
+     */
+    private BooleanProperty deferredLayoutProperty = new SimpleBooleanProperty(false);
     /**
      * Content pane property. The content pane is the pane that is responsible
      * for showing user defined nodes/content.
@@ -440,6 +446,41 @@ public class Window extends Control implements SelectableNode {
         return movableProperty;
     }
 
+    /**
+     * Defines whether the content of this window shall be shown as a snapshot
+     * while the window is resized. The content is laid out when the mouse is
+     * released or has not moved for a while. This keeps windows with heavy
+     * content responsive. Moving a window does not lay out its content, so
+     * the content is not replaced while moving.
+     *
+     * @param v the state to set
+     */
+    public void setDeferredLayout(boolean v) {
+        deferredLayoutProperty.set(v);
+    }
+
+    /**
+     * Indicates whether the content of this window is shown as a snapshot
+     * while the window is resized.
+     *
+     * @return <code>true</code> if the layout of the content is deferred;
+     * <code>false</code> otherwise
+     */
+    public boolean isDeferredLayout() {
+        return deferredLayoutProperty.get();
+    }
+
+    /**
+     * Returns the deferred layout property.
+     *
+     * @return the deferred layout property
+     *
+     * @see #setDeferredLayout(boolean)
+     */
+    public BooleanProperty deferredLayoutProperty() {
+        return deferredLayoutProperty;
+    }
+
     /**
      * Returns the titlebar style class property.
      *
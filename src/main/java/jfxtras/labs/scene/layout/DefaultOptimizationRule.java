@@ -55,6 +55,12 @@ public class DefaultOptimizationRule implements OptimizationRule {
         Bounds bounds = p.getBoundsInLocal();
         bounds = p.localToScene(bounds);
 
+        return visible(p, bounds);
+    }
+
+    @Override
+    public boolean visible(OptimizableContentPane p, Bounds bounds) {
+
         boolean visible = getMinSceneArea() <= bounds.getWidth() * bounds.getHeight();
 
         if (visible) {
@@ -73,6 +79,15 @@ public class DefaultOptimizationRule implements OptimizationRule {
         }
     }
 
+    @Override
+    public boolean attached(OptimizableContentPane p, Bounds sceneBounds) {
+        if (isAttachNodes()) {
+            return visible(p, sceneBounds);
+        } else {
+            return true;
+        }
+    }
+
     /**
      *
      * @return minimum scene area property
@@ -48,6 +48,9 @@ import javafx.scene.transform.Transform;
  * visible can still cause serious performance issues. In combination with 
  * {@link ScalableContentPane} a user interface can use multiple levels of
  * detail (LOD).
+ * <p>Panes that are registered with an {@link OptimizationCoordinator} do not
+ * evaluate their rule themselves. The coordinator evaluates the rules of all
+ * its panes once per pulse.</p>
  * @author Michael Hoffer &lt;info@michaelhoffer.de&gt;
  */
 public class OptimizableContentPane extends StackPane {
@@ -58,6 +61,8 @@ public class OptimizableContentPane extends StackPane {
     private boolean visibility = true;
     private boolean attached = true;
     private Collection<Node> detatched = new ArrayList<>();
+    private OptimizationCoordinator coordinator;
+    private final ChangeListener<Transform> transformListener;
 
     /**
      * Constructor.
@@ -65,18 +70,24 @@ public class OptimizableContentPane extends StackPane {
     public OptimizableContentPane() {
         this.optimizationRule = new DefaultOptimizationRule();
 
-        localToSceneTransformProperty().addListener(new ChangeListener<Transform>() {
+        transformListener = new ChangeListener<Transform>() {
             @Override
             public void changed(ObservableValue<? extends Transform> ov, Transform oldVal, Transform newVal) {
                 transform = newVal;
                 updateOptimizationRule();
             }
-        });
+        };
+
+        localToSceneTransformProperty().addListener(transformListener);
 
         boundsInLocalProperty().addListener(new ChangeListener<Bounds>() {
             @Override
             public void changed(ObservableValue<? extends Bounds> ov, Bounds t, Bounds t1) {
-                updateOptimizationRule();
+                if (coordinator != null) {
+                    coordinator.invalidate(OptimizableContentPane.this);
+                } else {
+                    updateOptimizationRule();
+                }
             }
         });
 
@@ -97,25 +108,39 @@ public class OptimizableContentPane extends StackPane {
             return;
         }
         
-        // TODO seems like its called multiple times at once!
+        // attaching/detaching the children changes the bounds of this pane,
+        // which calls this method again while we are still optimizing
         if (optimizing) {
             return;
         }
 
-        optimizing = true;
-
         if (transform == null) {
             transform = OptimizableContentPane.this.localToSceneTransformProperty().get();
         }
 
-        boolean visible = optimizationRule.visible(this, transform);
+        applyOptimization(
+                optimizationRule.visible(this, transform),
+                optimizationRule.attached(this, transform));
+    }
+
+    /**
+     * Applies the result of the optimization rule.
+     *
+     * @param visible defines whether the children shall be visible
+     * @param attachedReq defines whether the children shall be attached
+     */
+    void applyOptimization(boolean visible, boolean attachedReq) {
+
+        if (!visibility || optimizing) {
+            return;
+        }
+
+        optimizing = true;
 
         if (isVisible() != visible) {
             setVisible(visible);
         }
 
-        boolean attachedReq = optimizationRule.attached(this, transform);
-
         if (attached != attachedReq) {
             if (attachedReq) {
                 
@@ -131,6 +156,63 @@ public class OptimizableContentPane extends StackPane {
         optimizing = false;
     }
 
+    /**
+     * Hides this pane without changing the attachment of its children, e.g.,
+     * because it is outside of the visible area of the scene.
+     */
+    void cull() {
+        if (!visibility || optimizing) {
+            return;
+        }
+
+        optimizing = true;
+        setVisible(false);
+        optimizing = false;
+    }
+
+    /**
+     * Indicates whether the children of this pane are attached to the scene
+     * graph.
+     *
+     * @return <code>true</code> if the children are attached;
+     * <code>false</code> otherwise
+     */
+    public boolean isAttached() {
+        return attached;
+    }
+
+    /**
+     * Returns the coordinator this pane is registered with.
+     *
+     * @return the coordinator or <code>null</code> if this pane optimizes
+     * itself
+     */
+    public OptimizationCoordinator getCoordinator() {
+        return coordinator;
+    }
+
+    /**
+     * Defines the coordinator of this pane. Only called by the coordinator.
+     *
+     * @param coordinator coordinator to set, <code>null</code> to optimize
+     * this pane by itself
+     */
+    void setCoordinator(OptimizationCoordinator coordinator) {
+        if (this.coordinator == coordinator) {
+            return;
+        }
+
+        if (coordinator != null) {
+            localToSceneTransformProperty().removeListener(transformListener);
+            this.coordinator = coordinator;
+        } else {
+            this.coordinator = null;
+            transform = null;
+            localToSceneTransformProperty().addListener(transformListener);
+            updateOptimizationRule();
+        }
+    }
+
     /**
      * Returns the optimization rule of this pane.
      * @return the optimization rule
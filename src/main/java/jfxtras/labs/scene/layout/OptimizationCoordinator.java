@@ -0,0 +1,500 @@
+/**
+ * OptimizationCoordinator.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.layout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.transform.NonInvertibleTransformException;
+import javafx.scene.transform.Transform;
+import jfxtras.labs.util.SpatialIndex;
+
+/**
+ * Evaluates the optimization rules of many {@link OptimizableContentPane}s
+ * that share a common ancestor (the root of the coordinator).
+ *
+ * <p>Without a coordinator every pane listens to its own local-to-scene
+ * transform and evaluates its rule on every change, i.e., panning or zooming a
+ * workspace with <code>n</code> panes causes <code>n</code> listener calls and
+ * transformations per event. A coordinator instead listens to the transform of
+ * the root only and evaluates the rules once per pulse (after the layout pass).
+ * The bounds of the panes are kept in root coordinates in a
+ * {@link SpatialIndex}, which is only updated for panes that (or whose
+ * ancestors below the root) moved or changed their size. Transform changes
+ * of the root are applied in bulk by mapping these bounds to the scene.
+ * Optionally, panes outside of the visible area of the scene are culled, i.e.,
+ * hidden without evaluating their rule.</p>
+ *
+ * <p>The hierarchy between the root and a registered pane is expected to be
+ * stable. Panes that are moved to a different parent have to be registered
+ * again.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * OptimizationCoordinator coordinator = new OptimizationCoordinator(canvas);
+ * coordinator.register(optimizableContentPane);
+ * </pre>
+ */
+public class OptimizationCoordinator {
+
+    private final Parent root;
+    private final SpatialIndex<OptimizableContentPane> index;
+    private final Set<OptimizableContentPane> panes =
+            Collections.newSetFromMap(new IdentityHashMap<>());
+    // nodes between the panes and the root (excluding the panes), only a
+    // change of their transform moves the panes below them
+    private final Map<Node, List<OptimizableContentPane>> ancestors =
+            new IdentityHashMap<>();
+    private final Map<OptimizableContentPane, List<Node>> paths =
+            new IdentityHashMap<>();
+    private Set<OptimizableContentPane> dirtyPanes = new LinkedHashSet<>();
+    private final Set<OptimizableContentPane> inViewport =
+            Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean transformDirty = true;
+    private boolean evaluating;
+    private boolean culling = true;
+    private Scene scene;
+
+    private long pulseCount;
+    private long evaluationCount;
+    private long cullCount;
+
+    private final Runnable pulseListener = this::evaluate;
+    private final ChangeListener<Transform> ancestorListener;
+    private final ChangeListener<Bounds> paneBoundsListener;
+    private final InvalidationListener transformListener;
+
+    /**
+     * Constructor. Uses a cell size of 512 for the spatial index.
+     *
+     * @param root common ancestor of the panes to coordinate
+     */
+    public OptimizationCoordinator(Parent root) {
+        this(root, 512);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param root common ancestor of the panes to coordinate
+     * @param cellSize cell size of the spatial index (in root coordinates),
+     * should be in the order of the typical pane size
+     */
+    public OptimizationCoordinator(Parent root, double cellSize) {
+        this.root = root;
+        this.index = new SpatialIndex<>(cellSize);
+
+        // the bounds of an ancestor also change when a pane below it changes
+        // its size, which does not move the other panes
+        ancestorListener = new ChangeListener<Transform>() {
+            @Override
+            public void changed(ObservableValue<? extends Transform> ov, Transform oldValue, Transform newValue) {
+                Node n = (Node) ((ReadOnlyProperty<?>) ov).getBean();
+                List<OptimizableContentPane> descendants = ancestors.get(n);
+                if (descendants != null) {
+                    dirtyPanes.addAll(descendants);
+                    requestEvaluation();
+                }
+            }
+        };
+
+        paneBoundsListener = new ChangeListener<Bounds>() {
+            @Override
+            public void changed(ObservableValue<? extends Bounds> ov, Bounds oldValue, Bounds newValue) {
+                OptimizableContentPane p = (OptimizableContentPane) ((ReadOnlyProperty<?>) ov).getBean();
+                if (panes.contains(p)) {
+                    dirtyPanes.add(p);
+                    requestEvaluation();
+                }
+            }
+        };
+
+        transformListener = new InvalidationListener() {
+            @Override
+            public void invalidated(Observable o) {
+                transformDirty = true;
+                requestEvaluation();
+            }
+        };
+
+        root.localToSceneTransformProperty().addListener(transformListener);
+        root.sceneProperty().addListener(new ChangeListener<Scene>() {
+            @Override
+            public void changed(ObservableValue<? extends Scene> ov, Scene oldValue, Scene newValue) {
+                setScene(newValue);
+            }
+        });
+        setScene(root.getScene());
+    }
+
+    private void setScene(Scene s) {
+        if (scene != null) {
+            scene.removePostLayoutPulseListener(pulseListener);
+            scene.widthProperty().removeListener(transformListener);
+            scene.heightProperty().removeListener(transformListener);
+        }
+
+        scene = s;
+
+        if (scene != null) {
+            scene.addPostLayoutPulseListener(pulseListener);
+            scene.widthProperty().addListener(transformListener);
+            scene.heightProperty().addListener(transformListener);
+            transformDirty = true;
+            requestEvaluation();
+        }
+    }
+
+    /**
+     * Returns the root of this coordinator.
+     *
+     * @return the root of this coordinator
+     */
+    public Parent getRoot() {
+        return root;
+    }
+
+    /**
+     * Registers the specified pane. From now on its optimization rule is
+     * evaluated by this coordinator.
+     *
+     * @param p pane to register
+     * @throws IllegalArgumentException if the pane is not a descendant of the
+     * root of this coordinator
+     */
+    public void register(OptimizableContentPane p) {
+        if (panes.contains(p)) {
+            return;
+        }
+
+        List<Node> path = new ArrayList<>();
+        Node n = p;
+        while (n != root) {
+            if (n == null) {
+                throw new IllegalArgumentException(
+                        "Pane is not a descendant of the root of this coordinator: " + p);
+            }
+            path.add(n);
+            n = n.getParent();
+        }
+
+        if (p.getCoordinator() != null) {
+            p.getCoordinator().unregister(p);
+        }
+
+        panes.add(p);
+        paths.put(p, path);
+
+        p.boundsInParentProperty().addListener(paneBoundsListener);
+        for (Node pathNode : path.subList(1, path.size())) {
+            List<OptimizableContentPane> descendants = ancestors.get(pathNode);
+            if (descendants == null) {
+                descendants = new ArrayList<>(1);
+                ancestors.put(pathNode, descendants);
+                pathNode.localToParentTransformProperty().addListener(ancestorListener);
+            }
+            descendants.add(p);
+        }
+
+        p.setCoordinator(this);
+        dirtyPanes.add(p);
+        requestEvaluation();
+    }
+
+    /**
+     * Unregisters the specified pane. From now on it evaluates its
+     * optimization rule by itself.
+     *
+     * @param p pane to unregister
+     */
+    public void unregister(OptimizableContentPane p) {
+        if (!panes.remove(p)) {
+            return;
+        }
+
+        p.boundsInParentProperty().removeListener(paneBoundsListener);
+        List<Node> path = paths.remove(p);
+        for (Node pathNode : path.subList(1, path.size())) {
+            List<OptimizableContentPane> descendants = ancestors.get(pathNode);
+            descendants.remove(p);
+            if (descendants.isEmpty()) {
+                ancestors.remove(pathNode);
+                pathNode.localToParentTransformProperty().removeListener(ancestorListener);
+            }
+        }
+
+        index.remove(p);
+        dirtyPanes.remove(p);
+        inViewport.remove(p);
+
+        p.setCoordinator(null);
+    }
+
+    /**
+     * Marks the specified pane for evaluation in the next pulse.
+     *
+     * @param p pane to invalidate
+     */
+    void invalidate(OptimizableContentPane p) {
+        // changes caused by the evaluation itself are ignored
+        if (evaluating || !panes.contains(p)) {
+            return;
+        }
+        dirtyPanes.add(p);
+        requestEvaluation();
+    }
+
+    private void requestEvaluation() {
+        if (scene != null && !evaluating) {
+            Platform.requestNextPulse();
+        }
+    }
+
+    /**
+     * Evaluates the optimization rules of all panes that need an update.
+     * Called once per pulse after the layout pass.
+     */
+    private void evaluate() {
+        if (evaluating || (!transformDirty && dirtyPanes.isEmpty())) {
+            return;
+        }
+
+        evaluating = true;
+        pulseCount++;
+
+        // applying the optimization attaches and detaches content, which
+        // changes bounds and marks panes dirty again; these are collected in a
+        // fresh set and evaluated in the next pulse
+        Set<OptimizableContentPane> dirtyPanes = this.dirtyPanes;
+        this.dirtyPanes = new LinkedHashSet<>();
+        boolean transformDirty = this.transformDirty;
+        this.transformDirty = false;
+
+        try {
+            // update the bounds of the panes that moved or changed size
+            for (OptimizableContentPane p : dirtyPanes) {
+                index.put(p, boundsInRoot(p));
+            }
+
+            Transform rootToScene = root.getLocalToSceneTransform();
+            Bounds viewport = null;
+
+            if (isCulling() && scene != null) {
+                try {
+                    viewport = rootToScene.inverseTransform(
+                            new BoundingBox(0, 0, scene.getWidth(), scene.getHeight()));
+                } catch (NonInvertibleTransformException ex) {
+                    viewport = null;
+                }
+            }
+
+            if (viewport == null) {
+                inViewport.clear();
+                for (OptimizableContentPane p : transformDirty ? panes : dirtyPanes) {
+                    evaluate(p, rootToScene);
+                }
+            } else if (transformDirty) {
+                Set<OptimizableContentPane> visiblePanes = index.query(viewport,
+                        Collections.newSetFromMap(new IdentityHashMap<>()));
+                // panes that left the viewport and new or moved panes outside
+                // of it, all other panes outside are already culled
+                for (OptimizableContentPane p : inViewport) {
+                    if (!visiblePanes.contains(p)) {
+                        cull(p);
+                    }
+                }
+                for (OptimizableContentPane p : dirtyPanes) {
+                    if (!visiblePanes.contains(p)) {
+                        cull(p);
+                    }
+                }
+                inViewport.clear();
+                inViewport.addAll(visiblePanes);
+                for (OptimizableContentPane p : visiblePanes) {
+                    evaluate(p, rootToScene);
+                }
+            } else {
+                for (OptimizableContentPane p : dirtyPanes) {
+                    if (index.getBounds(p).intersects(viewport)) {
+                        inViewport.add(p);
+                        evaluate(p, rootToScene);
+                    } else {
+                        inViewport.remove(p);
+                        cull(p);
+                    }
+                }
+            }
+        } finally {
+            evaluating = false;
+        }
+
+        if (!this.dirtyPanes.isEmpty() || this.transformDirty) {
+            requestEvaluation();
+        }
+    }
+
+    private void evaluate(OptimizableContentPane p, Transform rootToScene) {
+        // a pane may be unregistered while the rules of others are applied
+        if (!panes.contains(p)) {
+            return;
+        }
+        Bounds sceneBounds = rootToScene.transform(index.getBounds(p));
+        OptimizationRule rule = p.getOptimizationRule();
+        p.applyOptimization(
+                rule.visible(p, sceneBounds),
+                rule.attached(p, sceneBounds));
+        evaluationCount++;
+    }
+
+    private void cull(OptimizableContentPane p) {
+        if (panes.contains(p) && p.isVisible()) {
+            p.cull();
+            cullCount++;
+        }
+    }
+
+    /**
+     * Computes the bounds of the specified pane in root coordinates.
+     */
+    private Bounds boundsInRoot(OptimizableContentPane p) {
+        Bounds bounds = p.getBoundsInParent();
+        List<Node> path = paths.get(p);
+        for (int i = 1; i < path.size(); i++) {
+            bounds = path.get(i).localToParent(bounds);
+        }
+        return bounds;
+    }
+
+    /**
+     * Defines whether panes outside of the visible area of the scene shall be
+     * hidden without evaluating their optimization rule.
+     *
+     * @param culling the state to set
+     */
+    public void setCulling(boolean culling) {
+        if (this.culling == culling) {
+            return;
+        }
+        this.culling = culling;
+        transformDirty = true;
+        // all panes need to be classified again
+        dirtyPanes.addAll(panes);
+        requestEvaluation();
+    }
+
+    /**
+     * Indicates whether panes outside of the visible area of the scene are
+     * hidden.
+     *
+     * @return <code>true</code> if panes are culled;
+     * <code>false</code> otherwise
+     */
+    public boolean isCulling() {
+        return culling;
+    }
+
+    /**
+     * Returns the number of registered panes.
+     *
+     * @return the number of registered panes
+     */
+    public int getPaneCount() {
+        return panes.size();
+    }
+
+    /**
+     * Returns the number of panes whose children are currently detached from
+     * the scene graph.
+     *
+     * @return the number of panes with detached children
+     */
+    public int getDetachedCount() {
+        int result = 0;
+        for (OptimizableContentPane p : panes) {
+            if (!p.isAttached()) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of panes that are currently culled because they are
+     * outside of the visible area of the scene.
+     *
+     * @return the number of culled panes
+     */
+    public int getCulledCount() {
+        return isCulling() ? panes.size() - inViewport.size() : 0;
+    }
+
+    /**
+     * Returns the total number of panes that have been culled so far.
+     *
+     * @return the total number of culled panes
+     */
+    public long getTotalCullCount() {
+        return cullCount;
+    }
+
+    /**
+     * Returns the total number of rule evaluations.
+     *
+     * @return the total number of rule evaluations
+     */
+    public long getEvaluationCount() {
+        return evaluationCount;
+    }
+
+    /**
+     * Returns the number of pulses in which rules have been evaluated.
+     *
+     * @return the number of pulses with evaluations
+     */
+    public long getPulseCount() {
+        return pulseCount;
+    }
+}
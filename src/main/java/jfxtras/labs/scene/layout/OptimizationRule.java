@@ -29,6 +29,7 @@
 
 package jfxtras.labs.scene.layout;
 
+import javafx.geometry.Bounds;
 import javafx.scene.transform.Transform;
 
 /**
@@ -57,4 +58,35 @@ public interface OptimizationRule {
      * attached to the scene graph; <code>false</code> otherwise
      */
     public boolean attached(OptimizableContentPane p, Transform t);
+
+    /**
+     * Indicates whether the children of the pane shall be visualized. This
+     * method is used by {@link OptimizationCoordinator} which already knows
+     * the bounds of the pane in scene coordinates. The default implementation
+     * delegates to {@link #visible(OptimizableContentPane, Transform)}.
+     *
+     * @param p pane
+     * @param sceneBounds bounds of the pane in scene coordinates
+     * @return <code>true</code> if the children shall be
+     * visible; <code>false</code> otherwise
+     */
+    public default boolean visible(OptimizableContentPane p, Bounds sceneBounds) {
+        return visible(p, p.getLocalToSceneTransform());
+    }
+
+    /**
+     * Indicates whether the children of the pane shall be attached to the
+     * scene graph. This method is used by {@link OptimizationCoordinator}
+     * which already knows the bounds of the pane in scene coordinates. The
+     * default implementation delegates to
+     * {@link #attached(OptimizableContentPane, Transform)}.
+     *
+     * @param p pane
+     * @param sceneBounds bounds of the pane in scene coordinates
+     * @return <code>true</code> if the children shall be
+     * attached to the scene graph; <code>false</code> otherwise
+     */
+    public default boolean attached(OptimizableContentPane p, Bounds sceneBounds) {
+        return attached(p, p.getLocalToSceneTransform());
+    }
 }
@@ -30,14 +30,20 @@
 package jfxtras.labs.scene.layout;
 
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javafx.application.Platform;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.Property;
+import javafx.beans.property.ReadOnlyProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.ListChangeListener;
 import javafx.geometry.Bounds;
+import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.layout.Pane;
 import javafx.scene.transform.Scale;
@@ -46,6 +52,11 @@ import javafx.scene.transform.Scale;
  * Scales content to always fit in the bounds of this pane. Useful for workflows
  * with lots of windows.
  *
+ * <p>Changes of the content only request a rescale, all requests of one pulse are
+ * handled by a single computation in {@link #layoutChildren()}. For a plain
+ * {@link Pane} as content pane the content bounds are maintained incrementally
+ * per changed child instead of being recomputed from all children.</p>
+ *
  * @author Michael Hoffer &lt;info@michaelhoffer.de&gt;
  */
 public class ScalableContentPane extends Pane {
@@ -62,6 +73,16 @@ public class ScalableContentPane extends Pane {
     private DoubleProperty maxScaleXProperty = new SimpleDoubleProperty(Double.MAX_VALUE);
     private DoubleProperty minScaleYProperty = new SimpleDoubleProperty(Double.MIN_VALUE);
     private DoubleProperty maxScaleYProperty = new SimpleDoubleProperty(Double.MAX_VALUE);
+    private boolean rescalePending;
+    private long rescaleCount;
+    private long savedRescaleCount;
+    // extents (minX, minY, maxX, maxY) of the managed children of the content pane
+    private final Map<Node, double[]> childExtents = new IdentityHashMap<>();
+    private boolean contentBoundsValid;
+    private double contentMinX;
+    private double contentMinY;
+    private double contentMaxX;
+    private double contentMaxY;
 
     static {
         // JDK7 fix:
@@ -76,15 +97,6 @@ public class ScalableContentPane extends Pane {
 
         setPrefWidth(USE_PREF_SIZE);
         setPrefHeight(USE_PREF_SIZE);
-
-        needsLayoutProperty().addListener(new ChangeListener<Boolean>() {
-            @Override
-            public void changed(ObservableValue<? extends Boolean> ov, Boolean t, Boolean t1) {
-                if (t1) {
-                    computeScale();
-                }
-            }
-        });
     }
 
     /**
@@ -100,8 +112,17 @@ public class ScalableContentPane extends Pane {
      * @param contentPane pane to define
      */
     public final void setContentPane(Pane contentPane) {
+        Pane oldContentPane = getContentPane();
+        if (oldContentPane != null) {
+            removeContentPaneListener(oldContentPane);
+            oldContentPane.getTransforms().remove(getContentScaleTransform());
+            getChildren().remove(oldContentPane);
+        }
+
         contentPaneProperty.setValue(contentPane);
         contentPane.setManaged(false);
+        childExtents.clear();
+        contentBoundsValid = false;
         initContentPaneListener();
 //        contentPane.setStyle("-fx-border-color: rgb(0,0,0);");
 
@@ -139,15 +160,34 @@ public class ScalableContentPane extends Pane {
 
         super.layoutChildren();
 
+        rescalePending = false;
+        computeScale();
+    }
 
+    /**
+     * Requests a rescale of the content in the next layout pass. Requests that
+     * arrive before that pass are coalesced. Without a scene no layout pass
+     * follows, so requests are only coalesced while one is pending.
+     */
+    private void requestRescale() {
+        if (rescalePending && getScene() != null && isNeedsLayout()) {
+            savedRescaleCount++;
+            return;
+        }
+        rescalePending = true;
+        getContentPane().requestLayout();
+        requestLayout();
+        if (getScene() != null) {
+            Platform.requestNextPulse();
+        }
     }
 
     private void computeScale() {
-        double realWidth =
-                getContentPane().prefWidth(getHeight());
+        rescaleCount++;
+
+        double realWidth = computeContentPrefWidth();
 
-        double realHeigh =
-                getContentPane().prefHeight(getWidth());
+        double realHeigh = computeContentPrefHeight();
 
         if (applyJDK7Fix) {
 //            realWidth += 0.01;
@@ -195,6 +235,131 @@ public class ScalableContentPane extends Pane {
         computeScale();
     }
 
+    /**
+     * Returns the number of scale computations performed so far.
+     *
+     * @return the number of scale computations
+     */
+    public long getRescaleCount() {
+        return rescaleCount;
+    }
+
+    /**
+     * Returns the number of rescale requests that have been coalesced with an
+     * already pending request, i.e., the number of saved scale computations.
+     *
+     * @return the number of saved scale computations
+     */
+    public long getSavedRescaleCount() {
+        return savedRescaleCount;
+    }
+
+    /**
+     * Computes the preferred width of the content pane. For a plain pane this
+     * gives the same result as {@link Pane#prefWidth(double)} but uses the
+     * incrementally maintained content bounds.
+     */
+    private double computeContentPrefWidth() {
+        Pane contentPane = getContentPane();
+        if (!isIncrementalContentBounds()) {
+            return contentPane.prefWidth(getHeight());
+        }
+        validateContentBounds();
+        Insets insets = contentPane.getInsets();
+        return insets.getLeft() + contentMaxX - contentMinX + insets.getRight();
+    }
+
+    private double computeContentPrefHeight() {
+        Pane contentPane = getContentPane();
+        if (!isIncrementalContentBounds()) {
+            return contentPane.prefHeight(getWidth());
+        }
+        validateContentBounds();
+        Insets insets = contentPane.getInsets();
+        return insets.getTop() + contentMaxY - contentMinY + insets.getBottom();
+    }
+
+    private boolean isIncrementalContentBounds() {
+        Pane contentPane = getContentPane();
+        return contentPane.getClass() == Pane.class
+                && contentPane.getPrefWidth() == USE_COMPUTED_SIZE
+                && contentPane.getPrefHeight() == USE_COMPUTED_SIZE;
+    }
+
+    /**
+     * Recomputes the content bounds from all children if they have been
+     * invalidated by a child that shrank or left the bounds.
+     */
+    private void validateContentBounds() {
+        if (contentBoundsValid) {
+            return;
+        }
+        // like Parent.computePrefWidth() the bounds always contain the origin
+        contentMinX = 0;
+        contentMinY = 0;
+        contentMaxX = 0;
+        contentMaxY = 0;
+        childExtents.clear();
+        for (Node n : getContentPane().getChildren()) {
+            if (n.isManaged()) {
+                double[] extent = computeExtent(n);
+                childExtents.put(n, extent);
+                expandContentBounds(extent);
+            }
+        }
+        contentBoundsValid = true;
+    }
+
+    /**
+     * Updates the content bounds after the specified child has changed. This is
+     * a union update unless the child was part of the border of the bounds and
+     * moved inwards, in which case the bounds are recomputed lazily.
+     */
+    private void updateContentBounds(Node n, boolean removed) {
+        if (!contentBoundsValid) {
+            return;
+        }
+
+        double[] oldExtent = childExtents.get(n);
+        double[] extent = !removed && n.isManaged() ? computeExtent(n) : null;
+
+        if (oldExtent != null
+                && ((contentMinX < 0 && oldExtent[0] <= contentMinX && (extent == null || extent[0] > contentMinX))
+                || (contentMinY < 0 && oldExtent[1] <= contentMinY && (extent == null || extent[1] > contentMinY))
+                || (oldExtent[2] >= contentMaxX && (extent == null || extent[2] < contentMaxX))
+                || (oldExtent[3] >= contentMaxY && (extent == null || extent[3] < contentMaxY)))) {
+            contentBoundsValid = false;
+            return;
+        }
+
+        if (extent == null) {
+            childExtents.remove(n);
+        } else {
+            childExtents.put(n, extent);
+            expandContentBounds(extent);
+        }
+    }
+
+    private void expandContentBounds(double[] extent) {
+        contentMinX = Math.min(contentMinX, extent[0]);
+        contentMinY = Math.min(contentMinY, extent[1]);
+        contentMaxX = Math.max(contentMaxX, extent[2]);
+        contentMaxY = Math.max(contentMaxY, extent[3]);
+    }
+
+    private static double[] computeExtent(Node n) {
+        Bounds layoutBounds = n.getLayoutBounds();
+        double x = layoutBounds.getMinX() + n.getLayoutX();
+        double y = layoutBounds.getMinY() + n.getLayoutY();
+        double w = boundedSize(n.prefWidth(-1), n.minWidth(-1), n.maxWidth(-1));
+        double h = boundedSize(n.prefHeight(-1), n.minHeight(-1), n.maxHeight(-1));
+        return new double[]{x, y, x + w, y + h};
+    }
+
+    private static double boundedSize(double value, double min, double max) {
+        return Math.min(Math.max(value, min), Math.max(min, max));
+    }
+
     @Override
     protected double computeMinWidth(double d) {
 
@@ -227,61 +392,86 @@ public class ScalableContentPane extends Pane {
         return result;
     }
 
-    private void initContentPaneListener() {
-
-        final ChangeListener<Bounds> boundsListener = new ChangeListener<Bounds>() {
-            @Override
-            public void changed(ObservableValue<? extends Bounds> ov, Bounds t, Bounds t1) {
-                if (isAutoRescale()) {
-                    setNeedsLayout(false);
-                    getContentPane().requestLayout();
-                    requestLayout();
-
-                }
-            }
-        };
-
-        final ChangeListener<Number> numberListener = new ChangeListener<Number>() {
-            @Override
-            public void changed(ObservableValue<? extends Number> ov, Number t, Number t1) {
-                if (isAutoRescale()) {
-                    setNeedsLayout(false);
-                    getContentPane().requestLayout();
-                    requestLayout();
+    private final ChangeListener<Bounds> boundsListener = new ChangeListener<Bounds>() {
+        @Override
+        public void changed(ObservableValue<? extends Bounds> ov, Bounds t, Bounds t1) {
+            childChanged(ov);
+        }
+    };
 
-                }
-            }
-        };
+    private final ChangeListener<Object> layoutListener = new ChangeListener<Object>() {
+        @Override
+        public void changed(ObservableValue<? extends Object> ov, Object t, Object t1) {
+            childChanged(ov);
+        }
+    };
 
-        getContentPane().getChildren().addListener(new ListChangeListener<Node>() {
-            @Override
-            public void onChanged(ListChangeListener.Change<? extends Node> c) {
+    private final ListChangeListener<Node> childrenListener = new ListChangeListener<Node>() {
+        @Override
+        public void onChanged(ListChangeListener.Change<? extends Node> c) {
 
-                while (c.next()) {
-                    if (c.wasPermutated()) {
-                        for (int i = c.getFrom(); i < c.getTo(); ++i) {
-                            //permutate
+            while (c.next()) {
+                if (c.wasPermutated()) {
+                    for (int i = c.getFrom(); i < c.getTo(); ++i) {
+                        //permutate
+                    }
+                } else if (c.wasUpdated()) {
+                    //update item
+                } else {
+                    if (c.wasRemoved()) {
+                        for (Node n : c.getRemoved()) {
+                            removeChildListener(n);
+                            updateContentBounds(n, true);
                         }
-                    } else if (c.wasUpdated()) {
-                        //update item
-                    } else {
-                        if (c.wasRemoved()) {
-                            for (Node n : c.getRemoved()) {
-                                n.boundsInLocalProperty().removeListener(boundsListener);
-                                n.layoutXProperty().removeListener(numberListener);
-                                n.layoutYProperty().removeListener(numberListener);
-                            }
-                        } else if (c.wasAdded()) {
-                            for (Node n : c.getAddedSubList()) {
-                                n.boundsInLocalProperty().addListener(boundsListener);
-                                n.layoutXProperty().addListener(numberListener);
-                                n.layoutYProperty().addListener(numberListener);
-                            }
+                    }
+                    if (c.wasAdded()) {
+                        for (Node n : c.getAddedSubList()) {
+                            addChildListener(n);
+                            updateContentBounds(n, false);
                         }
                     }
                 }
             }
-        });
+            if (isAutoRescale()) {
+                requestRescale();
+            }
+        }
+    };
+
+    private void initContentPaneListener() {
+        getContentPane().getChildren().addListener(childrenListener);
+        for (Node n : getContentPane().getChildren()) {
+            addChildListener(n);
+        }
+    }
+
+    private void removeContentPaneListener(Pane contentPane) {
+        contentPane.getChildren().removeListener(childrenListener);
+        for (Node n : contentPane.getChildren()) {
+            removeChildListener(n);
+        }
+    }
+
+    private void addChildListener(Node n) {
+        n.boundsInLocalProperty().addListener(boundsListener);
+        n.layoutXProperty().addListener(layoutListener);
+        n.layoutYProperty().addListener(layoutListener);
+        n.managedProperty().addListener(layoutListener);
+    }
+
+    private void removeChildListener(Node n) {
+        n.boundsInLocalProperty().removeListener(boundsListener);
+        n.layoutXProperty().removeListener(layoutListener);
+        n.layoutYProperty().removeListener(layoutListener);
+        n.managedProperty().removeListener(layoutListener);
+    }
+
+    private void childChanged(ObservableValue<?> ov) {
+        Node n = (Node) ((ReadOnlyProperty<?>) ov).getBean();
+        updateContentBounds(n, false);
+        if (isAutoRescale()) {
+            requestRescale();
+        }
     }
 
     /**
@@ -0,0 +1,178 @@
+/**
+ * BidirectionalBinderRegistry.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.Property;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.DoubleFunction;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Keeps track of groups of binders, typically all binders of one form, so they can be created and removed in one go.
+ * <ul>
+ *     <li>bindGroup: creates all binders of a group; if one of them fails, the ones already created are unbound again</li>
+ *     <li>unbindGroup: unbinds all binders of a group</li>
+ *     <li>sweep: forgets all binders of which a property was garbage collected</li>
+ * </ul>
+ * This is the "parallel static structure" HeterogeneousBidirectionalBinder.equals talks about, except that it is not static
+ * and holds the binders themselves, so it never has to look a binder up by its properties.
+ */
+public class BidirectionalBinderRegistry {
+
+    private final Map<Object, Group> groups = new LinkedHashMap<>();
+
+    /**
+     * Runs the definition, which creates its binders through the group it is given.
+     * Either all of them are bound and registered under the key, or none is: if the definition throws,
+     * the binders it created so far are unbound and the exception is passed on.
+     * A group that is already registered under the key is unbound first.
+     */
+    public synchronized Group bindGroup(Object key, Consumer<Group> definition) {
+        unbindGroup(key);
+        Group group = new Group();
+        try {
+            definition.accept(group);
+        } catch (RuntimeException e) {
+            group.unbind();
+            throw e;
+        }
+        groups.put(key, group);
+        return group;
+    }
+
+    /**
+     * @return the number of binders that were unbound
+     */
+    public synchronized int unbindGroup(Object key) {
+        Group group = groups.remove(key);
+        if (group == null)
+            return 0;
+        int size = group.size();
+        group.unbind();
+        return size;
+    }
+
+    public synchronized Group getGroup(Object key) {
+        return groups.get(key);
+    }
+
+    public synchronized void unbindAll() {
+        for (Group group : groups.values())
+            group.unbind();
+        groups.clear();
+    }
+
+    /**
+     * removes all binders of which a property was garbage collected, and the groups that end up empty
+     * @return the number of binders removed
+     */
+    public synchronized int sweep() {
+        int removed = 0;
+        for (Iterator<Group> iterator = groups.values().iterator(); iterator.hasNext(); ) {
+            Group group = iterator.next();
+            removed += group.sweep();
+            if (group.size() == 0)
+                iterator.remove();
+        }
+        return removed;
+    }
+
+    /**
+     * @return the number of registered binders whose properties are both still around
+     */
+    public synchronized int getActiveCount() {
+        int count = 0;
+        for (Group group : groups.values())
+            for (BidirectionalBinder binder : group.binders)
+                if (!binder.wasGarbageCollected())
+                    count++;
+        return count;
+    }
+
+    public synchronized int getGroupCount() {
+        return groups.size();
+    }
+
+    /**
+     * The binders of one group. Binders created through the group's bind methods are added to it.
+     */
+    public static class Group {
+
+        private final List<BidirectionalBinder> binders = new ArrayList<>();
+
+        public <A,B> HeterogeneousBidirectionalBinder<A,B> bind(Property<A> property1, Property<B> property2,
+                                                               Function<A, B> transformer1To2, Function<B, A> transformer2To1) {
+            return add(new HeterogeneousBidirectionalBinder<>(property1, property2, transformer1To2, transformer2To1));
+        }
+
+        public <B> HeterogeneousDoubleBidirectionalBinder<B> bindDouble(DoubleProperty property1, Property<B> property2,
+                                                                       DoubleFunction<B> transformer1To2, ToDoubleFunction<B> transformer2To1) {
+            return add(new HeterogeneousDoubleBidirectionalBinder<>(property1, property2, transformer1To2, transformer2To1));
+        }
+
+        /**
+         * adds a binder that was created elsewhere
+         */
+        public <T extends BidirectionalBinder> T add(T binder) {
+            binders.add(binder);
+            return binder;
+        }
+
+        public int size() {
+            return binders.size();
+        }
+
+        private void unbind() {
+            for (BidirectionalBinder binder : binders)
+                binder.unbind();
+            binders.clear();
+        }
+
+        private int sweep() {
+            int size = binders.size();
+            //the listeners of collected binders are removed by the surviving property the next time it changes, or here
+            binders.removeIf(binder -> {
+                if (!binder.wasGarbageCollected())
+                    return false;
+                binder.unbind();
+                return true;
+            });
+            return size - binders.size();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * BigDecimalFormatter.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parses and formats {@link BigDecimal}s according to a {@link NumberFormat} without going through double.
+ * <p>
+ * For a {@link DecimalFormat} the digits are parsed into a BigDecimal directly (see
+ * {@link DecimalFormat#setParseBigDecimal(boolean)}), so no precision is lost, however many digits the input has.
+ * Other NumberFormats are parsed as before and converted via their String representation.
+ * <p>
+ * NumberFormat itself is not thread-safe. A BigDecimalFormatter is: every thread works on its own copy of the format,
+ * so one instance can be shared by any number of controls. Instances are cached, use the getInstance methods.
+ */
+public final class BigDecimalFormatter {
+
+    private static final int MAX_CACHE_SIZE = 64;
+
+    /**
+     * DecimalFormat implements equals and hashCode on everything that affects parsing and formatting,
+     * so a copy of the format is the key.
+     */
+    private static final Map<NumberFormat, BigDecimalFormatter> CACHE = createCache();
+
+    /**
+     * The formatters of the locale shortcuts, keyed on locale and pattern, so these do not create and compare a format.
+     */
+    private static final Map<List<Object>, BigDecimalFormatter> LOCALE_CACHE = createCache();
+
+    private static <K> Map<K, BigDecimalFormatter> createCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<K, BigDecimalFormatter>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, BigDecimalFormatter> eldest) {
+                return size() > MAX_CACHE_SIZE;
+            }
+        });
+    }
+
+    private final NumberFormat prototype;
+    private final ThreadLocal<NumberFormat> format;
+
+    private BigDecimalFormatter(NumberFormat prototype) {
+        this.prototype = prototype;
+        this.format = ThreadLocal.withInitial(() -> {
+            NumberFormat copy = (NumberFormat) prototype.clone();
+            if (copy instanceof DecimalFormat) {
+                ((DecimalFormat) copy).setParseBigDecimal(true);
+            }
+            return copy;
+        });
+    }
+
+    /**
+     * @return the formatter for the default number format of the locale
+     */
+    public static BigDecimalFormatter getInstance(Locale locale) {
+        return getInstance(locale, null);
+    }
+
+    /**
+     * @param pattern a {@link DecimalFormat} pattern, or null for the default pattern of the locale
+     * @return the formatter for the pattern with the symbols of the locale
+     */
+    public static BigDecimalFormatter getInstance(Locale locale, String pattern) {
+        List<Object> key = Arrays.asList(locale, pattern);
+        BigDecimalFormatter formatter = LOCALE_CACHE.get(key);
+        if (formatter == null) {
+            NumberFormat format = NumberFormat.getNumberInstance(locale);
+            if (pattern != null && format instanceof DecimalFormat) {
+                ((DecimalFormat) format).applyPattern(pattern);
+            }
+            formatter = getInstance(format);
+            LOCALE_CACHE.put(key, formatter);
+        }
+        return formatter;
+    }
+
+    /**
+     * @param numberFormat the format, it is copied so changing it afterwards does not affect the returned formatter
+     * @return the formatter that parses and formats like numberFormat
+     */
+    public static BigDecimalFormatter getInstance(NumberFormat numberFormat) {
+        BigDecimalFormatter formatter = CACHE.get(numberFormat);
+        if (formatter == null) {
+            NumberFormat copy = (NumberFormat) numberFormat.clone();
+            formatter = new BigDecimalFormatter(copy);
+            CACHE.put(copy, formatter);
+        }
+        return formatter;
+    }
+
+    /**
+     * @return true if this formatter parses and formats exactly like numberFormat in its current state
+     */
+    public boolean isFormatOf(NumberFormat numberFormat) {
+        return prototype.equals(numberFormat);
+    }
+
+    /**
+     * Parses text from the beginning, like {@link NumberFormat#parse(String)} the text may contain trailing characters.
+     *
+     * @throws ParseException if the beginning of text cannot be parsed
+     */
+    public BigDecimal parse(CharSequence text) throws ParseException {
+        String string = text.toString();
+        ParsePosition position = new ParsePosition(0);
+        Number number = format.get().parse(string, position);
+        if (position.getIndex() == 0) {
+            throw new ParseException("Unparseable number: \"" + string + "\"", position.getErrorIndex());
+        }
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        // infinity and NaN are returned as Double even in BigDecimal mode
+        if (number instanceof Double && (((Double) number).isNaN() || ((Double) number).isInfinite())) {
+            throw new ParseException("Not a finite number: \"" + string + "\"", 0);
+        }
+        return new BigDecimal(number.toString());
+    }
+
+    public String format(BigDecimal value) {
+        return format.get().format(value);
+    }
+}
@@ -0,0 +1,253 @@
+/**
+ * ChildSpatialIndex.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.collections.ListChangeListener;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+/**
+ * Spatial index of the children of a container.
+ *
+ * The index keeps the bounds in parent of the children of the container in a
+ * {@link SpatialIndex}. Children that are added, removed or whose bounds
+ * change are only marked dirty and the index is brought up to date lazily by
+ * the next query. This makes point and rectangle queries cost
+ * <code>O(k)</code> for <code>k</code> nearby children instead of iterating
+ * over all children, which matters for containers with thousands of
+ * children, e.g., a canvas with many windows.
+ *
+ * An index is installed on a container via {@link #install(Parent)} and is
+ * used by {@link NodeUtil#getNode(javafx.scene.Parent, double, double, java.lang.Class)}
+ * and the rectangle selection of
+ * {@link jfxtras.labs.util.event.MouseControlUtil} when present.
+ *
+ * This class is not thread-safe.
+ */
+public final class ChildSpatialIndex {
+
+    private static final Object PROPERTY_KEY = ChildSpatialIndex.class;
+
+    private final Parent container;
+    private final SpatialIndex<Node> index;
+    private final Set<Node> dirtyNodes =
+            Collections.newSetFromMap(new IdentityHashMap<>());
+    // z-order of the children, rebuilt lazily after the children changed
+    private final Map<Node, Integer> order = new IdentityHashMap<>();
+    private boolean orderDirty = true;
+
+    private final InvalidationListener boundsListener;
+    private final ListChangeListener<Node> childrenListener;
+
+    private ChildSpatialIndex(Parent container, double cellSize) {
+        this.container = container;
+        this.index = new SpatialIndex<>(cellSize);
+
+        boundsListener = new InvalidationListener() {
+            @Override
+            public void invalidated(Observable o) {
+                dirtyNodes.add((Node) ((ReadOnlyProperty<?>) o).getBean());
+            }
+        };
+
+        childrenListener = new ListChangeListener<Node>() {
+            @Override
+            public void onChanged(Change<? extends Node> c) {
+                orderDirty = true;
+                while (c.next()) {
+                    if (c.wasPermutated()) {
+                        continue;
+                    }
+                    for (Node n : c.getRemoved()) {
+                        n.boundsInParentProperty().removeListener(boundsListener);
+                        dirtyNodes.remove(n);
+                        index.remove(n);
+                    }
+                    for (Node n : c.getAddedSubList()) {
+                        n.boundsInParentProperty().addListener(boundsListener);
+                        dirtyNodes.add(n);
+                    }
+                }
+            }
+        };
+
+        for (Node n : container.getChildrenUnmodifiable()) {
+            n.boundsInParentProperty().addListener(boundsListener);
+            dirtyNodes.add(n);
+        }
+        container.getChildrenUnmodifiable().addListener(childrenListener);
+    }
+
+    /**
+     * Installs a spatial index with a cell size of 256 on the specified
+     * container. Does nothing if the container is already indexed.
+     *
+     * @param container container whose children shall be indexed
+     * @return the index of the container
+     */
+    public static ChildSpatialIndex install(Parent container) {
+        return install(container, 256);
+    }
+
+    /**
+     * Installs a spatial index on the specified container. Does nothing if
+     * the container is already indexed.
+     *
+     * @param container container whose children shall be indexed
+     * @param cellSize cell size of the spatial index (in container
+     * coordinates), should be in the order of the typical child size
+     * @return the index of the container
+     */
+    public static ChildSpatialIndex install(Parent container, double cellSize) {
+        ChildSpatialIndex result = get(container);
+        if (result == null) {
+            result = new ChildSpatialIndex(container, cellSize);
+            container.getProperties().put(PROPERTY_KEY, result);
+        }
+        return result;
+    }
+
+    /**
+     * Removes the spatial index from the specified container.
+     *
+     * @param container indexed container
+     */
+    public static void uninstall(Parent container) {
+        ChildSpatialIndex result = get(container);
+        if (result != null) {
+            container.getProperties().remove(PROPERTY_KEY);
+            result.dispose();
+        }
+    }
+
+    /**
+     * Returns the spatial index of the specified container.
+     *
+     * @param container container
+     * @return the index of the container or <code>null</code> if the
+     * container is not indexed
+     */
+    public static ChildSpatialIndex get(Parent container) {
+        Object result = container.getProperties().get(PROPERTY_KEY);
+        return result instanceof ChildSpatialIndex ? (ChildSpatialIndex) result : null;
+    }
+
+    /**
+     * Returns the indexed container.
+     *
+     * @return the indexed container
+     */
+    public Parent getContainer() {
+        return container;
+    }
+
+    /**
+     * Returns the children whose bounds in parent intersect the specified
+     * area (in container coordinates), topmost child first.
+     *
+     * @param area area to query
+     * @return the children that intersect the area
+     */
+    public List<Node> query(Bounds area) {
+        update();
+        return sortByZOrder(index.query(area, new ArrayList<>()));
+    }
+
+    /**
+     * Returns the children whose bounds in parent contain the specified point
+     * (in container coordinates), topmost child first.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @return the children that contain the point
+     */
+    public List<Node> query(double x, double y) {
+        update();
+        return sortByZOrder(index.query(x, y, new ArrayList<>()));
+    }
+
+    /**
+     * Returns the number of indexed children.
+     *
+     * @return the number of indexed children
+     */
+    public int size() {
+        update();
+        return index.size();
+    }
+
+    private void update() {
+        if (dirtyNodes.isEmpty()) {
+            return;
+        }
+        for (Node n : dirtyNodes) {
+            // reading the bounds validates them, i.e., the listener fires again
+            index.put(n, n.getBoundsInParent());
+        }
+        dirtyNodes.clear();
+    }
+
+    private List<Node> sortByZOrder(List<Node> nodes) {
+        if (nodes.size() < 2) {
+            return nodes;
+        }
+        if (orderDirty) {
+            order.clear();
+            List<Node> children = container.getChildrenUnmodifiable();
+            for (int i = 0; i < children.size(); i++) {
+                order.put(children.get(i), i);
+            }
+            orderDirty = false;
+        }
+        nodes.sort((a, b) -> Integer.compare(order.get(b), order.get(a)));
+        return nodes;
+    }
+
+    private void dispose() {
+        container.getChildrenUnmodifiable().removeListener(childrenListener);
+        for (Node n : container.getChildrenUnmodifiable()) {
+            n.boundsInParentProperty().removeListener(boundsListener);
+        }
+        index.clear();
+        dirtyNodes.clear();
+        order.clear();
+    }
+}
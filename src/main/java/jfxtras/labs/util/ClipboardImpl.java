@@ -0,0 +1,198 @@
+/**
+ * ClipboardImpl.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+import jfxtras.labs.scene.control.window.Clipboard;
+import jfxtras.labs.scene.control.window.SelectableNode;
+
+/**
+ * Default clipboard implementation.
+ *
+ * The selection is kept in a linked hash set, i.e., selecting and unselecting
+ * a node costs <code>O(1)</code> apart from computing the index that is
+ * reported to list listeners. Bulk operations fire a single change.
+ * 
+ * @author Michael Hoffer &lt;info@michaelhoffer.de&gt;
+ */
+class ClipboardImpl implements Clipboard {
+
+    private final SelectionList items = new SelectionList();
+
+    @Override
+    public boolean select(SelectableNode n, boolean selected) {
+        if (n.requestSelection(selected)) {
+            if (selected) {
+                items.add(Collections.singletonList(n));
+            } else {
+                items.remove(Collections.singleton(n));
+            }
+
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public ObservableList<SelectableNode> getSelectedItems() {
+        return items;
+    }
+
+    @Override
+    public void unselectAll() {
+        unselectAll(items.toArrayList());
+    }
+
+    @Override
+    public int selectAll(Collection<? extends SelectableNode> nodes) {
+        List<SelectableNode> accepted = new ArrayList<>();
+
+        for (SelectableNode n : nodes) {
+            if (n.requestSelection(true)) {
+                accepted.add(n);
+            }
+        }
+
+        items.add(accepted);
+
+        return accepted.size();
+    }
+
+    @Override
+    public void unselectAll(Collection<? extends SelectableNode> nodes) {
+        Set<SelectableNode> accepted = new HashSet<>();
+
+        for (SelectableNode n : nodes) {
+            if (n.requestSelection(false)) {
+                accepted.add(n);
+            }
+        }
+
+        items.remove(accepted);
+    }
+
+    /**
+     * Observable, unmodifiable view of the selection. Index based access
+     * uses an array snapshot that is rebuilt lazily after removals.
+     */
+    private static class SelectionList extends ObservableListBase<SelectableNode> {
+
+        private final Set<SelectableNode> selection = new LinkedHashSet<>();
+        private List<SelectableNode> snapshot = new ArrayList<>();
+
+        @Override
+        public SelectableNode get(int index) {
+            return snapshot().get(index);
+        }
+
+        @Override
+        public int size() {
+            return selection.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return selection.contains(o);
+        }
+
+        private boolean containsAny(Set<? extends SelectableNode> nodes) {
+            for (SelectableNode n : nodes) {
+                if (selection.contains(n)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        List<SelectableNode> toArrayList() {
+            return new ArrayList<>(selection);
+        }
+
+        private List<SelectableNode> snapshot() {
+            if (snapshot == null) {
+                snapshot = new ArrayList<>(selection);
+            }
+            return snapshot;
+        }
+
+        /**
+         * Appends the nodes that are not selected yet, fires one change.
+         */
+        void add(List<? extends SelectableNode> nodes) {
+            int from = selection.size();
+
+            for (SelectableNode n : nodes) {
+                if (selection.add(n) && snapshot != null) {
+                    snapshot.add(n);
+                }
+            }
+
+            if (selection.size() > from) {
+                beginChange();
+                nextAdd(from, selection.size());
+                endChange();
+            }
+        }
+
+        /**
+         * Removes the specified nodes, fires one change.
+         */
+        void remove(Set<? extends SelectableNode> nodes) {
+            if (!containsAny(nodes)) {
+                return;
+            }
+
+            beginChange();
+            int index = 0;
+            for (Iterator<SelectableNode> it = selection.iterator(); it.hasNext();) {
+                SelectableNode n = it.next();
+                if (nodes.contains(n)) {
+                    it.remove();
+                    nextRemove(index, n);
+                } else {
+                    index++;
+                }
+            }
+            snapshot = null;
+            endChange();
+        }
+    }
+}
@@ -29,7 +29,6 @@
 
 package jfxtras.labs.util;
 
-import javafx.beans.WeakListener;
 import javafx.beans.property.Property;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
@@ -52,7 +51,7 @@ import java.util.function.Function;
  *
  * Created by carrknight on 4/26/14.
  */
-public class HeterogeneousBidirectionalBinder<A,B> implements ChangeListener<Object>, WeakListener {
+public class HeterogeneousBidirectionalBinder<A,B> implements ChangeListener<Object>, BidirectionalBinder {
 
     //the use of WeakReferences here is just to mimic BidirectionalBindings
     private final WeakReference<Property<A>> propertyRef1;
@@ -127,10 +126,10 @@ public class HeterogeneousBidirectionalBinder<A,B> implements ChangeListener<Obj
             } else {
                 try {
                     updating = true; //set updating to true to avoid infinite recursion
-                    updateProperty(sourceProperty, newValue);
+                    updateProperty(property1, property2, sourceProperty, newValue);
                 } catch (RuntimeException e) {
                     //if we fail, grab the old value, cast it, transform it and apply it.
-                    updateProperty(sourceProperty,oldValue);
+                    updateProperty(property1, property2, sourceProperty, oldValue);
                     //but in the end just throw a new runtime exception here.
                     throw new RuntimeException(
                             "BidirectionalBinder failed, setting to the previous value", e);
@@ -145,14 +144,15 @@ public class HeterogeneousBidirectionalBinder<A,B> implements ChangeListener<Obj
      *     a simple helper to update the right property. Called by the change listener method
      */
     @SuppressWarnings("unchecked")
-    private void updateProperty(ObservableValue sourceProperty, Object value) {
-        if (getProperty1() == sourceProperty) {
+    private void updateProperty(Property<A> property1, Property<B> property2, ObservableValue sourceProperty, Object value) {
+        //the properties were dereferenced once by the caller already
+        if (property1 == sourceProperty) {
             //grab the value, cast it, transform it and apply it!
             A newTypedValue = (A) value;
-            getProperty2().setValue(transformer1To2.apply(newTypedValue));
+            property2.setValue(transformer1To2.apply(newTypedValue));
         } else {
             B newTypedValue = (B) value;
-            getProperty1().setValue(transformer2To1.apply(newTypedValue));
+            property1.setValue(transformer2To1.apply(newTypedValue));
         }
     }
 
@@ -163,6 +163,7 @@ public class HeterogeneousBidirectionalBinder<A,B> implements ChangeListener<Obj
     }
 
 
+    @Override
     public void unbind(){
 
         final Property<A> property1 = propertyRef1.get();
@@ -185,7 +186,7 @@ public class HeterogeneousBidirectionalBinder<A,B> implements ChangeListener<Obj
 
 
     /**
-     * equality is just "==".
+     * equality is just "==". BidirectionalBinderRegistry keeps the binders themselves around, so it doesn't need more.
      */
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,149 @@
+/**
+ * HeterogeneousDoubleBidirectionalBinder.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.Property;
+
+import java.lang.ref.WeakReference;
+import java.util.function.DoubleFunction;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The HeterogeneousBidirectionalBinder for a DoubleProperty on one side, for example to bind a DoubleProperty to a StringProperty.
+ * The double is read and handed to the transformers as a primitive, so nothing is boxed when the properties change.
+ * <p>
+ * It listens for invalidations rather than changes and reads the new value itself. A ChangeListener would box
+ * both the old and the new value of the DoubleProperty on every change.
+ * Same rules as for HeterogeneousBidirectionalBinder apply: the bind is effective from the constructor until unbind() is called,
+ * property1 is set to property2 when it is created and the binder is registered as a weaklistener to both properties.
+ */
+public class HeterogeneousDoubleBidirectionalBinder<B> implements InvalidationListener, BidirectionalBinder {
+
+    private final WeakReference<DoubleProperty> propertyRef1;
+    private final WeakReference<Property<B>> propertyRef2;
+    private final DoubleFunction<B> transformer1To2;
+    private final ToDoubleFunction<B> transformer2To1;
+
+    //flag to avoid infinite recursion
+    private boolean updating = false;
+
+    //the values the properties had after the last successful update, used to roll back when a transformer fails
+    private double lastValue1;
+    private B lastValue2;
+
+    public HeterogeneousDoubleBidirectionalBinder(DoubleProperty property1, Property<B> property2,
+                                                  DoubleFunction<B> transformer1To2, ToDoubleFunction<B> transformer2To1) {
+        if(property1 == property2 ||property1 == null || property2 == null )
+            throw new IllegalArgumentException("Properties must be different and not null");
+        if(transformer1To2 == null || transformer2To1 == null  )
+            throw new IllegalArgumentException("Transformers can't be null!");
+
+        propertyRef1 = new WeakReference<>(property1);
+        propertyRef2 = new WeakReference<>(property2);
+        this.transformer1To2 = transformer1To2;
+        this.transformer2To1 = transformer2To1;
+
+        //well, start listening
+        property1.set(transformer2To1.applyAsDouble(property2.getValue()));
+        lastValue1 = property1.get();
+        lastValue2 = property2.getValue();
+        property1.addListener(this);
+        property2.addListener(this);
+    }
+
+    public DoubleProperty getProperty1() {
+        return propertyRef1.get();
+    }
+
+    public Property<B> getProperty2() {
+        return propertyRef2.get();
+    }
+
+    @Override
+    public void invalidated(Observable sourceProperty) {
+        if (!updating) {  //flag updating spares us from infinite recursion
+            final DoubleProperty property1 = propertyRef1.get(); //get the two properties
+            final Property<B> property2 = propertyRef2.get();
+            if ((property1 == null) || (property2 == null)) {
+                if (property1 != null) {
+                    property1.removeListener(this); //don't bother listening if the other one is null
+                }
+                if (property2 != null) {
+                    property2.removeListener(this);
+                }
+            } else {
+                try {
+                    updating = true; //set updating to true to avoid infinite recursion
+                    if (property1 == sourceProperty) {
+                        property2.setValue(transformer1To2.apply(property1.get()));
+                    } else {
+                        property1.set(transformer2To1.applyAsDouble(property2.getValue()));
+                    }
+                    lastValue1 = property1.get();
+                    lastValue2 = property2.getValue();
+                } catch (RuntimeException e) {
+                    //if we fail, put the source property back to where it was
+                    if (property1 == sourceProperty) {
+                        property1.set(lastValue1);
+                    } else {
+                        property2.setValue(lastValue2);
+                    }
+                    //read them back: an invalidation listener only hears about the next change once the value was read
+                    property1.get();
+                    property2.getValue();
+                    throw new RuntimeException(
+                            "BidirectionalBinder failed, setting to the previous value", e);
+                } finally {
+                    updating = false;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void unbind(){
+
+        final DoubleProperty property1 = propertyRef1.get();
+        if(property1 != null)
+            property1.removeListener(this);
+
+        final Property<B> property2 = propertyRef2.get();
+        if(property2!= null)
+            property2.removeListener(this);
+    }
+
+    @Override
+    public boolean wasGarbageCollected() {
+        return (getProperty1() == null) || (getProperty2() == null);
+    }
+}
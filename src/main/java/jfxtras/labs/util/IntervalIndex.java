@@ -0,0 +1,165 @@
+/**
+ * IntervalIndex.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Static index of one dimensional intervals.
+ *
+ * The intervals are sorted by their start and the sorted array is used as a
+ * balanced binary search tree: the middle of a range is the root of the
+ * subtree of that range. Every node keeps the maximum end in its subtree, so
+ * a point query skips subtrees that end before the point and, as in any
+ * search tree, subtrees that start after it. A query costs
+ * <code>O(min(n, (k + 1) log n))</code> for <code>k</code> results, also
+ * when a few long intervals span many short ones. Intervals are closed: both
+ * start and end are contained.
+ *
+ * The index is immutable; create a new one when the intervals change.
+ *
+ * @param <T> item type
+ */
+public final class IntervalIndex<T> {
+
+    private final List<T> items;
+    private final double[] starts;
+    private final double[] ends;
+    // maximum end of the subtree rooted at each position
+    private final double[] maxEnds;
+
+    /**
+     * Constructor.
+     *
+     * @param items items to index
+     * @param start function that returns the start of the interval of an item
+     * @param end function that returns the end of the interval of an item
+     */
+    public IntervalIndex(Collection<? extends T> items,
+            ToDoubleFunction<? super T> start,
+            ToDoubleFunction<? super T> end) {
+        int n = items.size();
+        double[] unsortedStarts = new double[n];
+        double[] unsortedEnds = new double[n];
+        List<T> unsortedItems = new ArrayList<>(items);
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            T item = unsortedItems.get(i);
+            unsortedStarts[i] = start.applyAsDouble(item);
+            unsortedEnds[i] = end.applyAsDouble(item);
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> unsortedStarts[i]));
+
+        this.items = new ArrayList<>(n);
+        this.starts = new double[n];
+        this.ends = new double[n];
+        this.maxEnds = new double[n];
+        for (int i = 0; i < n; i++) {
+            int idx = order[i];
+            this.items.add(unsortedItems.get(idx));
+            starts[i] = unsortedStarts[idx];
+            ends[i] = unsortedEnds[idx];
+        }
+        computeMaxEnds(0, n - 1);
+    }
+
+    private double computeMaxEnds(int low, int high) {
+        if (low > high) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        int mid = (low + high) >>> 1;
+        double maxEnd = Math.max(ends[mid],
+                Math.max(computeMaxEnds(low, mid - 1), computeMaxEnds(mid + 1, high)));
+        maxEnds[mid] = maxEnd;
+        return maxEnd;
+    }
+
+    /**
+     * Adds all items whose interval contains the specified point to the
+     * result collection, the latest starting item first.
+     *
+     * @param <C> collection type
+     * @param point point to query
+     * @param result collection that receives the items
+     * @return the result collection
+     */
+    public <C extends Collection<? super T>> C query(double point, C result) {
+        query(0, starts.length - 1, point, result);
+        return result;
+    }
+
+    /**
+     * Visits the subtree of the range in descending order of start, i.e.,
+     * the later half first.
+     */
+    private void query(int low, int high, double point, Collection<? super T> result) {
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (maxEnds[mid] < point) {
+                // nothing in this subtree reaches the point
+                return;
+            }
+            if (starts[mid] <= point) {
+                query(mid + 1, high, point, result);
+                if (ends[mid] >= point) {
+                    result.add(items.get(mid));
+                }
+            }
+            // the later half starts after the point or has been visited
+            high = mid - 1;
+        }
+    }
+
+    /**
+     * Returns all items whose interval contains the specified point, the
+     * latest starting item first.
+     *
+     * @param point point to query
+     * @return the items whose interval contains the specified point
+     */
+    public List<T> query(double point) {
+        return query(point, new ArrayList<T>());
+    }
+
+    /**
+     * Returns the number of indexed items.
+     *
+     * @return the number of indexed items
+     */
+    public int size() {
+        return items.size();
+    }
+}
@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import javafx.geometry.Point2D;
 import javafx.scene.Group;
 import javafx.scene.Node;
 import javafx.scene.Parent;
@@ -92,7 +93,8 @@ public class NodeUtil {
     /**
      * Returns the first node at the given location that is an instance of the
      * specified class object. The search is performed recursively until either
-     * a node has been found or a leaf node is reached.
+     * a node has been found or a leaf node is reached. Parents with a
+     * {@link ChildSpatialIndex} only test the children near the location.
      *
      * @param p parent node
      * @param sceneX x coordinate
@@ -104,12 +106,20 @@ public class NodeUtil {
      */
     public static Node getNode(Parent p, double sceneX, double sceneY, Class<?> nodeClass) {
 
+        List<Node> candidates;
+
         // dammit! javafx uses "wrong" children order.
-        List<Node> rightOrder = new ArrayList<>();
-        rightOrder.addAll(p.getChildrenUnmodifiable());
-        Collections.reverse(rightOrder);
+        ChildSpatialIndex index = ChildSpatialIndex.get(p);
+        if (index != null) {
+            // only the children whose bounds contain the location, topmost first
+            Point2D local = p.sceneToLocal(sceneX, sceneY);
+            candidates = index.query(local.getX(), local.getY());
+        } else {
+            candidates = new ArrayList<>(p.getChildrenUnmodifiable());
+            Collections.reverse(candidates);
+        }
 
-        for (Node n : rightOrder) {
+        for (Node n : candidates) {
             boolean contains = n.contains(n.sceneToLocal(sceneX, sceneY));
 
             if (contains) {
@@ -0,0 +1,262 @@
+/**
+ * NoisePaint.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import javafx.geometry.Bounds;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.ImagePattern;
+import javafx.scene.shape.Shape;
+
+
+/**
+ * Noise texture used by Util.createNoiseImage() and Util.applyNoisyBackground().
+ * The two palette colors are resolved once per instance, rows are generated in parallel
+ * into an int[] buffer using seeded SplittableRandoms and written in one bulk call.
+ * Because the noise is deterministic, generated images and patterns are memoized by
+ * (size, colors, alpha variation) and shared between all callers. The images are
+ * handed out as read only Image; they must not be cast back and written to.
+ * The memoized images are bounded by their total number of pixels, not by their count.
+ */
+public class NoisePaint {
+    private static final long SEED                = 0;
+    private static final long MAX_CACHED_PIXELS   = 2048 * 2048;
+    private static final int  PARALLEL_THRESHOLD  = 128 * 128;
+    private static final Cache<Image>        IMAGE_CACHE   = new Cache<>();
+    private static final Cache<ImagePattern> PATTERN_CACHE = new Cache<>();
+    private final Color  darkColor;
+    private final Color  brightColor;
+    private final double alphaVariationInPercent;
+    private final int    darkRgb;
+    private final int    brightRgb;
+
+
+    // ******************** Constructors **************************************
+    public NoisePaint(final Color COLOR) {
+        this(COLOR.darker(), COLOR.brighter(), 30);
+    }
+
+    public NoisePaint(final Color DARK_COLOR, final Color BRIGHT_COLOR, final double ALPHA_VARIATION_IN_PERCENT) {
+        darkColor               = DARK_COLOR;
+        brightColor             = BRIGHT_COLOR;
+        alphaVariationInPercent = Util.clamp(0, 100, ALPHA_VARIATION_IN_PERCENT);
+        darkRgb                 = getRgbFromColor(DARK_COLOR);
+        brightRgb               = getRgbFromColor(BRIGHT_COLOR);
+    }
+
+
+    // ******************** Methods *******************************************
+    public Color getDarkColor() {
+        return darkColor;
+    }
+
+    public Color getBrightColor() {
+        return brightColor;
+    }
+
+    public double getAlphaVariationInPercent() {
+        return alphaVariationInPercent;
+    }
+
+    /**
+     * @return the (shared, read only) noise image of the given size or null if the size is empty
+     */
+    public Image getImage(final double W, final double H) {
+        final int WIDTH  = (int) W;
+        final int HEIGHT = (int) H;
+        if (WIDTH <= 0 || HEIGHT <= 0) {
+            return null;
+        }
+        final Key KEY = new Key(0, 0, WIDTH, HEIGHT, darkColor, brightColor, alphaVariationInPercent);
+        Image image = IMAGE_CACHE.get(KEY);
+        if (image == null) {
+            final WritableImage IMAGE = new WritableImage(WIDTH, HEIGHT);
+            IMAGE.getPixelWriter().setPixels(0, 0, WIDTH, HEIGHT, PixelFormat.getIntArgbInstance(), getPixels(WIDTH, HEIGHT), 0, WIDTH);
+            IMAGE_CACHE.put(KEY, IMAGE);
+            image = IMAGE;
+        }
+        return image;
+    }
+
+    /**
+     * @return the (shared) noise pattern that covers the layout bounds of the given shape
+     */
+    public ImagePattern apply(final Shape SHAPE) {
+        final Bounds BOUNDS = SHAPE.getLayoutBounds();
+        final Key    KEY    = new Key(BOUNDS.getMinX(), BOUNDS.getMinY(), BOUNDS.getWidth(), BOUNDS.getHeight(), darkColor, brightColor, alphaVariationInPercent);
+        ImagePattern pattern = PATTERN_CACHE.get(KEY);
+        if (pattern == null) {
+            pattern = new ImagePattern(getImage(BOUNDS.getWidth(), BOUNDS.getHeight()), BOUNDS.getMinX(), BOUNDS.getMinY(), BOUNDS.getWidth(), BOUNDS.getHeight(), false);
+            PATTERN_CACHE.put(KEY, pattern);
+        }
+        return pattern;
+    }
+
+    /**
+     * Generates the noise as non premultiplied ARGB values, row by row.
+     * Every row gets its own generator split off a seeded root, so the result does not depend
+     * on how the rows are scheduled over the threads.
+     */
+    public int[] getPixels(final int WIDTH, final int HEIGHT) {
+        final int[]              PIXELS          = new int[WIDTH * HEIGHT];
+        final SplittableRandom[] ROW_RND         = new SplittableRandom[HEIGHT];
+        final SplittableRandom   RND             = new SplittableRandom(SEED);
+        final double             ALPHA_START     = alphaVariationInPercent / 100 / 2;
+        final double             ALPHA_VARIATION = alphaVariationInPercent / 100;
+        for (int y = 0; y < HEIGHT; y++) {
+            ROW_RND[y] = RND.split();
+        }
+        IntStream rows = IntStream.range(0, HEIGHT);
+        if (WIDTH * HEIGHT >= PARALLEL_THRESHOLD) {
+            rows = rows.parallel();
+        }
+        rows.forEach(y -> {
+            final SplittableRandom ROW = ROW_RND[y];
+            for (int x = 0, i = y * WIDTH; x < WIDTH; x++, i++) {
+                final int RGB   = ROW.nextBoolean() ? brightRgb : darkRgb;
+                final int ALPHA = (int) Math.round(Util.clamp(0, 1, ALPHA_START + ROW.nextDouble() * ALPHA_VARIATION) * 255);
+                PIXELS[i] = (ALPHA << 24) | RGB;
+            }
+        });
+        return PIXELS;
+    }
+
+    public static void clearCache() {
+        IMAGE_CACHE.clear();
+        PATTERN_CACHE.clear();
+    }
+
+    public static int getCacheSize() {
+        return IMAGE_CACHE.size() + PATTERN_CACHE.size();
+    }
+
+    /**
+     * @return the number of pixels of the memoized images and patterns, a pattern counts the pixels of its image
+     */
+    public static long getCachedPixelCount() {
+        return IMAGE_CACHE.getPixelCount() + PATTERN_CACHE.getPixelCount();
+    }
+
+    private static int getRgbFromColor(final Color COLOR) {
+        return ((int) Math.round(COLOR.getRed() * 255) << 16) | ((int) Math.round(COLOR.getGreen() * 255) << 8) | (int) Math.round(COLOR.getBlue() * 255);
+    }
+
+
+    // ******************** Inner classes *************************************
+    /**
+     * Least recently used entries are dropped once the entries hold more than MAX_CACHED_PIXELS pixels.
+     * An entry larger than that on its own is not memoized.
+     */
+    private static final class Cache<V> {
+        private final LinkedHashMap<Key, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long pixelCount;
+
+        synchronized V get(final Key KEY) {
+            return entries.get(KEY);
+        }
+
+        synchronized void put(final Key KEY, final V VALUE) {
+            if (KEY.getPixelCount() > MAX_CACHED_PIXELS) {
+                return;
+            }
+            if (entries.put(KEY, VALUE) == null) {
+                pixelCount += KEY.getPixelCount();
+            }
+            final Iterator<Key> KEYS = entries.keySet().iterator();
+            while (pixelCount > MAX_CACHED_PIXELS) {
+                final Key ELDEST = KEYS.next();
+                KEYS.remove();
+                pixelCount -= ELDEST.getPixelCount();
+            }
+        }
+
+        synchronized void clear() {
+            entries.clear();
+            pixelCount = 0;
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized long getPixelCount() {
+            return pixelCount;
+        }
+    }
+
+    private static final class Key {
+        private final double x;
+        private final double y;
+        private final double width;
+        private final double height;
+        private final Color  darkColor;
+        private final Color  brightColor;
+        private final double alphaVariation;
+
+        Key(final double X, final double Y, final double WIDTH, final double HEIGHT, final Color DARK_COLOR, final Color BRIGHT_COLOR, final double ALPHA_VARIATION) {
+            x              = X;
+            y              = Y;
+            width          = WIDTH;
+            height         = HEIGHT;
+            darkColor      = DARK_COLOR;
+            brightColor    = BRIGHT_COLOR;
+            alphaVariation = ALPHA_VARIATION;
+        }
+
+        @Override public boolean equals(final Object OBJ) {
+            if (this == OBJ) return true;
+            if (!(OBJ instanceof Key)) return false;
+            final Key OTHER = (Key) OBJ;
+            return Double.compare(x, OTHER.x) == 0
+                && Double.compare(y, OTHER.y) == 0
+                && Double.compare(width, OTHER.width) == 0
+                && Double.compare(height, OTHER.height) == 0
+                && Double.compare(alphaVariation, OTHER.alphaVariation) == 0
+                && darkColor.equals(OTHER.darkColor)
+                && brightColor.equals(OTHER.brightColor);
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(x, y, width, height, darkColor, brightColor, alphaVariation);
+        }
+
+        long getPixelCount() {
+            return (long) width * (long) height;
+        }
+    }
+}
@@ -0,0 +1,351 @@
+/**
+ * SpatialIndex.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.geometry.Bounds;
+
+/**
+ * Spatial index based on a uniform grid.
+ *
+ * Items are stored with their bounds in the cells of a grid with fixed cell
+ * size. Point and rectangle queries only visit the cells that are covered by
+ * the query, i.e., they cost <code>O(k)</code> for <code>k</code> nearby items
+ * instead of <code>O(n)</code>. Items are compared by identity. Items that
+ * would cover a very large number of cells are kept in a separate list that is
+ * checked by every query.
+ *
+ * This class is not thread-safe.
+ *
+ * @param <T> item type
+ */
+public class SpatialIndex<T> {
+
+    private static final int MAX_CELLS_PER_ITEM = 256;
+
+    private final double cellSize;
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+    private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+    private final List<Entry<T>> largeEntries = new ArrayList<>();
+
+    // range of cells that have been used so far, limits the cells visited by
+    // queries that are much larger than the indexed area
+    private int minCellX = Integer.MAX_VALUE;
+    private int minCellY = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE;
+    private int maxCellY = Integer.MIN_VALUE;
+
+    /**
+     * Constructor.
+     *
+     * @param cellSize the width and height of a grid cell (should be in the
+     * order of the typical item size)
+     */
+    public SpatialIndex(double cellSize) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException(
+                    "Cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Adds the specified item or updates its bounds if it is already indexed.
+     *
+     * @param item item to add
+     * @param bounds bounds of the item
+     */
+    public void put(T item, Bounds bounds) {
+        Entry<T> entry = entries.get(item);
+
+        if (entry != null) {
+            if (entry.bounds.equals(bounds)) {
+                return;
+            }
+
+            int x0 = cell(bounds.getMinX());
+            int y0 = cell(bounds.getMinY());
+            int x1 = cell(bounds.getMaxX());
+            int y1 = cell(bounds.getMaxY());
+
+            // same cells, only the bounds changed
+            if (!entry.large && x0 == entry.x0 && y0 == entry.y0
+                    && x1 == entry.x1 && y1 == entry.y1) {
+                entry.bounds = bounds;
+                return;
+            }
+
+            removeFromCells(entry);
+        } else {
+            entry = new Entry<>(item);
+            entries.put(item, entry);
+        }
+
+        entry.bounds = bounds;
+        addToCells(entry);
+    }
+
+    /**
+     * Removes the specified item.
+     *
+     * @param item item to remove
+     * @return <code>true</code> if the item was indexed;
+     * <code>false</code> otherwise
+     */
+    public boolean remove(T item) {
+        Entry<T> entry = entries.remove(item);
+
+        if (entry == null) {
+            return false;
+        }
+
+        removeFromCells(entry);
+
+        return true;
+    }
+
+    /**
+     * Returns the bounds of the specified item.
+     *
+     * @param item item
+     * @return the bounds of the specified item or <code>null</code> if the
+     * item is not indexed
+     */
+    public Bounds getBounds(T item) {
+        Entry<T> entry = entries.get(item);
+        return entry == null ? null : entry.bounds;
+    }
+
+    /**
+     * Indicates whether the specified item is indexed.
+     *
+     * @param item item
+     * @return <code>true</code> if the item is indexed;
+     * <code>false</code> otherwise
+     */
+    public boolean contains(T item) {
+        return entries.containsKey(item);
+    }
+
+    /**
+     * Returns the number of indexed items.
+     *
+     * @return the number of indexed items
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes all items.
+     */
+    public void clear() {
+        entries.clear();
+        cells.clear();
+        largeEntries.clear();
+        minCellX = Integer.MAX_VALUE;
+        minCellY = Integer.MAX_VALUE;
+        maxCellX = Integer.MIN_VALUE;
+        maxCellY = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Adds all items whose bounds intersect the specified area to the result
+     * collection. Every item is added at most once.
+     *
+     * @param <C> collection type
+     * @param area area to query
+     * @param result collection that receives the items
+     * @return the result collection
+     */
+    public <C extends Collection<? super T>> C query(Bounds area, C result) {
+        for (Entry<T> entry : largeEntries) {
+            if (entry.bounds.intersects(area)) {
+                result.add(entry.item);
+            }
+        }
+
+        if (cells.isEmpty()) {
+            return result;
+        }
+
+        int x0 = Math.max(cell(area.getMinX()), minCellX);
+        int y0 = Math.max(cell(area.getMinY()), minCellY);
+        int x1 = Math.min(cell(area.getMaxX()), maxCellX);
+        int y1 = Math.min(cell(area.getMaxY()), maxCellY);
+
+        if (x0 > x1 || y0 > y1) {
+            return result;
+        }
+
+        if ((long) (x1 - x0 + 1) * (y1 - y0 + 1) > cells.size()) {
+            // the query covers more cells than are in use
+            for (Entry<T> entry : entries.values()) {
+                if (!entry.large && entry.bounds.intersects(area)) {
+                    result.add(entry.item);
+                }
+            }
+            return result;
+        }
+
+        for (int x = x0; x <= x1; x++) {
+            for (int y = y0; y <= y1; y++) {
+                List<Entry<T>> cell = cells.get(key(x, y));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry<T> entry : cell) {
+                    // report items that span several cells only in the first
+                    // cell they share with the query
+                    if (x == Math.max(entry.x0, x0)
+                            && y == Math.max(entry.y0, y0)
+                            && entry.bounds.intersects(area)) {
+                        result.add(entry.item);
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Adds all items whose bounds contain the specified point to the result
+     * collection.
+     *
+     * @param <C> collection type
+     * @param x x coordinate
+     * @param y y coordinate
+     * @param result collection that receives the items
+     * @return the result collection
+     */
+    public <C extends Collection<? super T>> C query(double x, double y, C result) {
+        for (Entry<T> entry : largeEntries) {
+            if (entry.bounds.contains(x, y)) {
+                result.add(entry.item);
+            }
+        }
+
+        List<Entry<T>> cell = cells.get(key(cell(x), cell(y)));
+
+        if (cell != null) {
+            for (Entry<T> entry : cell) {
+                if (entry.bounds.contains(x, y)) {
+                    result.add(entry.item);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private void addToCells(Entry<T> entry) {
+        Bounds bounds = entry.bounds;
+        entry.x0 = cell(bounds.getMinX());
+        entry.y0 = cell(bounds.getMinY());
+        entry.x1 = cell(bounds.getMaxX());
+        entry.y1 = cell(bounds.getMaxY());
+
+        long numCells = (long) (entry.x1 - entry.x0 + 1) * (entry.y1 - entry.y0 + 1);
+        entry.large = numCells > MAX_CELLS_PER_ITEM;
+
+        if (entry.large) {
+            largeEntries.add(entry);
+            return;
+        }
+
+        minCellX = Math.min(minCellX, entry.x0);
+        minCellY = Math.min(minCellY, entry.y0);
+        maxCellX = Math.max(maxCellX, entry.x1);
+        maxCellY = Math.max(maxCellY, entry.y1);
+
+        for (int x = entry.x0; x <= entry.x1; x++) {
+            for (int y = entry.y0; y <= entry.y1; y++) {
+                cells.computeIfAbsent(key(x, y), k -> new ArrayList<>()).add(entry);
+            }
+        }
+    }
+
+    private void removeFromCells(Entry<T> entry) {
+        if (entry.large) {
+            largeEntries.remove(entry);
+            return;
+        }
+
+        for (int x = entry.x0; x <= entry.x1; x++) {
+            for (int y = entry.y0; y <= entry.y1; y++) {
+                Long key = key(x, y);
+                List<Entry<T>> cell = cells.get(key);
+                if (cell != null) {
+                    cell.remove(entry);
+                    if (cell.isEmpty()) {
+                        cells.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    private int cell(double v) {
+        double c = Math.floor(v / cellSize);
+        if (c >= Integer.MAX_VALUE / 2) {
+            return Integer.MAX_VALUE / 2;
+        }
+        if (c <= Integer.MIN_VALUE / 2) {
+            return Integer.MIN_VALUE / 2;
+        }
+        return (int) c;
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    private static final class Entry<T> {
+
+        private final T item;
+        private Bounds bounds;
+        private boolean large;
+        private int x0;
+        private int y0;
+        private int x1;
+        private int y1;
+
+        private Entry(T item) {
+            this.item = item;
+        }
+    }
+}
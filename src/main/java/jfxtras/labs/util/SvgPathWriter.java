@@ -0,0 +1,624 @@
+/**
+ * SvgPathWriter.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javafx.geometry.Bounds;
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.shape.Arc;
+import javafx.scene.shape.ArcTo;
+import javafx.scene.shape.ArcType;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.ClosePath;
+import javafx.scene.shape.CubicCurve;
+import javafx.scene.shape.CubicCurveTo;
+import javafx.scene.shape.Ellipse;
+import javafx.scene.shape.HLineTo;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Polyline;
+import javafx.scene.shape.QuadCurve;
+import javafx.scene.shape.QuadCurveTo;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.SVGPath;
+import javafx.scene.shape.Shape;
+import javafx.scene.shape.VLineTo;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+
+
+/**
+ * Streams the SVG path data of shapes into an Appendable (StringBuilder, Writer, ...) without
+ * building intermediate strings.
+ * Numbers are written with a configurable number of decimals (a negative precision writes the
+ * full Double.toString representation) and, if requested, as compact relative commands.
+ * The outlines of Text nodes can be shared between writers through a TextOutlineCache.
+ * Like ShapeConverter the path data is in the local coordinates of each shape.
+ */
+public class SvgPathWriter {
+    private static final double KAPPA        = 0.5522847498307935;
+    private static final long[] POWERS_OF_10 = { 1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L };
+    private final Appendable    out;
+    private final int           precision;
+    private final boolean       relative;
+    private final char[]        digits = new char[20];
+    private TextOutlineCache    textOutlineCache;
+    // position of the source path, used to resolve relative path elements
+    private double              lastX;
+    private double              lastY;
+    private double              lastStartX;
+    private double              lastStartY;
+    // position as it is reconstructed from the (rounded) output, used for relative commands
+    private double              penX;
+    private double              penY;
+    private double              penStartX;
+    private double              penStartY;
+    private boolean             firstToken;
+
+
+    // ******************** Constructors **************************************
+    public SvgPathWriter(final Appendable OUT) {
+        this(OUT, -1, false);
+    }
+
+    /**
+     * @param OUT       the target of the path data
+     * @param PRECISION the maximum number of decimals (0 - 9), negative for full precision
+     * @param RELATIVE  write relative (lower case) commands
+     */
+    public SvgPathWriter(final Appendable OUT, final int PRECISION, final boolean RELATIVE) {
+        if (PRECISION >= POWERS_OF_10.length) {
+            throw new IllegalArgumentException("Precision must be less than " + POWERS_OF_10.length);
+        }
+        out       = Objects.requireNonNull(OUT);
+        precision = PRECISION;
+        relative  = RELATIVE;
+        reset();
+    }
+
+
+    // ******************** Methods *******************************************
+    public int getPrecision() {
+        return precision;
+    }
+
+    public boolean isRelative() {
+        return relative;
+    }
+
+    public TextOutlineCache getTextOutlineCache() {
+        return textOutlineCache;
+    }
+
+    public SvgPathWriter setTextOutlineCache(final TextOutlineCache CACHE) {
+        textOutlineCache = CACHE;
+        return this;
+    }
+
+    /**
+     * Writes the path data of the given shape, unsupported shapes write nothing.
+     * @return true if the shape was supported
+     */
+    public boolean write(final Shape SHAPE) throws IOException {
+        reset();
+        if (Line.class.equals(SHAPE.getClass())) {
+            writeLine((Line) SHAPE);
+        } else if (Arc.class.equals(SHAPE.getClass())) {
+            writeArc((Arc) SHAPE);
+        } else if (QuadCurve.class.equals(SHAPE.getClass())) {
+            writeQuadCurve((QuadCurve) SHAPE);
+        } else if (CubicCurve.class.equals(SHAPE.getClass())) {
+            writeCubicCurve((CubicCurve) SHAPE);
+        } else if (Rectangle.class.equals(SHAPE.getClass())) {
+            writeRectangle((Rectangle) SHAPE);
+        } else if (Circle.class.equals(SHAPE.getClass())) {
+            writeCircle((Circle) SHAPE);
+        } else if (Ellipse.class.equals(SHAPE.getClass())) {
+            writeEllipse((Ellipse) SHAPE);
+        } else if (Text.class.equals(SHAPE.getClass())) {
+            writeText((Text) SHAPE);
+        } else if (Path.class.equals(SHAPE.getClass())) {
+            writePath((Path) SHAPE);
+        } else if (Polygon.class.equals(SHAPE.getClass())) {
+            writePolygon((Polygon) SHAPE);
+        } else if (Polyline.class.equals(SHAPE.getClass())) {
+            writePolyline((Polyline) SHAPE);
+        } else if (SVGPath.class.equals(SHAPE.getClass())) {
+            out.append(((SVGPath) SHAPE).getContent());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes the path data of all supported shapes in the subtree of the given parent in one pass
+     * (depth first, in child order), each shape's path data followed by the separator.
+     * @return the number of shapes written
+     */
+    public int writeAll(final Parent PARENT, final CharSequence SEPARATOR) throws IOException {
+        int count = 0;
+        final Deque<Node> STACK = new ArrayDeque<>();
+        STACK.push(PARENT);
+        while (!STACK.isEmpty()) {
+            final Node NODE = STACK.pop();
+            if (NODE instanceof Shape) {
+                if (write((Shape) NODE)) {
+                    out.append(SEPARATOR);
+                    count++;
+                }
+            } else if (NODE instanceof Parent) {
+                final List<Node> CHILDREN = ((Parent) NODE).getChildrenUnmodifiable();
+                for (int i = CHILDREN.size() - 1; i >= 0; i--) {
+                    STACK.push(CHILDREN.get(i));
+                }
+            }
+        }
+        return count;
+    }
+
+    public void writeLine(final Line LINE) throws IOException {
+        moveTo(LINE.getStartX(), LINE.getStartY());
+        lineTo(LINE.getEndX(), LINE.getEndY());
+    }
+
+    public void writeArc(final Arc ARC) throws IOException {
+        final double CENTER_X    = ARC.getCenterX();
+        final double CENTER_Y    = ARC.getCenterY();
+        final double RADIUS_X    = ARC.getRadiusX();
+        final double RADIUS_Y    = ARC.getRadiusY();
+        final double LENGTH      = ARC.getLength();
+        final double START_ANGLE = Math.toRadians(ARC.getStartAngle());
+        final double ALPHA       = Math.toRadians(ARC.getStartAngle() + LENGTH);
+        final double PHI_OFFSET  = Math.toRadians(-90); // -90 needed for JavaFX
+
+        final double START_X = CENTER_X + Math.cos(PHI_OFFSET) * RADIUS_X * Math.cos(START_ANGLE) + Math.sin(-PHI_OFFSET) * RADIUS_Y * Math.sin(START_ANGLE);
+        final double START_Y = CENTER_Y + Math.sin(PHI_OFFSET) * RADIUS_X * Math.cos(START_ANGLE) + Math.cos(PHI_OFFSET) * RADIUS_Y * Math.sin(START_ANGLE);
+        final double END_X   = CENTER_X + Math.cos(PHI_OFFSET) * RADIUS_X * Math.cos(ALPHA) + Math.sin(-PHI_OFFSET) * RADIUS_Y * Math.sin(ALPHA);
+        final double END_Y   = CENTER_Y + Math.sin(PHI_OFFSET) * RADIUS_X * Math.cos(ALPHA) + Math.cos(PHI_OFFSET) * RADIUS_Y * Math.sin(ALPHA);
+
+        moveTo(CENTER_X, CENTER_Y);
+        if (ArcType.ROUND == ARC.getType()) {
+            hLineTo(START_X);
+            vLineTo(START_Y);
+        }
+        arcTo(RADIUS_X, RADIUS_Y, 0, LENGTH > 180, LENGTH > 0, END_X, END_Y);
+        if (ArcType.CHORD == ARC.getType() || ArcType.ROUND == ARC.getType()) {
+            closePath();
+        }
+    }
+
+    public void writeQuadCurve(final QuadCurve QUAD_CURVE) throws IOException {
+        moveTo(QUAD_CURVE.getStartX(), QUAD_CURVE.getStartY());
+        quadTo(QUAD_CURVE.getControlX(), QUAD_CURVE.getControlY(), QUAD_CURVE.getEndX(), QUAD_CURVE.getEndY());
+    }
+
+    public void writeCubicCurve(final CubicCurve CUBIC_CURVE) throws IOException {
+        moveTo(CUBIC_CURVE.getStartX(), CUBIC_CURVE.getStartY());
+        cubicTo(CUBIC_CURVE.getControlX1(), CUBIC_CURVE.getControlY1(),
+                CUBIC_CURVE.getControlX2(), CUBIC_CURVE.getControlY2(),
+                CUBIC_CURVE.getEndX(), CUBIC_CURVE.getEndY());
+    }
+
+    public void writeRectangle(final Rectangle RECTANGLE) throws IOException {
+        final Bounds BOUNDS = RECTANGLE.getBoundsInLocal();
+        if (Double.compare(RECTANGLE.getArcWidth(), 0.0) == 0 && Double.compare(RECTANGLE.getArcHeight(), 0.0) == 0) {
+            moveTo(BOUNDS.getMinX(), BOUNDS.getMinY());
+            hLineTo(BOUNDS.getMaxX());
+            vLineTo(BOUNDS.getMaxY());
+            hLineTo(BOUNDS.getMinX());
+            vLineTo(BOUNDS.getMinY());
+            closePath();
+        } else {
+            final double X          = BOUNDS.getMinX();
+            final double Y          = BOUNDS.getMinY();
+            final double ARC_WIDTH  = RECTANGLE.getArcWidth();
+            final double ARC_HEIGHT = RECTANGLE.getArcHeight();
+            final double R          = X + BOUNDS.getWidth();
+            final double B          = Y + BOUNDS.getHeight();
+            moveTo(X + ARC_WIDTH, Y);
+            lineTo(R - ARC_WIDTH, Y);
+            quadTo(R, Y, R, Y + ARC_HEIGHT);
+            lineTo(R, B - ARC_HEIGHT);
+            quadTo(R, B, R - ARC_WIDTH, B);
+            lineTo(X + ARC_WIDTH, B);
+            quadTo(X, B, X, B - ARC_HEIGHT);
+            lineTo(X, Y + ARC_HEIGHT);
+            quadTo(X, Y, X + ARC_WIDTH, Y);
+            closePath();
+        }
+    }
+
+    public void writeCircle(final Circle CIRCLE) throws IOException {
+        final double RADIUS = CIRCLE.getRadius();
+        writeEllipse(CIRCLE.getCenterX() == 0 ? RADIUS : CIRCLE.getCenterX(),
+                     CIRCLE.getCenterY() == 0 ? RADIUS : CIRCLE.getCenterY(),
+                     RADIUS, RADIUS);
+    }
+
+    public void writeEllipse(final Ellipse ELLIPSE) throws IOException {
+        writeEllipse(ELLIPSE.getCenterX() == 0 ? ELLIPSE.getRadiusX() : ELLIPSE.getCenterX(),
+                     ELLIPSE.getCenterY() == 0 ? ELLIPSE.getRadiusY() : ELLIPSE.getCenterY(),
+                     ELLIPSE.getRadiusX(), ELLIPSE.getRadiusY());
+    }
+
+    private void writeEllipse(final double CENTER_X, final double CENTER_Y, final double RADIUS_X, final double RADIUS_Y) throws IOException {
+        final double CONTROL_DISTANCE_X = RADIUS_X * KAPPA;
+        final double CONTROL_DISTANCE_Y = RADIUS_Y * KAPPA;
+        // Move to first point
+        moveTo(CENTER_X, CENTER_Y - RADIUS_Y);
+        // 1. quadrant
+        cubicTo(CENTER_X + CONTROL_DISTANCE_X, CENTER_Y - RADIUS_Y, CENTER_X + RADIUS_X, CENTER_Y - CONTROL_DISTANCE_Y, CENTER_X + RADIUS_X, CENTER_Y);
+        // 2. quadrant
+        cubicTo(CENTER_X + RADIUS_X, CENTER_Y + CONTROL_DISTANCE_Y, CENTER_X + CONTROL_DISTANCE_X, CENTER_Y + RADIUS_Y, CENTER_X, CENTER_Y + RADIUS_Y);
+        // 3. quadrant
+        cubicTo(CENTER_X - CONTROL_DISTANCE_X, CENTER_Y + RADIUS_Y, CENTER_X - RADIUS_X, CENTER_Y + CONTROL_DISTANCE_Y, CENTER_X - RADIUS_X, CENTER_Y);
+        // 4. quadrant
+        cubicTo(CENTER_X - RADIUS_X, CENTER_Y - CONTROL_DISTANCE_Y, CENTER_X - CONTROL_DISTANCE_X, CENTER_Y - RADIUS_Y, CENTER_X, CENTER_Y - RADIUS_Y);
+        // Close path
+        closePath();
+    }
+
+    public void writeText(final Text TEXT) throws IOException {
+        final Path OUTLINE = null == textOutlineCache ? TextOutlineCache.createOutline(TEXT) : textOutlineCache.getOutline(TEXT);
+        writePath(OUTLINE);
+    }
+
+    public void writePath(final Path PATH) throws IOException {
+        for (PathElement element : PATH.getElements()) {
+            final boolean ABSOLUTE = element.isAbsolute();
+            final double  OX       = ABSOLUTE ? 0 : lastX;
+            final double  OY       = ABSOLUTE ? 0 : lastY;
+            if (MoveTo.class.equals(element.getClass())) {
+                final MoveTo MOVE_TO = (MoveTo) element;
+                moveTo(OX + MOVE_TO.getX(), OY + MOVE_TO.getY());
+            } else if (LineTo.class.equals(element.getClass())) {
+                final LineTo LINE_TO = (LineTo) element;
+                lineTo(OX + LINE_TO.getX(), OY + LINE_TO.getY());
+            } else if (CubicCurveTo.class.equals(element.getClass())) {
+                final CubicCurveTo CUBIC_CURVE_TO = (CubicCurveTo) element;
+                cubicTo(OX + CUBIC_CURVE_TO.getControlX1(), OY + CUBIC_CURVE_TO.getControlY1(),
+                        OX + CUBIC_CURVE_TO.getControlX2(), OY + CUBIC_CURVE_TO.getControlY2(),
+                        OX + CUBIC_CURVE_TO.getX(), OY + CUBIC_CURVE_TO.getY());
+            } else if (QuadCurveTo.class.equals(element.getClass())) {
+                final QuadCurveTo QUAD_CURVE_TO = (QuadCurveTo) element;
+                quadTo(OX + QUAD_CURVE_TO.getControlX(), OY + QUAD_CURVE_TO.getControlY(),
+                       OX + QUAD_CURVE_TO.getX(), OY + QUAD_CURVE_TO.getY());
+            } else if (ArcTo.class.equals(element.getClass())) {
+                final ArcTo ARC_TO = (ArcTo) element;
+                arcTo(ARC_TO.getRadiusX(), ARC_TO.getRadiusY(), ARC_TO.getXAxisRotation(), ARC_TO.isLargeArcFlag(), ARC_TO.isSweepFlag(),
+                      OX + ARC_TO.getX(), OY + ARC_TO.getY());
+            } else if (HLineTo.class.equals(element.getClass())) {
+                hLineTo(OX + ((HLineTo) element).getX());
+            } else if (VLineTo.class.equals(element.getClass())) {
+                vLineTo(OY + ((VLineTo) element).getY());
+            } else if (ClosePath.class.equals(element.getClass())) {
+                closePath();
+            }
+        }
+    }
+
+    public void writePolygon(final Polygon POLYGON) throws IOException {
+        if (writePoints(POLYGON.getPoints())) {
+            closePath();
+        }
+    }
+
+    public void writePolyline(final Polyline POLYLINE) throws IOException {
+        writePoints(POLYLINE.getPoints());
+    }
+
+    private boolean writePoints(final List<Double> COORDINATES) throws IOException {
+        final int SIZE = COORDINATES.size();
+        if (SIZE % 2 != 0) {
+            return false;
+        }
+        for (int i = 0 ; i < SIZE ; i += 2) {
+            if (i == 0) {
+                moveTo(COORDINATES.get(i), COORDINATES.get(i + 1));
+            } else {
+                lineTo(COORDINATES.get(i), COORDINATES.get(i + 1));
+            }
+        }
+        return true;
+    }
+
+
+    // ******************** Commands ******************************************
+    private void reset() {
+        lastX      = 0;
+        lastY      = 0;
+        lastStartX = 0;
+        lastStartY = 0;
+        penX       = 0;
+        penY       = 0;
+        penStartX  = 0;
+        penStartY  = 0;
+        firstToken = true;
+    }
+
+    private void moveTo(final double X, final double Y) throws IOException {
+        command('M');
+        point(X, Y, penX, penY);
+        updatePen(X, Y);
+        lastStartX = lastX;
+        lastStartY = lastY;
+        penStartX  = penX;
+        penStartY  = penY;
+    }
+
+    private void lineTo(final double X, final double Y) throws IOException {
+        command('L');
+        point(X, Y, penX, penY);
+        updatePen(X, Y);
+    }
+
+    private void hLineTo(final double X) throws IOException {
+        command('H');
+        coordinate(X, penX);
+        updatePen(X, lastY);
+    }
+
+    private void vLineTo(final double Y) throws IOException {
+        command('V');
+        coordinate(Y, penY);
+        updatePen(lastX, Y);
+    }
+
+    private void quadTo(final double CONTROL_X, final double CONTROL_Y, final double X, final double Y) throws IOException {
+        command('Q');
+        point(CONTROL_X, CONTROL_Y, penX, penY);
+        point(X, Y, penX, penY);
+        updatePen(X, Y);
+    }
+
+    private void cubicTo(final double CONTROL_X1, final double CONTROL_Y1, final double CONTROL_X2, final double CONTROL_Y2, final double X, final double Y) throws IOException {
+        command('C');
+        point(CONTROL_X1, CONTROL_Y1, penX, penY);
+        point(CONTROL_X2, CONTROL_Y2, penX, penY);
+        point(X, Y, penX, penY);
+        updatePen(X, Y);
+    }
+
+    private void arcTo(final double RADIUS_X, final double RADIUS_Y, final double X_AXIS_ROTATION, final boolean LARGE_ARC, final boolean SWEEP, final double X, final double Y) throws IOException {
+        command('A');
+        number(RADIUS_X);
+        number(RADIUS_Y);
+        number(X_AXIS_ROTATION);
+        number(LARGE_ARC ? 1 : 0);
+        number(SWEEP ? 1 : 0);
+        point(X, Y, penX, penY);
+        updatePen(X, Y);
+    }
+
+    private void closePath() throws IOException {
+        command('Z');
+        lastX = lastStartX;
+        lastY = lastStartY;
+        penX  = penStartX;
+        penY  = penStartY;
+    }
+
+    private void command(final char COMMAND) throws IOException {
+        if (!firstToken) {
+            out.append(' ');
+        }
+        out.append(relative ? Character.toLowerCase(COMMAND) : COMMAND);
+        firstToken = false;
+    }
+
+    private void point(final double X, final double Y, final double ORIGIN_X, final double ORIGIN_Y) throws IOException {
+        coordinate(X, ORIGIN_X);
+        coordinate(Y, ORIGIN_Y);
+    }
+
+    private void coordinate(final double VALUE, final double ORIGIN) throws IOException {
+        number(relative ? round(VALUE - ORIGIN) : VALUE);
+    }
+
+    /**
+     * Moves the pen to the given position, in relative mode the pen follows the rounded
+     * deltas that were written so rounding errors do not add up along the path.
+     */
+    private void updatePen(final double X, final double Y) {
+        if (relative) {
+            penX += round(X - penX);
+            penY += round(Y - penY);
+        } else {
+            penX = X;
+            penY = Y;
+        }
+        lastX = X;
+        lastY = Y;
+    }
+
+    private double round(final double VALUE) {
+        if (precision < 0 || Double.isNaN(VALUE) || Double.isInfinite(VALUE)) {
+            return VALUE;
+        }
+        final long POWER = POWERS_OF_10[precision];
+        return Math.round(VALUE * POWER) / (double) POWER;
+    }
+
+
+    // ******************** Number formatting *********************************
+    private void number(final double VALUE) throws IOException {
+        out.append(' ');
+        if (precision < 0 || Double.isNaN(VALUE) || Double.isInfinite(VALUE) || Math.abs(VALUE) >= 1e9) {
+            if (out instanceof StringBuilder) {
+                ((StringBuilder) out).append(VALUE);
+            } else {
+                out.append(Double.toString(VALUE));
+            }
+            return;
+        }
+        final long POWER  = POWERS_OF_10[precision];
+        long       scaled = Math.round(VALUE * POWER);
+        if (scaled == 0) {
+            out.append('0');
+            return;
+        }
+        if (scaled < 0) {
+            out.append('-');
+            scaled = -scaled;
+        }
+        appendDigits(scaled / POWER, 1);
+        long fraction = scaled % POWER;
+        if (fraction != 0) {
+            int decimals = precision;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                decimals--;
+            }
+            out.append('.');
+            appendDigits(fraction, decimals);
+        }
+    }
+
+    private void appendDigits(long value, final int MIN_DIGITS) throws IOException {
+        int pos = digits.length;
+        do {
+            digits[--pos] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        while (digits.length - pos < MIN_DIGITS) {
+            digits[--pos] = '0';
+        }
+        for (int i = pos; i < digits.length; i++) {
+            out.append(digits[i]);
+        }
+    }
+
+
+    // ******************** Inner classes *************************************
+    /**
+     * Bounded cache of text outlines, keyed by everything that influences the glyph outline of a
+     * Text node, so repeated labels are converted with Shape.subtract() only once.
+     * The cache is thread safe and can be shared by several writers.
+     */
+    public static class TextOutlineCache {
+        private final Map<TextKey, Path> outlines;
+
+        public TextOutlineCache() {
+            this(256);
+        }
+
+        public TextOutlineCache(final int MAX_SIZE) {
+            outlines = Collections.synchronizedMap(new LinkedHashMap<TextKey, Path>(16, 0.75f, true) {
+                @Override protected boolean removeEldestEntry(final Map.Entry<TextKey, Path> ELDEST) {
+                    return size() > MAX_SIZE;
+                }
+            });
+        }
+
+        public Path getOutline(final Text TEXT) {
+            final TextKey KEY = new TextKey(TEXT);
+            Path outline = outlines.get(KEY);
+            if (outline == null) {
+                outline = createOutline(TEXT);
+                outlines.put(KEY, outline);
+            }
+            return outline;
+        }
+
+        public int size() {
+            return outlines.size();
+        }
+
+        public void clear() {
+            outlines.clear();
+        }
+
+        static Path createOutline(final Text TEXT) {
+            return (Path) Shape.subtract(TEXT, new Rectangle(0, 0));
+        }
+    }
+
+    private static final class TextKey {
+        private final String        text;
+        private final Font          font;
+        private final double        x;
+        private final double        y;
+        private final VPos          textOrigin;
+        private final double        wrappingWidth;
+        private final double        lineSpacing;
+        private final TextAlignment textAlignment;
+        private final boolean       underline;
+        private final boolean       strikethrough;
+
+        TextKey(final Text TEXT) {
+            text          = TEXT.getText();
+            font          = TEXT.getFont();
+            x             = TEXT.getX();
+            y             = TEXT.getY();
+            textOrigin    = TEXT.getTextOrigin();
+            wrappingWidth = TEXT.getWrappingWidth();
+            lineSpacing   = TEXT.getLineSpacing();
+            textAlignment = TEXT.getTextAlignment();
+            underline     = TEXT.isUnderline();
+            strikethrough = TEXT.isStrikethrough();
+        }
+
+        @Override public boolean equals(final Object OBJ) {
+            if (this == OBJ) return true;
+            if (!(OBJ instanceof TextKey)) return false;
+            final TextKey OTHER = (TextKey) OBJ;
+            return Double.compare(x, OTHER.x) == 0
+                && Double.compare(y, OTHER.y) == 0
+                && Double.compare(wrappingWidth, OTHER.wrappingWidth) == 0
+                && Double.compare(lineSpacing, OTHER.lineSpacing) == 0
+                && underline == OTHER.underline
+                && strikethrough == OTHER.strikethrough
+                && textOrigin == OTHER.textOrigin
+                && textAlignment == OTHER.textAlignment
+                && Objects.equals(text, OTHER.text)
+                && Objects.equals(font, OTHER.font);
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(text, font, x, y, textOrigin, wrappingWidth, lineSpacing, textAlignment, underline, strikethrough);
+        }
+    }
+}
@@ -29,8 +29,6 @@
 
 package jfxtras.labs.util;
 
-import java.util.Random;
-
 import javafx.animation.Interpolator;
 import javafx.beans.binding.DoubleBinding;
 import javafx.beans.property.DoubleProperty;
@@ -42,7 +40,6 @@ import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
-import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.CycleMethod;
@@ -502,59 +499,13 @@ public class Util {
     }
 
     public static Image createNoiseImage(final double WIDTH, final double HEIGHT, final Color DARK_COLOR, final Color BRIGHT_COLOR, final double ALPHA_VARIATION_IN_PERCENT) {
-        if (WIDTH <= 0 || HEIGHT <= 0) {
-            return null;
-        }
-        double alphaVariationInPercent      = clamp(0, 100, ALPHA_VARIATION_IN_PERCENT);
-        final WritableImage IMAGE           = new WritableImage((int) WIDTH, (int) HEIGHT);
-        final PixelWriter PIXEL_WRITER      = IMAGE.getPixelWriter();
-        final Random        BW_RND          = new Random();
-        final Random        ALPHA_RND       = new Random();
-        final double        ALPHA_START     = alphaVariationInPercent / 100 / 2;
-        final double        ALPHA_VARIATION = alphaVariationInPercent / 100;
-        Color noiseColor;
-        double noiseAlpha;
-        for (int y = 0; y < HEIGHT; y++) {
-            for (int x = 0; x < WIDTH; x++) {
-                if (BW_RND.nextBoolean()) {
-                    noiseColor = BRIGHT_COLOR;
-                } else {
-                    noiseColor = DARK_COLOR;
-                }
-                noiseAlpha = clamp(0, 1, ALPHA_START + ALPHA_RND.nextDouble() * ALPHA_VARIATION);
-                PIXEL_WRITER.setColor(x, y, Color.color(noiseColor.getRed(), noiseColor.getGreen(), noiseColor.getBlue(), noiseAlpha));
-            }
-        }
-        return IMAGE;
+        final NoisePaint PAINT = new NoisePaint(DARK_COLOR, BRIGHT_COLOR, ALPHA_VARIATION_IN_PERCENT);
+        return PAINT.getImage(WIDTH, HEIGHT);
     }
 
     public static Paint applyNoisyBackground(final Shape SHAPE, final Color TEXTURE_COLOR) {
-        final int           WIDTH           = (int) SHAPE.getLayoutBounds().getWidth();
-        final int           HEIGHT          = (int) SHAPE.getLayoutBounds().getHeight();
-        final WritableImage IMAGE           = new WritableImage(WIDTH, HEIGHT);
-        final PixelWriter   PIXEL_WRITER    = IMAGE.getPixelWriter();
-        final Random        BW_RND          = new Random();
-        final Random        ALPHA_RND       = new Random();
-        final double        ALPHA_START     = 0.045;
-        final double        ALPHA_VARIATION = 0.09;
-        Color  noiseColor;
-        double noiseAlpha;
-        for (int y = 0; y < HEIGHT; y++) {
-            for (int x = 0; x < WIDTH; x++) {
-                if (BW_RND.nextBoolean()) {
-                    noiseColor = TEXTURE_COLOR.brighter();
-                } else {
-                    noiseColor = TEXTURE_COLOR.darker();
-                }
-                noiseAlpha = clamp(0, 1, ALPHA_START + ALPHA_RND.nextDouble() * ALPHA_VARIATION);
-                PIXEL_WRITER.setColor(x, y, Color.color(noiseColor.getRed(), noiseColor.getGreen(), noiseColor.getBlue(), noiseAlpha));
-            }
-        }
-		double x      = SHAPE.getLayoutBounds().getMinX();
-		double y      = SHAPE.getLayoutBounds().getMinY();
-		double width  = SHAPE.getLayoutBounds().getWidth();
-	    double height = SHAPE.getLayoutBounds().getHeight();
-		return new ImagePattern(IMAGE, x, y, width, height, false);
+        final NoisePaint PAINT = new NoisePaint(TEXTURE_COLOR.darker(), TEXTURE_COLOR.brighter(), 9);
+        return PAINT.apply(SHAPE);
     }
 
     public static Image createBrushedMetalImage(final double WIDTH, final double HEIGHT, final Color TEXTURE_COLOR) {
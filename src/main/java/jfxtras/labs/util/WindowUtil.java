@@ -29,13 +29,7 @@
 
 package jfxtras.labs.util;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import jfxtras.labs.scene.control.window.Clipboard;
-import jfxtras.labs.scene.control.window.SelectableNode;
 
 /**
  * Window utility class.
@@ -68,45 +62,3 @@ public class WindowUtil {
         return clipboard;
     }
 }
-
-/**
- * Default clipboard implementation.
- * 
- * @author Michael Hoffer &lt;info@michaelhoffer.de&gt;
- */
-class ClipboardImpl implements Clipboard {
-
-    private final ObservableList<SelectableNode> items =
-            FXCollections.observableArrayList();
-
-    @Override
-    public boolean select(SelectableNode n, boolean selected) {
-        if (n.requestSelection(selected)) {
-            if (selected) {
-                items.add(n);
-            } else {
-                items.remove(n);
-            }
-
-            return true;
-        } else {
-            return false;
-        }
-    }
-
-    @Override
-    public ObservableList<SelectableNode> getSelectedItems() {
-        return items;
-    }
-
-    @Override
-    public void unselectAll() {
-
-        List<SelectableNode> unselectList = new ArrayList<>();
-        unselectList.addAll(items);
-
-        for (SelectableNode sN : unselectList) {
-            select(sN, false);
-        }
-    }
-}
\ No newline at end of file
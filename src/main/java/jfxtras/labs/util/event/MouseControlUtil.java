@@ -29,12 +29,16 @@
 
 package jfxtras.labs.util.event;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javafx.event.EventHandler;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.shape.Rectangle;
 import jfxtras.labs.scene.control.window.SelectableNode;
+import jfxtras.labs.util.ChildSpatialIndex;
 import jfxtras.labs.util.NodeUtil;
 import jfxtras.labs.util.WindowUtil;
 
@@ -402,11 +406,22 @@ class RectangleSelectionControllerImpl {
 
         NodeUtil.removeFromParent(rectangle);
 
-        for (Node n : root.getChildrenUnmodifiable()) {
+        // with a spatial index only the children near the rectangle are tested
+        ChildSpatialIndex index = ChildSpatialIndex.get(root);
+        List<Node> candidates = index != null
+                ? index.query(rectangle.getBoundsInParent())
+                : root.getChildrenUnmodifiable();
+
+        List<SelectableNode> selection = new ArrayList<>();
+
+        for (Node n : candidates) {
             if (rectangle.intersects(n.getBoundsInParent()) && n instanceof SelectableNode) {
-                WindowUtil.getDefaultClipboard().select((SelectableNode) n, true);
+                selection.add((SelectableNode) n);
             }
         }
 
+        // one change of the selected items for the whole rectangle
+        WindowUtil.getDefaultClipboard().selectAll(selection);
+
     }
 }
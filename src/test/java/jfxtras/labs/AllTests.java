@@ -29,14 +29,42 @@
 
 package jfxtras.labs;
 
+import jfxtras.labs.animation.BindableTransitionTest;
+import jfxtras.labs.scene.control.edittable.triple.TripleRowDiffTest;
+import jfxtras.labs.scene.control.scheduler.skin.AllEventsTest;
+import jfxtras.labs.scene.control.scheduler.skin.EventProviderTest;
+import jfxtras.labs.scene.control.scheduler.skin.SceneCoordinateModelTest;
+import jfxtras.labs.scene.control.scheduler.skin.SchedulerSkinTest;
 import jfxtras.labs.scene.control.test.BigDecimalFieldTest;
+import jfxtras.labs.scene.control.window.WindowDeferredLayoutTest;
+import jfxtras.labs.util.BigDecimalFormatterTest;
+import jfxtras.labs.util.ChildSpatialIndexTest;
+import jfxtras.labs.util.ClipboardImplTest;
+import jfxtras.labs.util.IntervalIndexTest;
+import jfxtras.labs.util.NoisePaintTest;
+import jfxtras.labs.util.SpatialIndexTest;
+import jfxtras.labs.util.SvgPathWriterTest;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ BigDecimalFieldTest.class
+@SuiteClasses({ BigDecimalFieldTest.class,
+    NoisePaintTest.class,
+    SvgPathWriterTest.class,
+    BindableTransitionTest.class,
+    ChildSpatialIndexTest.class,
+    EventProviderTest.class,
+    AllEventsTest.class,
+    SchedulerSkinTest.class,
+    WindowDeferredLayoutTest.class,
+    TripleRowDiffTest.class,
+    BigDecimalFormatterTest.class,
+    SpatialIndexTest.class,
+    ClipboardImplTest.class,
+    SceneCoordinateModelTest.class,
+    IntervalIndexTest.class
 })
 public class AllTests {
 
@@ -0,0 +1,135 @@
+/**
+ * BindableTransitionTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.animation;
+
+import javafx.animation.Animation;
+import javafx.animation.Interpolator;
+import javafx.util.Duration;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the fraction a clock driven transition computes for a play position.
+ */
+public class BindableTransitionTest {
+
+    private static BindableTransition createTransition() {
+        BindableTransition transition = new BindableTransition(Duration.millis(1000), new AnimationClock());
+        transition.setInterpolator(Interpolator.LINEAR);
+        return transition;
+    }
+
+    @Test
+    public void linear() {
+        BindableTransition transition = createTransition();
+        Assert.assertFalse(transition.updateFraction(0));
+        Assert.assertEquals(0.0, transition.fractionProperty().get(), 1e-9);
+        Assert.assertFalse(transition.updateFraction(250));
+        Assert.assertEquals(0.25, transition.fractionProperty().get(), 1e-9);
+        Assert.assertTrue(transition.fractionChanged);
+
+        // the same position does not change the fraction
+        Assert.assertFalse(transition.updateFraction(250));
+        Assert.assertFalse(transition.fractionChanged);
+
+        Assert.assertTrue(transition.updateFraction(1000));
+        Assert.assertEquals(1.0, transition.fractionProperty().get(), 1e-9);
+        Assert.assertTrue(transition.updateFraction(5000));
+        Assert.assertEquals(1.0, transition.fractionProperty().get(), 1e-9);
+    }
+
+    @Test
+    public void delay() {
+        BindableTransition transition = createTransition();
+        transition.setDelay(Duration.millis(500));
+        transition.updateFraction(300);
+        Assert.assertEquals(0.0, transition.fractionProperty().get(), 1e-9);
+        Assert.assertFalse(transition.fractionChanged);
+        transition.updateFraction(750);
+        Assert.assertEquals(0.25, transition.fractionProperty().get(), 1e-9);
+        Assert.assertFalse(transition.updateFraction(1499));
+        Assert.assertTrue(transition.updateFraction(1500));
+    }
+
+    @Test
+    public void cyclesAndAutoReverse() {
+        BindableTransition transition = createTransition();
+        transition.setCycleCount(3);
+        transition.updateFraction(1250);
+        Assert.assertEquals(0.25, transition.fractionProperty().get(), 1e-9);
+
+        transition.setAutoReverse(true);
+        Assert.assertFalse(transition.updateFraction(1250));
+        Assert.assertEquals(0.75, transition.fractionProperty().get(), 1e-9);
+        transition.updateFraction(2250);
+        Assert.assertEquals(0.25, transition.fractionProperty().get(), 1e-9);
+
+        // an odd number of cycles ends forward
+        Assert.assertTrue(transition.updateFraction(3000));
+        Assert.assertEquals(1.0, transition.fractionProperty().get(), 1e-9);
+
+        // an even number of cycles ends reversed
+        transition.setCycleCount(2);
+        Assert.assertTrue(transition.updateFraction(2000));
+        Assert.assertEquals(0.0, transition.fractionProperty().get(), 1e-9);
+    }
+
+    @Test
+    public void indefinite() {
+        BindableTransition transition = createTransition();
+        transition.setCycleCount(Animation.INDEFINITE);
+        Assert.assertFalse(transition.updateFraction(123_456_250));
+        Assert.assertEquals(0.25, transition.fractionProperty().get(), 1e-6);
+    }
+
+    @Test
+    public void negativeRate() {
+        BindableTransition transition = createTransition();
+        transition.setRate(-1);
+        transition.updateFraction(250);
+        Assert.assertEquals(0.75, transition.fractionProperty().get(), 1e-9);
+    }
+
+    @Test
+    public void interpolator() {
+        BindableTransition transition = createTransition();
+        transition.setInterpolator(Interpolator.EASE_BOTH);
+        transition.updateFraction(500);
+        Assert.assertEquals(Interpolator.EASE_BOTH.interpolate(0.0, 1.0, 0.5), transition.fractionProperty().get(), 1e-9);
+    }
+
+    @Test
+    public void zeroDurationIsFinishedAtOnce() {
+        BindableTransition transition = new BindableTransition(Duration.ZERO, new AnimationClock());
+        Assert.assertTrue(transition.updateFraction(0));
+        Assert.assertEquals(1.0, transition.fractionProperty().get(), 1e-9);
+    }
+}
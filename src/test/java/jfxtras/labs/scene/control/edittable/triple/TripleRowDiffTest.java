@@ -0,0 +1,91 @@
+package jfxtras.labs.scene.control.edittable.triple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+public class TripleRowDiffTest
+{
+    @Test
+    public void canInsertAndRemoveInTheMiddle()
+    {
+    	ObservableList<Triple<String,String,Boolean>> tableList = FXCollections.observableArrayList(row("a"), row("b"), row("c"), row("d"));
+    	List<Triple<String,String,Boolean>> before = new ArrayList<>(tableList);
+    	List<Triple<String,String,Boolean>> removed = new ArrayList<>();
+    	List<Triple<String,String,Boolean>> added = new ArrayList<>();
+    	tableList.addListener((ListChangeListener.Change<? extends Triple<String,String,Boolean>> change) ->
+    	{
+    		while (change.next())
+    		{
+    			removed.addAll(change.getRemoved());
+    			added.addAll(change.getAddedSubList());
+    		}
+    	});
+
+    	TripleRowDiff.replaceChangedRows(tableList, Arrays.asList(row("a"), row("x"), row("c"), row("y"), row("d")));
+
+    	assertEquals("[a, x, c, y, d]", values(tableList));
+    	assertSame(before.get(0), tableList.get(0));
+    	assertSame(before.get(2), tableList.get(2));
+    	assertSame(before.get(3), tableList.get(4));
+    	assertEquals("[b]", values(removed));
+    	assertEquals("[x, y]", values(added));
+    }
+
+    @Test
+    public void canMoveARow()
+    {
+    	ObservableList<Triple<String,String,Boolean>> tableList = FXCollections.observableArrayList(row("a"), row("b"), row("c"), row("d"));
+    	List<Triple<String,String,Boolean>> before = new ArrayList<>(tableList);
+
+    	TripleRowDiff.replaceChangedRows(tableList, Arrays.asList(row("b"), row("c"), row("a"), row("d")));
+
+    	assertEquals("[b, c, a, d]", values(tableList));
+    	assertSame(before.get(1), tableList.get(0));
+    	assertSame(before.get(2), tableList.get(1));
+    	assertSame(before.get(3), tableList.get(3));
+    }
+
+    @Test
+    public void canMatchDuplicateRows()
+    {
+    	ObservableList<Triple<String,String,Boolean>> tableList = FXCollections.observableArrayList(row("a"), row("a"), row("b"));
+    	List<Triple<String,String,Boolean>> before = new ArrayList<>(tableList);
+
+    	TripleRowDiff.replaceChangedRows(tableList, Arrays.asList(row("a"), row("b"), row("a")));
+
+    	assertEquals("[a, b, a]", values(tableList));
+    	assertSame(before.get(0), tableList.get(0));
+    	// the other a and b swapped places, only one of them can stay
+    	int kept = 0;
+    	for (Triple<String,String,Boolean> row : tableList)
+    	{
+    		kept += before.contains(row) ? 1 : 0;
+    	}
+    	assertEquals(2, kept);
+    }
+
+    private static Triple<String,String,Boolean> row(String value)
+    {
+    	return new Triple<String,String,Boolean>().withName("Work").withValue(value).withPrimary(false);
+    }
+
+    private static String values(List<Triple<String,String,Boolean>> rows)
+    {
+    	List<String> values = new ArrayList<>();
+    	for (Triple<String,String,Boolean> row : rows)
+    	{
+    		values.add(row.getValue());
+    	}
+    	return values.toString();
+    }
+}
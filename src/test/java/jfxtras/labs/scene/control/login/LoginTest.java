@@ -1,9 +1,18 @@
 package jfxtras.labs.scene.control.login;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 import org.junit.Test;
 
@@ -12,8 +21,11 @@ import javafx.scene.Parent;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 import javafx.util.Callback;
+import javafx.util.Duration;
+import jfxtras.labs.internal.scene.control.skin.login.LoginServerSkin;
 import jfxtras.test.AssertNode;
 import jfxtras.test.JFXtrasGuiTest;
+import jfxtras.test.TestUtil;
 
 public class LoginTest extends JFXtrasGuiTest
 {
@@ -65,4 +77,126 @@ public class LoginTest extends JFXtrasGuiTest
     	click("#signInButton");
     	assertEquals("login ok", result);
     }
+    
+    @Test
+    public void canDropSigninWhileSigningIn()
+    {
+    	Login login = new Login();
+    	CompletableFuture<Object> check = new CompletableFuture<>();
+    	login.setAsyncSigninCallback((credentials) -> check);
+    	boolean[] signins = new boolean[2];
+    	TestUtil.runThenWaitForPaintPulse( () ->
+    	{
+    		signins[0] = login.signin(new String[] {"David", "password"});
+    		signins[1] = login.signin(new String[] {"David", "password"});
+    	});
+    	assertTrue(signins[0]);
+    	assertFalse(signins[1]);
+    	assertTrue(login.isSigningIn());
+
+    	TestUtil.runThenWaitForPaintPulse( () -> check.complete("login ok"));
+    	assertFalse(login.isSigningIn());
+    }
+    
+    @Test
+    public void canCancelStageThatIsCopied()
+    {
+    	Login login = new Login();
+    	// a stage that hands out a copy, like a stage of another library does
+    	CompletableFuture<Object> check = new CompletableFuture<Object>()
+    	{
+    		@Override
+    		public CompletableFuture<Object> toCompletableFuture()
+    		{
+    			return thenApply(result -> result);
+    		}
+    	};
+    	login.setAsyncSigninCallback((credentials) -> check);
+    	TestUtil.runThenWaitForPaintPulse( () ->
+    	{
+    		login.signin(new String[] {"David", "password"});
+    		login.cancelSignin();
+    	});
+    	assertTrue(check.isCancelled());
+    	assertFalse(login.isSigningIn());
+    }
+    
+    @Test
+    public void canReportSigninFailure() throws InterruptedException
+    {
+    	Login login = new Login();
+    	CountDownLatch reported = new CountDownLatch(1);
+    	Throwable[] reportedException = new Throwable[1];
+    	login.setErrorCallback((exception) ->
+    	{
+    		reportedException[0] = exception;
+    		reported.countDown();
+    		return null;
+    	});
+    	IllegalStateException exception = new IllegalStateException("no connection");
+    	login.setAsyncSigninCallback((credentials) -> CompletableFuture.supplyAsync(() -> { throw exception; }));
+    	TestUtil.runThenWaitForPaintPulse( () -> login.signin(new String[] {"David", "password"}));
+    	assertTrue(reported.await(5, TimeUnit.SECONDS));
+    	assertSame(exception, reportedException[0]);
+    	assertFalse(login.isSigningIn());
+    }
+    
+    @Test
+    public void canReportSigninTimeout() throws InterruptedException
+    {
+    	Login login = new Login();
+    	CountDownLatch reported = new CountDownLatch(1);
+    	Throwable[] reportedException = new Throwable[1];
+    	login.setErrorCallback((exception) ->
+    	{
+    		reportedException[0] = exception;
+    		reported.countDown();
+    		return null;
+    	});
+    	login.setAsyncSigninCallback((credentials) -> new CompletableFuture<Object>());
+    	login.setSigninTimeout(Duration.millis(50));
+    	TestUtil.runThenWaitForPaintPulse( () -> login.signin(new String[] {"David", "password"}));
+    	assertTrue(reported.await(5, TimeUnit.SECONDS));
+    	assertTrue(reportedException[0] instanceof TimeoutException);
+    }
+    
+    @Test
+    public void doesNotReportCancelledSignin()
+    {
+    	Login login = new Login();
+    	Throwable[] reportedException = new Throwable[1];
+    	login.setErrorCallback((exception) ->
+    	{
+    		reportedException[0] = exception;
+    		return null;
+    	});
+    	login.setAsyncSigninCallback((credentials) -> new CompletableFuture<Object>());
+    	TestUtil.runThenWaitForPaintPulse( () ->
+    	{
+    		login.signin(new String[] {"David", "password"});
+    		login.cancelSignin();
+    	});
+    	TestUtil.runThenWaitForPaintPulse( () -> {});
+    	assertEquals(null, reportedException[0]);
+    }
+    
+    @Test
+    public void canReportServerLoadFailure() throws InterruptedException
+    {
+    	Login login = new Login();
+    	CountDownLatch reported = new CountDownLatch(1);
+    	Throwable[] reportedException = new Throwable[1];
+    	login.setErrorCallback((exception) ->
+    	{
+    		reportedException[0] = exception;
+    		reported.countDown();
+    		return null;
+    	});
+    	IllegalStateException exception = new IllegalStateException("no servers");
+    	Supplier<List<String>> serverNamesSupplier = () -> { throw exception; };
+    	TestUtil.runThenWaitForPaintPulse( () ->
+    		login.setSkin(new LoginServerSkin(login, (credentials) -> null, login.getResources(), "David", serverNamesSupplier)));
+    	assertTrue(reported.await(5, TimeUnit.SECONDS));
+    	assertSame(exception, reportedException[0]);
+    }
 }
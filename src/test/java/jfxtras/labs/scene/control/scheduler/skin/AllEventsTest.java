@@ -0,0 +1,170 @@
+/**
+ * AllEventsTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import jfxtras.labs.scene.control.scheduler.Scheduler;
+import jfxtras.labs.scene.control.scheduler.Scheduler.Event;
+
+/**
+ * Checks that the index follows the events list, and how occupancy is bucketed.
+ */
+public class AllEventsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2016, 3, 7);
+    private static final long HOUR = 60 * 60;
+
+    private final ObservableList<Event> eventList = FXCollections.observableArrayList();
+    private final AllEvents allEvents = new AllEvents(eventList);
+
+    private static Scheduler.EventImpl event(long resourceId, LocalDateTime start, LocalDateTime end) {
+        return new Scheduler.EventImpl().withResourceId(resourceId).withStartTime(start).withEndTime(end);
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.atTime(hour, minute);
+    }
+
+    @Test
+    public void indexesAddedAndRemovedEvents() {
+        Scheduler.EventImpl lEvent1 = event(1, at(10, 0), at(11, 0));
+        Scheduler.EventImpl lEvent2 = event(2, at(10, 0), at(11, 0));
+        eventList.addAll(lEvent1, lEvent2);
+        assertEquals(Arrays.asList(lEvent1), allEvents.collectRegularForResourceAndDates(1, DAY, DAY));
+        assertEquals(Arrays.asList(lEvent2), allEvents.collectRegularForResourceAndDates(2, DAY, DAY));
+        assertEquals(Collections.emptyList(), allEvents.collectRegularForResourceAndDates(1, DAY.plusDays(1), DAY.plusDays(1)));
+
+        eventList.remove(lEvent1);
+        assertEquals(Collections.emptyList(), allEvents.collectRegularForResourceAndDates(1, DAY, DAY));
+        assertArrayEquals(new double[24], allEvents.collectOccupancyForResourceAndDates(1, DAY, DAY, HOUR), 0.0);
+    }
+
+    @Test
+    public void indexesEventsPresentAtConstruction() {
+        Scheduler.EventImpl lEvent = event(1, at(10, 0), at(11, 0));
+        ObservableList<Event> lEventList = FXCollections.observableArrayList(lEvent);
+        assertEquals(Arrays.asList(lEvent), new AllEvents(lEventList).collectRegularForResourceAndDates(1, DAY, DAY));
+    }
+
+    @Test
+    public void picksUpEventsChangedInPlaceOnReindex() {
+        Scheduler.EventImpl lEvent = event(1, at(10, 0), at(11, 0));
+        eventList.add(lEvent);
+
+        // moved to another resource, as a drag does
+        lEvent.setResourceId(2L);
+        assertEquals(Collections.emptyList(), allEvents.collectRegularForResourceAndDates(2, DAY, DAY));
+        allEvents.reindex(Arrays.asList(1L, 2L));
+        assertEquals(Collections.emptyList(), allEvents.collectRegularForResourceAndDates(1, DAY, DAY));
+        assertEquals(Arrays.asList(lEvent), allEvents.collectRegularForResourceAndDates(2, DAY, DAY));
+
+        // moved in time, as an edit does
+        lEvent.setStartTime(at(12, 0));
+        lEvent.setEndTime(at(13, 0));
+        allEvents.reindex();
+        double[] lOccupancy = allEvents.collectOccupancyForResourceAndDates(2, DAY, DAY, HOUR);
+        assertEquals(0.0, lOccupancy[10], 0.0);
+        assertEquals(1.0, lOccupancy[12], 0.0);
+    }
+
+    @Test
+    public void bucketsOccupancy() {
+        eventList.add(event(1, at(10, 0), at(10, 30)));
+        eventList.add(event(1, at(10, 45), at(11, 15)));
+        eventList.add(event(1, at(12, 0), at(14, 0)));
+        eventList.add(event(1, at(12, 30), at(13, 0)));
+
+        double[] lOccupancy = allEvents.collectOccupancyForResourceAndDates(1, DAY, DAY, HOUR);
+        assertEquals(24, lOccupancy.length);
+        assertEquals(0.75, lOccupancy[10], 1e-9); // 30 minutes plus the first 15 minutes of the second event
+        assertEquals(0.25, lOccupancy[11], 1e-9); // the last 15 minutes of the second event
+        assertEquals(1.5, lOccupancy[12], 1e-9); // overlapping events add up to more than 1
+        assertEquals(1.0, lOccupancy[13], 1e-9);
+        assertEquals(0.0, lOccupancy[14], 0.0);
+
+        // per indexed bucket of 15 minutes
+        double[] lFineOccupancy = allEvents.collectOccupancyForResourceAndDates(1, DAY, DAY, AllEvents.INDEXED_BUCKET_SECONDS);
+        assertEquals(96, lFineOccupancy.length);
+        assertEquals(1.0, lFineOccupancy[10 * 4 + 1], 1e-9);
+        assertEquals(0.0, lFineOccupancy[10 * 4 + 2], 0.0);
+        assertEquals(1.0, lFineOccupancy[10 * 4 + 3], 1e-9);
+
+        // a bucket spanning several days
+        double[] lDayOccupancy = allEvents.collectOccupancyForResourceAndDates(1, DAY, DAY.plusDays(1), 24 * HOUR);
+        assertEquals(2, lDayOccupancy.length);
+        assertEquals(3.5 / 24, lDayOccupancy[0], 1e-9);
+        assertEquals(0.0, lDayOccupancy[1], 0.0);
+    }
+
+    @Test
+    public void onlyKeepsOccupancyWhileIndexed() {
+        eventList.add(event(1, at(10, 0), at(11, 0)));
+        assertFalse(allEvents.isOccupancyIndexed());
+        assertEquals(0, allEvents.getOccupancyBucketCount());
+
+        allEvents.setOccupancyIndexed(true);
+        assertEquals(4, allEvents.getOccupancyBucketCount());
+        eventList.add(event(1, at(12, 0), at(12, 30)));
+        assertEquals(6, allEvents.getOccupancyBucketCount());
+
+        allEvents.setOccupancyIndexed(false);
+        assertEquals(0, allEvents.getOccupancyBucketCount());
+        eventList.add(event(2, at(12, 0), at(13, 0)));
+        eventList.remove(0);
+        assertEquals(0, allEvents.getOccupancyBucketCount());
+
+        // collecting indexes the occupancy again, with the changes made in between
+        double[] lOccupancy = allEvents.collectOccupancyForResourceAndDates(1, DAY, DAY, HOUR);
+        assertTrue(allEvents.isOccupancyIndexed());
+        assertEquals(0.0, lOccupancy[10], 0.0);
+        assertEquals(0.5, lOccupancy[12], 1e-9);
+        assertEquals(1.0, allEvents.collectOccupancyForResourceAndDates(2, DAY, DAY, HOUR)[12], 1e-9);
+    }
+
+    @Test
+    public void occupancyOfEventsAcrossMidnight() {
+        eventList.add(event(1, at(23, 0), DAY.plusDays(1).atTime(1, 0)));
+        assertEquals(1.0, allEvents.collectOccupancyForResourceAndDates(1, DAY, DAY, HOUR)[23], 1e-9);
+        assertEquals(1.0, allEvents.collectOccupancyForResourceAndDates(1, DAY.plusDays(1), DAY.plusDays(1), HOUR)[0], 1e-9);
+    }
+}
@@ -0,0 +1,194 @@
+/**
+ * EventProviderTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.junit.Test;
+
+import jfxtras.labs.scene.control.scheduler.Scheduler;
+import jfxtras.labs.scene.control.scheduler.Scheduler.Event;
+
+/**
+ * Checks which ranges the event provider asks for, and what it publishes.
+ * Fetch results are handled on the calling thread instead of the FX thread.
+ */
+public class EventProviderTest {
+
+    // a monday
+    private static final LocalDate WEEK = LocalDate.of(2016, 3, 7);
+
+    private final List<Scheduler.EventRange> requestedRanges = new ArrayList<>();
+    private final List<CompletableFuture<List<Event>>> pendingFetches = new ArrayList<>();
+    private final List<List<Event>> published = new ArrayList<>();
+    private int cacheSize = 12;
+
+    private final EventProvider eventProvider = new EventProvider(
+            () -> (range) -> {
+                requestedRanges.add(range);
+                CompletableFuture<List<Event>> lFuture = new CompletableFuture<>();
+                pendingFetches.add(lFuture);
+                return (CompletionStage<List<Event>>) lFuture;
+            },
+            () -> cacheSize,
+            Runnable::run,
+            published::add);
+
+    private static Scheduler.EventImpl event(long id, long resourceId, LocalDateTime start, LocalDateTime end) {
+        return new Scheduler.EventImpl().withId(id).withResourceId(resourceId).withStartTime(start).withEndTime(end);
+    }
+
+    /**
+     * Completes the pending fetches with the events that match their range
+     */
+    private void completeFetches(Event... events) {
+        for (int i = 0; i < pendingFetches.size(); i++) {
+            Scheduler.EventRange lRange = requestedRanges.get(requestedRanges.size() - pendingFetches.size() + i);
+            List<Event> lEvents = new ArrayList<>();
+            for (Event lEvent : events) {
+                if (lRange.getResourceIds().contains(lEvent.getResourceId())
+                        && lEvent.getStartTime().isBefore(lRange.getEndLocalDateTime())
+                        && !lEvent.getEndTime().isBefore(lRange.getStartLocalDateTime())) {
+                    lEvents.add(lEvent);
+                }
+            }
+            pendingFetches.get(i).complete(lEvents);
+        }
+        pendingFetches.clear();
+    }
+
+    private List<LocalDate> requestedWeeks() {
+        List<LocalDate> lWeeks = new ArrayList<>();
+        for (Scheduler.EventRange lRange : requestedRanges) {
+            lWeeks.add(lRange.getStartLocalDateTime().toLocalDate());
+        }
+        return lWeeks;
+    }
+
+    @Test
+    public void prefetchesTheAdjacentWeeks() {
+        eventProvider.request(Arrays.asList(1L, 2L), WEEK, WEEK.plusDays(6));
+        assertEquals(Arrays.asList(WEEK.minusWeeks(1), WEEK.plusWeeks(1), WEEK), requestedWeeks());
+        for (Scheduler.EventRange lRange : requestedRanges) {
+            assertEquals(Arrays.asList(1L, 2L), lRange.getResourceIds());
+        }
+    }
+
+    @Test
+    public void onlyRequestsWhatIsNotLoadedOrUnderway() {
+        eventProvider.request(Arrays.asList(1L, 2L), WEEK, WEEK.plusDays(6));
+        // underway
+        eventProvider.request(Arrays.asList(1L, 2L), WEEK, WEEK.plusDays(6));
+        assertEquals(3, requestedRanges.size());
+
+        // loaded
+        completeFetches();
+        eventProvider.request(Arrays.asList(1L, 2L), WEEK, WEEK.plusDays(6));
+        assertEquals(3, requestedRanges.size());
+
+        // only the new resource is asked for
+        eventProvider.request(Arrays.asList(1L, 2L, 3L), WEEK, WEEK.plusDays(6));
+        assertEquals(6, requestedRanges.size());
+        for (Scheduler.EventRange lRange : requestedRanges.subList(3, 6)) {
+            assertEquals(Collections.singletonList(3L), lRange.getResourceIds());
+        }
+    }
+
+    @Test
+    public void evictsTheLeastRecentlyUsedWeeks() {
+        cacheSize = 3;
+        eventProvider.request(Arrays.asList(1L), WEEK, WEEK.plusDays(6));
+        completeFetches();
+        // far enough away to share no weeks, so the first three weeks are evicted
+        eventProvider.request(Arrays.asList(1L), WEEK.plusWeeks(5), WEEK.plusWeeks(5).plusDays(6));
+        completeFetches();
+        requestedRanges.clear();
+
+        eventProvider.request(Arrays.asList(1L), WEEK, WEEK.plusDays(6));
+        assertEquals(Arrays.asList(WEEK.minusWeeks(1), WEEK.plusWeeks(1), WEEK), requestedWeeks());
+    }
+
+    @Test
+    public void keepsWeeksWithinTheCacheSize() {
+        cacheSize = 12;
+        eventProvider.request(Arrays.asList(1L), WEEK, WEEK.plusDays(6));
+        completeFetches();
+        eventProvider.request(Arrays.asList(1L), WEEK.plusWeeks(5), WEEK.plusWeeks(5).plusDays(6));
+        completeFetches();
+        requestedRanges.clear();
+
+        eventProvider.request(Arrays.asList(1L), WEEK, WEEK.plusDays(6));
+        assertTrue(requestedRanges.isEmpty());
+    }
+
+    @Test
+    public void publishesEventsSpanningWeeksOnce() {
+        Event lSpanning = event(1, 1, WEEK.plusDays(5).atStartOfDay(), WEEK.plusDays(9).atStartOfDay());
+        Event lOther = event(2, 1, WEEK.plusDays(1).atTime(10, 0), WEEK.plusDays(1).atTime(11, 0));
+        eventProvider.request(Arrays.asList(1L), WEEK, WEEK.plusDays(13));
+        completeFetches(lSpanning, lOther);
+
+        List<Event> lPublished = published.get(published.size() - 1);
+        assertEquals(2, lPublished.size());
+        assertTrue(lPublished.contains(lSpanning));
+        assertTrue(lPublished.contains(lOther));
+    }
+
+    @Test
+    public void keepsEditsOfTheEventsList() {
+        Event lExisting = event(1, 1, WEEK.plusDays(1).atTime(10, 0), WEEK.plusDays(1).atTime(11, 0));
+        eventProvider.request(Arrays.asList(1L, 2L), WEEK, WEEK.plusDays(6));
+        completeFetches(lExisting);
+
+        // deleted through the menu and created through the new event callback
+        Event lCreated = event(2, 1, WEEK.plusDays(2).atTime(10, 0), WEEK.plusDays(2).atTime(11, 0));
+        eventProvider.removed(Collections.singletonList(lExisting));
+        eventProvider.added(Collections.singletonList(lCreated));
+        assertEquals(Collections.singletonList(lCreated), eventProvider.request(Arrays.asList(1L, 2L), WEEK, WEEK.plusDays(6)));
+
+        // resource 3 is underway when an event is created for it, the backend does not know it yet
+        eventProvider.request(Arrays.asList(1L, 2L, 3L), WEEK, WEEK.plusDays(6));
+        Event lCreatedWhilePending = event(3, 3, WEEK.plusDays(3).atTime(10, 0), WEEK.plusDays(3).atTime(11, 0));
+        eventProvider.added(Collections.singletonList(lCreatedWhilePending));
+        completeFetches();
+        List<Event> lPublished = published.get(published.size() - 1);
+        assertEquals(Arrays.asList(lCreated, lCreatedWhilePending), lPublished);
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * SceneCoordinateModelTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.time.LocalDateTime;
+
+import org.junit.Test;
+
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import jfxtras.labs.scene.control.scheduler.Scheduler;
+import jfxtras.labs.test.JFXtrasGuiTest;
+import jfxtras.test.TestUtil;
+import jfxtras.util.NodeUtil;
+
+/**
+ * Checks the scene coordinate model against the conversion of the resource panes themselves,
+ * which is based on NodeUtil.sceneX/sceneY and so includes the location of the scene in its window.
+ */
+public class SceneCoordinateModelTest extends JFXtrasGuiTest {
+
+    private static final int RESOURCE_COUNT = 5;
+
+    private Scheduler scheduler;
+
+    @Override
+    public Parent getRootNode() {
+        scheduler = new Scheduler();
+        for (int i = 1; i <= RESOURCE_COUNT; i++) {
+            scheduler.resources().add(new Scheduler.ResoureImpl().withId((long) i).withName("Resource " + i));
+        }
+        scheduler.setPrefSize(900, 400);
+        // the scheduler does not start at the top left of the scene
+        return new VBox(new Label("above"), scheduler);
+    }
+
+    @Test
+    public void convertsLikeTheResourcePanes() {
+        SchedulerSkinAbstract<?> skin = (SchedulerSkinAbstract<?>) scheduler.getSkin();
+        for (long lId = 1; lId <= RESOURCE_COUNT; lId++) {
+            ResourceBodyPane lPane = (ResourceBodyPane) scheduler.lookup("#ResourceBodyPane" + lId);
+            assertNotNull(lPane);
+            double lX = NodeUtil.sceneX(lPane);
+            double lY = NodeUtil.sceneY(lPane);
+            for (double lDX : new double[]{1, lPane.getWidth() / 3, lPane.getWidth() * 2 / 3, lPane.getWidth() - 1}) {
+                for (double lDY : new double[]{1, lPane.getHeight() / 2, lPane.getHeight() - 1}) {
+                    LocalDateTime lExpected = lPane.convertClickInSceneToDateTime(lX + lDX, lY + lDY);
+                    assertNotNull(lExpected);
+                    assertEquals(lExpected, skin.convertClickInSceneToDateTime(lX + lDX, lY + lDY));
+                    assertEquals(lId, skin.convertClickInSceneToResourceId(lX + lDX, lY + lDY));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void followsScrolling() {
+        SchedulerSkinAbstract<?> skin = (SchedulerSkinAbstract<?>) scheduler.getSkin();
+        ResourceBodyPane lPane = (ResourceBodyPane) scheduler.lookup("#ResourceBodyPane1");
+        // make sure the transform is cached, then move the scheduler
+        skin.convertClickInSceneToDateTime(NodeUtil.sceneX(lPane) + 1, NodeUtil.sceneY(lPane) + 1);
+        TestUtil.runThenWaitForPaintPulse(() -> scheduler.setTranslateY(10));
+
+        double lX = NodeUtil.sceneX(lPane) + lPane.getWidth() / 2;
+        double lY = NodeUtil.sceneY(lPane) + 1;
+        assertEquals(lPane.convertClickInSceneToDateTime(lX, lY), skin.convertClickInSceneToDateTime(lX, lY));
+        assertEquals(1L, skin.convertClickInSceneToResourceId(lX, lY));
+    }
+
+    @Test
+    public void isNothingOutsideTheResources() {
+        SchedulerSkinAbstract<?> skin = (SchedulerSkinAbstract<?>) scheduler.getSkin();
+        ResourceBodyPane lFirstPane = (ResourceBodyPane) scheduler.lookup("#ResourceBodyPane1");
+        ResourceBodyPane lLastPane = (ResourceBodyPane) scheduler.lookup("#ResourceBodyPane" + RESOURCE_COUNT);
+
+        // left of the resources is the time column
+        double lX = NodeUtil.sceneX(lFirstPane) - 1;
+        double lY = NodeUtil.sceneY(lFirstPane) + 1;
+        assertNull(skin.convertClickInSceneToDateTime(lX, lY));
+        assertEquals(0L, skin.convertClickInSceneToResourceId(lX, lY));
+
+        // below the last resource
+        lX = NodeUtil.sceneX(lLastPane) + 1;
+        lY = NodeUtil.sceneY(lLastPane) + lLastPane.getHeight() + 1;
+        assertNull(skin.convertClickInSceneToDateTime(lX, lY));
+        assertEquals(0L, skin.convertClickInSceneToResourceId(lX, lY));
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * SchedulerSkinTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import javafx.print.PrinterJob;
+import javafx.scene.Node;
+import jfxtras.labs.scene.control.scheduler.Scheduler;
+
+/**
+ * Checks what the tiled printing does for skins that do not implement it.
+ */
+public class SchedulerSkinTest {
+
+    private final List<PrinterJob> printedJobs = new ArrayList<>();
+
+    // a skin that only implements the methods every skin must
+    private final SchedulerSkin schedulerSkin = new SchedulerSkin() {
+        @Override
+        public void refresh() {
+        }
+
+        @Override
+        public void setupEvents() {
+        }
+
+        @Override
+        public void setupParticularEvents(long oldResourceId, long newResourceId) {
+        }
+
+        @Override
+        public LocalDateTime convertClickInSceneToDateTime(double x, double y) {
+            return null;
+        }
+
+        @Override
+        public long convertClickInSceneToResourceId(double x, double y) {
+            return -1;
+        }
+
+        @Override
+        public Node getNodeForPopup(Scheduler.Event event) {
+            return null;
+        }
+
+        @Override
+        public void print(PrinterJob job) {
+            printedJobs.add(job);
+        }
+    };
+
+    @Test
+    public void printsAllOnOnePage() {
+        List<SchedulerSkin.TileProgress> lProgress = new ArrayList<>();
+        schedulerSkin.print(null, 2, 7, (progress) -> {
+            lProgress.add(progress);
+            return null;
+        });
+        assertEquals(1, printedJobs.size());
+        assertEquals(1, lProgress.size());
+        assertEquals(1, lProgress.get(0).getTileIdx());
+        assertEquals(1, lProgress.get(0).getNumberOfTiles());
+
+        // the progress callback is optional
+        schedulerSkin.print(null, 2, 7, null);
+        assertEquals(2, printedJobs.size());
+    }
+}
@@ -97,6 +97,14 @@ public class BigDecimalFieldTest extends JFXtrasGuiTest {
         Assert.assertEquals("12.345,679", bigDecimalField.getText());
     }
 
+    @Test
+    public void checkFormatModifiedInPlace() {
+        bigDecimalField.setNumber(new BigDecimal(NUMBER));
+        Assert.assertEquals("12,345.68", bigDecimalField.getText());
+        bigDecimalField.getFormat().setMaximumFractionDigits(3);
+        Assert.assertEquals("12,345.679", bigDecimalField.getText());
+    }
+
 }
 
 
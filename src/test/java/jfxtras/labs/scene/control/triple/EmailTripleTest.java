@@ -1,6 +1,9 @@
 package jfxtras.labs.scene.control.triple;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -79,6 +82,97 @@ public class EmailTripleTest extends JFXtrasGuiTest
     	assertEquals(false, t.isPrimary());
     }
     
+    @Test
+    public void canKeepUnchangedRows()
+    {
+    	Control node = (Control) find("#emailEditTable");
+    	ObservableList<Triple> tableList = ((TripleEditTableSkin) node.getSkin()).getTableList();
+
+    	List<Email> beanList = new ArrayList<>();
+    	beanList.add(new Email("Work", "me@work.com", true));
+    	beanList.add(new Email("Personal", "me@home.com", false));
+    	TestUtil.runThenWaitForPaintPulse( () -> control.setBeanList(beanList));
+    	assertEquals(3, tableList.size());
+    	Triple first = tableList.get(0);
+    	Triple second = tableList.get(1);
+    	Triple emptyRow = tableList.get(2);
+
+    	// equal but not the same elements
+    	List<Email> beanList2 = new ArrayList<>();
+    	beanList2.add(new Email("Work", "me@work.com", true));
+    	beanList2.add(new Email("Personal", "me@example.com", false));
+    	TestUtil.runThenWaitForPaintPulse( () -> control.setBeanList(beanList2));
+    	assertEquals(3, tableList.size());
+    	assertSame(first, tableList.get(0));
+    	assertNotSame(second, tableList.get(1));
+    	assertEquals("me@example.com", tableList.get(1).getValue());
+    	assertSame(emptyRow, tableList.get(2));
+    }
+    
+    @Test
+    public void canKeepRowsAroundInsertedRow()
+    {
+    	Control node = (Control) find("#emailEditTable");
+    	ObservableList<Triple> tableList = ((TripleEditTableSkin) node.getSkin()).getTableList();
+
+    	List<Email> beanList = new ArrayList<>();
+    	beanList.add(new Email("Work", "me@work.com", true));
+    	beanList.add(new Email("Personal", "me@home.com", false));
+    	TestUtil.runThenWaitForPaintPulse( () -> control.setBeanList(beanList));
+    	Triple first = tableList.get(0);
+    	Triple second = tableList.get(1);
+
+    	List<Email> beanList2 = new ArrayList<>();
+    	beanList2.add(new Email("Personal", "me@home.com", false));
+    	beanList2.add(new Email("Other", "me@other.com", false));
+    	beanList2.add(new Email("Work", "me@work.com", true));
+    	TestUtil.runThenWaitForPaintPulse( () -> control.setBeanList(beanList2));
+    	assertEquals(4, tableList.size());
+    	// only one of the two swapped rows can keep its place
+    	assertEquals("me@home.com", tableList.get(0).getValue());
+    	assertNotSame(second, tableList.get(0));
+    	assertEquals("me@other.com", tableList.get(1).getValue());
+    	assertSame(first, tableList.get(2));
+    }
+    
+    @Test
+    public void canShowElementChangedInPlace()
+    {
+    	Control node = (Control) find("#emailEditTable");
+    	ObservableList<Triple> tableList = ((TripleEditTableSkin) node.getSkin()).getTableList();
+
+    	List<Email> beanList = new ArrayList<>();
+    	Email email = new Email("Work", "me@work.com", true);
+    	beanList.add(email);
+    	TestUtil.runThenWaitForPaintPulse( () -> control.setBeanList(beanList));
+    	assertEquals("me@work.com", tableList.get(0).getValue());
+
+    	email.setEmailAddress("me@example.com");
+    	TestUtil.runThenWaitForPaintPulse( () -> control.setBeanList(beanList));
+    	assertEquals(2, tableList.size());
+    	assertEquals("me@example.com", tableList.get(0).getValue());
+    }
+    
+    @Test
+    public void hasOneEmptyRow()
+    {
+    	Control node = (Control) find("#emailEditTable");
+    	ObservableList<Triple> tableList = ((TripleEditTableSkin) node.getSkin()).getTableList();
+
+    	List<Email> beanList = new ArrayList<>();
+    	beanList.add(new Email("Work", "me@work.com", true));
+    	TestUtil.runThenWaitForPaintPulse( () -> control.setBeanList(beanList));
+    	TestUtil.runThenWaitForPaintPulse( () -> control.setBeanList(new ArrayList<>()));
+    	assertEquals(1, tableList.size());
+    	assertTrue(tableList.get(0).isEmpty());
+
+    	// filling the empty row adds a new one
+    	TestUtil.runThenWaitForPaintPulse( () -> tableList.get(0).setValue("me@home.com"));
+    	assertEquals(2, tableList.size());
+    	assertEquals(1, tableList.stream().filter(t -> t.isEmpty()).count());
+    	assertTrue(tableList.get(1).isEmpty());
+    }
+    
     @Test
     public void canCatchInvalidValue()
     {
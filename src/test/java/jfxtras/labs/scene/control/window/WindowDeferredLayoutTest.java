@@ -0,0 +1,123 @@
+/**
+ * WindowDeferredLayoutTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control.window;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.Pane;
+import jfxtras.test.JFXtrasGuiTest;
+import jfxtras.test.TestUtil;
+
+import org.junit.Test;
+
+/**
+ * Moves and resizes a window with deferred layout.
+ */
+public class WindowDeferredLayoutTest extends JFXtrasGuiTest {
+
+    Pane parent;
+    Window window;
+
+    @Override
+    public Parent getRootNode() {
+        parent = new Pane();
+        parent.setPrefSize(600, 600);
+
+        window = new Window("deferred");
+        window.setId("window");
+        window.setDeferredLayout(true);
+        window.getContentPane().getChildren().add(new Label("content"));
+        window.setLayoutX(50);
+        window.setLayoutY(50);
+        window.setPrefSize(200, 200);
+        parent.getChildren().add(window);
+        return parent;
+    }
+
+    @Test
+    public void canMoveWithoutSnapshot() {
+        moveTo(center(window));
+        press(MouseButton.PRIMARY);
+        moveBy(40, 30);
+
+        // moving does not lay out the content, so it is shown as is
+        assertEquals(1.0, window.getContentPane().getOpacity(), 0.01);
+
+        release(MouseButton.PRIMARY);
+        assertEquals(90.0, window.getLayoutX(), 1.0);
+        assertEquals(80.0, window.getLayoutY(), 1.0);
+    }
+
+    @Test
+    public void canResizeWithSnapshot() {
+        Bounds bounds = window.localToScreen(window.getLayoutBounds());
+        moveTo(new Point2D(bounds.getMaxX() - 2, bounds.getMaxY() - 2));
+        press(MouseButton.PRIMARY);
+        moveBy(30, 30);
+
+        // the content is hidden behind its snapshot while resizing
+        assertEquals(0.0, window.getContentPane().getOpacity(), 0.01);
+
+        release(MouseButton.PRIMARY);
+        assertEquals(1.0, window.getContentPane().getOpacity(), 0.01);
+        assertTrue(window.getPrefWidth() > 200);
+        assertTrue(window.getPrefHeight() > 200);
+    }
+
+    @Test
+    public void canMoveWhileParentRescales() {
+        moveTo(center(window));
+        press(MouseButton.PRIMARY);
+        moveBy(20, 0);
+        assertEquals(70.0, window.getLayoutX(), 1.0);
+
+        // the parent scales during the gesture, like a ScalableContentPane does
+        TestUtil.runThenWaitForPaintPulse(() -> {
+            parent.setScaleX(2);
+            parent.setScaleY(2);
+        });
+        moveBy(20, 0);
+        release(MouseButton.PRIMARY);
+
+        // 20 pixels in the scene are 10 in the scaled parent
+        assertEquals(80.0, window.getLayoutX(), 1.0);
+    }
+
+    private Point2D center(Window window) {
+        Bounds bounds = window.localToScreen(window.getLayoutBounds());
+        return new Point2D(bounds.getMinX() + bounds.getWidth() / 2, bounds.getMinY() + bounds.getHeight() / 2);
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * BigDecimalFormatterTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.util.Locale;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that numbers are parsed without loss of digits and that formatters are shared.
+ */
+public class BigDecimalFormatterTest {
+
+    @Test
+    public void parsesAllDigits() throws ParseException {
+        BigDecimalFormatter formatter = BigDecimalFormatter.getInstance(Locale.UK);
+        Assert.assertEquals(new BigDecimal("12345678901234567890.123456789"),
+                formatter.parse("12,345,678,901,234,567,890.123456789"));
+        Assert.assertEquals(new BigDecimal("-0.1"), formatter.parse("-0.1"));
+    }
+
+    @Test
+    public void usesTheLocale() throws ParseException {
+        BigDecimalFormatter formatter = BigDecimalFormatter.getInstance(Locale.GERMANY, "#,##0.000");
+        Assert.assertEquals(new BigDecimal("12345.6789"), formatter.parse("12.345,6789"));
+        Assert.assertEquals("12.345,679", formatter.format(new BigDecimal("12345.6789")));
+    }
+
+    @Test(expected = ParseException.class)
+    public void rejectsNonNumbers() throws ParseException {
+        BigDecimalFormatter.getInstance(Locale.UK).parse("abc");
+    }
+
+    @Test
+    public void cachesLocaleShortcuts() {
+        BigDecimalFormatter formatter = BigDecimalFormatter.getInstance(Locale.GERMANY, "#,##0.000");
+        Assert.assertSame(formatter, BigDecimalFormatter.getInstance(Locale.GERMANY, "#,##0.000"));
+        Assert.assertNotSame(formatter, BigDecimalFormatter.getInstance(Locale.UK, "#,##0.000"));
+        Assert.assertNotSame(formatter, BigDecimalFormatter.getInstance(Locale.GERMANY));
+
+        // the shortcut shares the formatter of an equal format
+        Assert.assertSame(BigDecimalFormatter.getInstance(Locale.UK), BigDecimalFormatter.getInstance(NumberFormat.getNumberInstance(Locale.UK)));
+    }
+
+    @Test
+    public void sharesInstancesOfEqualFormats() {
+        NumberFormat format = NumberFormat.getNumberInstance(Locale.UK);
+        format.setMaximumFractionDigits(2);
+        BigDecimalFormatter formatter = BigDecimalFormatter.getInstance(format);
+        Assert.assertSame(formatter, BigDecimalFormatter.getInstance((NumberFormat) format.clone()));
+        Assert.assertTrue(formatter.isFormatOf(format));
+
+        // changing the format afterwards does not change the formatter
+        format.setMaximumFractionDigits(3);
+        Assert.assertFalse(formatter.isFormatOf(format));
+        Assert.assertEquals("1.23", formatter.format(new BigDecimal("1.2345")));
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * ChildSpatialIndexTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javafx.geometry.BoundingBox;
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Rectangle;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that the index of a container follows changes of its children.
+ */
+public class ChildSpatialIndexTest {
+
+    @Test
+    public void followsChildren() {
+        Pane container = new Pane();
+        List<Rectangle> rectangles = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Rectangle r = new Rectangle(i * 100, 0, 50, 50);
+            rectangles.add(r);
+            container.getChildren().add(r);
+        }
+        ChildSpatialIndex index = ChildSpatialIndex.install(container, 64);
+        Assert.assertSame(index, ChildSpatialIndex.install(container));
+        Assert.assertEquals(10, index.size());
+
+        Assert.assertEquals(Arrays.asList(rectangles.get(3)), index.query(325, 25));
+        Assert.assertEquals(Arrays.asList(rectangles.get(2), rectangles.get(1)),
+                index.query(new BoundingBox(120, 10, 100, 10)));
+
+        // moved child, topmost first
+        rectangles.get(5).setTranslateX(-200);
+        Assert.assertEquals(Arrays.asList(rectangles.get(5), rectangles.get(3)), index.query(325, 25));
+        rectangles.get(3).toFront();
+        Assert.assertEquals(Arrays.asList(rectangles.get(3), rectangles.get(5)), index.query(325, 25));
+
+        // removed and added children
+        container.getChildren().remove(rectangles.get(3));
+        Rectangle added = new Rectangle(310, 10, 5, 5);
+        container.getChildren().add(added);
+        Assert.assertEquals(Arrays.<Node>asList(added, rectangles.get(5)), index.query(312, 12));
+        Assert.assertEquals(10, index.size());
+
+        ChildSpatialIndex.uninstall(container);
+        Assert.assertNull(ChildSpatialIndex.get(container));
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * ClipboardImplTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javafx.collections.ListChangeListener;
+import jfxtras.labs.scene.control.window.SelectableNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks the selection and the change events of the default clipboard.
+ */
+public class ClipboardImplTest {
+
+    private static class Item implements SelectableNode {
+
+        boolean selectable = true;
+        boolean selected;
+
+        @Override
+        public boolean requestSelection(boolean select) {
+            if (!selectable) {
+                return false;
+            }
+            selected = select;
+            return true;
+        }
+    }
+
+    @Test
+    public void bulkOperationsFireOneChange() {
+        ClipboardImpl clipboard = new ClipboardImpl();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            items.add(new Item());
+        }
+        items.get(7).selectable = false;
+
+        int[] changes = new int[1];
+        clipboard.getSelectedItems().addListener((ListChangeListener<SelectableNode>) c -> changes[0]++);
+
+        Assert.assertEquals(999, clipboard.selectAll(items));
+        Assert.assertEquals(1, changes[0]);
+        Assert.assertEquals(999, clipboard.getSelectedItems().size());
+        Assert.assertSame(items.get(8), clipboard.getSelectedItems().get(7));
+
+        // selecting twice does not add duplicates nor fire
+        Assert.assertTrue(clipboard.select(items.get(0), true));
+        Assert.assertEquals(999, clipboard.getSelectedItems().size());
+        Assert.assertEquals(1, changes[0]);
+
+        Assert.assertTrue(clipboard.select(items.get(1), false));
+        Assert.assertEquals(2, changes[0]);
+        Assert.assertFalse(items.get(1).selected);
+        Assert.assertSame(items.get(2), clipboard.getSelectedItems().get(1));
+
+        clipboard.unselectAll(Arrays.asList(items.get(0), items.get(5), items.get(500)));
+        Assert.assertEquals(3, changes[0]);
+        Assert.assertEquals(995, clipboard.getSelectedItems().size());
+
+        clipboard.unselectAll();
+        Assert.assertEquals(4, changes[0]);
+        Assert.assertTrue(clipboard.getSelectedItems().isEmpty());
+
+        Assert.assertEquals(10, clipboard.selectRange(items, 100, 110));
+        Assert.assertEquals(Arrays.asList(items.subList(100, 110).toArray()), clipboard.getSelectedItems());
+    }
+
+    @Test
+    public void removalsAreReportedAtTheirIndices() {
+        ClipboardImpl clipboard = new ClipboardImpl();
+        List<Item> items = Arrays.asList(new Item(), new Item(), new Item(), new Item(), new Item());
+        clipboard.selectAll(items);
+
+        List<String> events = new ArrayList<>();
+        clipboard.getSelectedItems().addListener((ListChangeListener<SelectableNode>) c -> {
+            while (c.next()) {
+                events.add(c.getFrom() + ":" + c.getRemovedSize());
+            }
+        });
+
+        clipboard.unselectAll(Arrays.asList(items.get(1), items.get(2), items.get(4)));
+        Assert.assertEquals(Arrays.asList("1:2", "2:1"), events);
+        Assert.assertEquals(Arrays.asList(items.get(0), items.get(3)), clipboard.getSelectedItems());
+    }
+}
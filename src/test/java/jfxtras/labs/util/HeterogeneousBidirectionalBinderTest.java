@@ -29,9 +29,13 @@
 
 package jfxtras.labs.util;
 
+import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.Property;
+import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -45,6 +49,8 @@ import static org.mockito.Mockito.mock;
  *     <li>simpleBindingTest: Checks that the binding works and can be deactivated</li>
  *     <li>conflictingBinding: Creates and unbinds multiple binders and make sure the results are correct</li>
  *     <li>multipleConflictingBinders: Creates multiple binders and shows that the results are predictable but confusing</li>
+ *     <li>doubleBinding: Binds a double to a string without boxing and rolls back a failed conversion</li>
+ *     <li>registryGroups: Binds and unbinds a group of binders through the registry</li>
  * </ul>
  * Created by carrknight on 4/26/14.
  */
@@ -232,4 +238,80 @@ public class HeterogeneousBidirectionalBinderTest {
         catch (IllegalArgumentException ignored){}
 
     }
+
+    @Test
+    public void doubleBinding() throws Exception {
+        DoubleProperty doubleProperty = new SimpleDoubleProperty(1);
+        StringProperty stringProperty = new SimpleStringProperty("2.5");
+        HeterogeneousDoubleBidirectionalBinder<String> binder =
+                new HeterogeneousDoubleBidirectionalBinder<>(doubleProperty, stringProperty, Double::toString, Double::parseDouble);
+        //property1 is set to property 2
+        Assert.assertEquals(2.5, doubleProperty.get(), 0);
+
+        doubleProperty.set(4);
+        Assert.assertEquals("4.0", stringProperty.get());
+        doubleProperty.set(5);
+        Assert.assertEquals("5.0", stringProperty.get());
+        stringProperty.set("-1.5");
+        Assert.assertEquals(-1.5, doubleProperty.get(), 0);
+
+        //a string that doesn't parse is rolled back (the exception goes to the uncaught exception handler, like for any listener)
+        Thread.UncaughtExceptionHandler handler = Thread.currentThread().getUncaughtExceptionHandler();
+        Thread.currentThread().setUncaughtExceptionHandler((thread, exception) -> {});
+        try{
+            stringProperty.set("abc");
+        }
+        finally {
+            Thread.currentThread().setUncaughtExceptionHandler(handler);
+        }
+        Assert.assertEquals("-1.5", stringProperty.get());
+        Assert.assertEquals(-1.5, doubleProperty.get(), 0);
+        //and the binding still works afterwards
+        stringProperty.set("3");
+        Assert.assertEquals(3, doubleProperty.get(), 0);
+
+        binder.unbind();
+        doubleProperty.set(7);
+        Assert.assertEquals("3", stringProperty.get());
+    }
+
+    @Test
+    public void registryGroups() throws Exception {
+        BidirectionalBinderRegistry registry = new BidirectionalBinderRegistry();
+        DoubleProperty doubleProperty = new SimpleDoubleProperty(0);
+        StringProperty stringProperty = new SimpleStringProperty("1.0");
+        Property<TestEnum> enumProperty = new SimpleObjectProperty<>(TestEnum.NEGATIVE);
+        Property<Number> integerProperty = new SimpleIntegerProperty(10);
+
+        registry.bindGroup("form", group -> {
+            group.bindDouble(doubleProperty, stringProperty, Double::toString, Double::parseDouble);
+            group.bind(enumProperty, integerProperty,
+                    testEnum -> testEnum.equals(TestEnum.POSITIVE) ? 1 : -1,
+                    number -> number.intValue() >= 0 ? TestEnum.POSITIVE : TestEnum.NEGATIVE);
+        });
+        Assert.assertEquals(2, registry.getActiveCount());
+        stringProperty.set("2.0");
+        Assert.assertEquals(2, doubleProperty.get(), 0);
+        integerProperty.setValue(-3);
+        Assert.assertEquals(TestEnum.NEGATIVE, enumProperty.getValue());
+
+        //a failing definition leaves nothing behind
+        try{
+            registry.bindGroup("broken", group -> {
+                group.bindDouble(doubleProperty, stringProperty, Double::toString, Double::parseDouble);
+                group.bind(integerProperty, integerProperty, Function.identity(), Function.identity());
+            });
+            Assert.assertTrue(false); //can't be here!
+        }
+        catch (IllegalArgumentException ignored){}
+        Assert.assertNull(registry.getGroup("broken"));
+        Assert.assertEquals(2, registry.getActiveCount());
+
+        Assert.assertEquals(2, registry.unbindGroup("form"));
+        Assert.assertEquals(0, registry.getGroupCount());
+        stringProperty.set("5.0");
+        Assert.assertEquals(2, doubleProperty.get(), 0);
+        integerProperty.setValue(3);
+        Assert.assertEquals(TestEnum.NEGATIVE, enumProperty.getValue());
+    }
 }
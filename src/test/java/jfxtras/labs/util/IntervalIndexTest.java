@@ -0,0 +1,105 @@
+/**
+ * IntervalIndexTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Compares the queries of the interval index with a linear scan over random intervals.
+ */
+public class IntervalIndexTest {
+
+    @Test
+    public void queriesMatchLinearScan() {
+        List<double[]> intervals = new ArrayList<>();
+        Random rnd = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            double start = rnd.nextDouble() * 1000;
+            // a few long intervals span many short ones
+            double length = i % 100 == 0 ? 500 : rnd.nextDouble() * 20;
+            intervals.add(new double[]{start, start + length});
+        }
+        IntervalIndex<double[]> index = new IntervalIndex<>(intervals, interval -> interval[0], interval -> interval[1]);
+        Assert.assertEquals(intervals.size(), index.size());
+
+        for (int i = 0; i < 200; i++) {
+            double point = rnd.nextDouble() * 1100 - 50;
+            List<double[]> expected = new ArrayList<>();
+            for (double[] interval : intervals) {
+                if (interval[0] <= point && point <= interval[1]) {
+                    expected.add(interval);
+                }
+            }
+            List<double[]> actual = index.query(point);
+            Assert.assertEquals(expected.size(), actual.size());
+            Assert.assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+        }
+    }
+
+    @Test
+    public void latestStartFirstAndClosedBounds() {
+        IntervalIndex<String> index = new IntervalIndex<>(Arrays.asList("b", "a", "c"),
+                item -> item.equals("a") ? 0 : item.equals("b") ? 10 : 30,
+                item -> item.equals("a") ? 20 : item.equals("b") ? 15 : 40);
+        Assert.assertEquals(Arrays.asList("b", "a"), index.query(10));
+        Assert.assertEquals(Arrays.asList("a"), index.query(20));
+        Assert.assertEquals(Arrays.asList(), index.query(25));
+        Assert.assertEquals(Arrays.asList("c"), index.query(40));
+        Assert.assertEquals(Arrays.asList(), index.query(-1));
+    }
+
+    @Test
+    public void nestedIntervalsLatestStartFirst() {
+        // each interval nests in the previous one, and short ones follow after the point
+        List<double[]> intervals = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            intervals.add(new double[]{i, 1000 - i});
+        }
+        for (int i = 0; i < 100; i++) {
+            intervals.add(new double[]{600 + i, 600.5 + i});
+        }
+        IntervalIndex<double[]> index = new IntervalIndex<>(intervals, interval -> interval[0], interval -> interval[1]);
+
+        List<double[]> actual = index.query(500);
+        Assert.assertEquals(100, actual.size());
+        for (int i = 0; i < actual.size(); i++) {
+            Assert.assertEquals(99 - i, actual.get(i)[0], 0.0);
+        }
+        Assert.assertEquals(intervals.get(0), index.query(999.5).get(0));
+        Assert.assertEquals(1, index.query(999.5).size());
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * NoisePaintTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.ImagePattern;
+import javafx.scene.shape.Rectangle;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the pixel generation and the memoization of the noise.
+ */
+public class NoisePaintTest {
+
+    @Test
+    public void pixelsAreDeterministic() {
+        NoisePaint paint = new NoisePaint(Color.BLACK, Color.WHITE, 30);
+        // large enough to be generated in parallel
+        Assert.assertArrayEquals(paint.getPixels(200, 150), paint.getPixels(200, 150));
+    }
+
+    @Test
+    public void pixelsUseThePaletteAndAlphaRange() {
+        NoisePaint paint = new NoisePaint(Color.rgb(10, 20, 30), Color.rgb(200, 210, 220), 40);
+        int[] pixels = paint.getPixels(50, 40);
+        Assert.assertEquals(50 * 40, pixels.length);
+
+        boolean dark = false;
+        boolean bright = false;
+        for (int pixel : pixels) {
+            int rgb = pixel & 0xffffff;
+            int alpha = pixel >>> 24;
+            dark |= rgb == 0x0a141e;
+            bright |= rgb == 0xc8d2dc;
+            Assert.assertTrue(Integer.toHexString(pixel), rgb == 0x0a141e || rgb == 0xc8d2dc);
+            // alpha lies between 20% and 60%
+            Assert.assertTrue(String.valueOf(alpha), alpha >= Math.round(0.2 * 255) && alpha <= Math.round(0.6 * 255));
+        }
+        Assert.assertTrue(dark && bright);
+    }
+
+    @Test
+    public void noVariationGivesConstantAlpha() {
+        int[] pixels = new NoisePaint(Color.BLACK, Color.WHITE, 0).getPixels(10, 10);
+        for (int pixel : pixels) {
+            Assert.assertEquals(0, pixel >>> 24);
+        }
+    }
+
+    @Test
+    public void imagesAndPatternsAreShared() {
+        NoisePaint.clearCache();
+        NoisePaint paint = new NoisePaint(Color.BLUE);
+        Image image = paint.getImage(20, 10);
+        Assert.assertSame(image, paint.getImage(20, 10));
+        Assert.assertSame(image, new NoisePaint(Color.BLUE).getImage(20, 10));
+        Assert.assertEquals(1, NoisePaint.getCacheSize());
+
+        // a pattern is shared per bounds, and uses the shared image
+        Rectangle rectangle = new Rectangle(5, 5, 20, 10);
+        ImagePattern pattern = paint.apply(rectangle);
+        Assert.assertSame(pattern, paint.apply(new Rectangle(5, 5, 20, 10)));
+        Assert.assertSame(image, pattern.getImage());
+        Assert.assertNotSame(pattern, paint.apply(new Rectangle(6, 5, 20, 10)));
+        Assert.assertEquals(3, NoisePaint.getCacheSize());
+
+        // another size or palette is another entry
+        paint.getImage(10, 20);
+        new NoisePaint(Color.RED).getImage(20, 10);
+        Assert.assertEquals(5, NoisePaint.getCacheSize());
+        NoisePaint.clearCache();
+        Assert.assertEquals(0, NoisePaint.getCacheSize());
+        Assert.assertEquals(0, NoisePaint.getCachedPixelCount());
+    }
+
+    @Test
+    public void cacheIsBoundedByPixels() {
+        NoisePaint.clearCache();
+        NoisePaint paint = new NoisePaint(Color.GREEN);
+        Image first = paint.getImage(1024, 1024);
+        paint.getImage(1024, 1024);
+        Assert.assertEquals(1024 * 1024, NoisePaint.getCachedPixelCount());
+
+        // four of these fit, the fifth drops the least recently used one
+        for (int i = 1; i <= 3; i++) {
+            paint.getImage(1024, 1024 - i);
+        }
+        Assert.assertEquals(4, NoisePaint.getCacheSize());
+        paint.getImage(1024, 1020);
+        Assert.assertEquals(4, NoisePaint.getCacheSize());
+        Assert.assertTrue(NoisePaint.getCachedPixelCount() <= 2048 * 2048);
+        Assert.assertNotSame(first, paint.getImage(1024, 1024));
+
+        // too large to be memoized at all
+        NoisePaint.clearCache();
+        Assert.assertNotSame(paint.getImage(4096, 1025), paint.getImage(4096, 1025));
+        Assert.assertEquals(0, NoisePaint.getCacheSize());
+        NoisePaint.clearCache();
+    }
+
+    @Test
+    public void emptySizeGivesNoImage() {
+        Assert.assertNull(new NoisePaint(Color.BLUE).getImage(0, 10));
+    }
+}
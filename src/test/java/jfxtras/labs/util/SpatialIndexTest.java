@@ -0,0 +1,102 @@
+/**
+ * SpatialIndexTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javafx.geometry.BoundingBox;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Compares the queries of the spatial index with a linear scan over randomly placed items.
+ */
+public class SpatialIndexTest {
+
+    @Test
+    public void queriesMatchLinearScan() {
+        SpatialIndex<String> index = new SpatialIndex<>(50);
+        List<String> items = new ArrayList<>();
+        List<BoundingBox> bounds = new ArrayList<>();
+        Random rnd = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            String item = "item" + i;
+            // a few items are large enough to end up in the list of large items
+            double size = i % 50 == 0 ? 2000 : 5 + rnd.nextDouble() * 120;
+            BoundingBox b = new BoundingBox(rnd.nextDouble() * 2000 - 500, rnd.nextDouble() * 2000 - 500, size, size);
+            items.add(item);
+            bounds.add(b);
+            index.put(item, b);
+        }
+        // move every third item
+        for (int i = 0; i < items.size(); i += 3) {
+            BoundingBox b = new BoundingBox(bounds.get(i).getMinX() + 75, bounds.get(i).getMinY() - 30, bounds.get(i).getWidth(), bounds.get(i).getHeight());
+            bounds.set(i, b);
+            index.put(items.get(i), b);
+        }
+        // remove every seventh item
+        for (int i = items.size() - 1; i >= 0; i -= 7) {
+            Assert.assertTrue(index.remove(items.get(i)));
+            items.remove(i);
+            bounds.remove(i);
+        }
+        Assert.assertEquals(items.size(), index.size());
+
+        for (int q = 0; q < 100; q++) {
+            BoundingBox area = new BoundingBox(rnd.nextDouble() * 2000 - 500, rnd.nextDouble() * 2000 - 500, rnd.nextDouble() * 400, rnd.nextDouble() * 400);
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < items.size(); i++) {
+                if (bounds.get(i).intersects(area)) {
+                    expected.add(items.get(i));
+                }
+            }
+            List<String> result = index.query(area, new ArrayList<>());
+            Assert.assertEquals(expected.size(), result.size());
+            Assert.assertTrue(result.containsAll(expected));
+
+            double x = area.getMinX();
+            double y = area.getMinY();
+            expected.clear();
+            for (int i = 0; i < items.size(); i++) {
+                if (bounds.get(i).contains(x, y)) {
+                    expected.add(items.get(i));
+                }
+            }
+            result = index.query(x, y, new ArrayList<>());
+            Assert.assertEquals(expected.size(), result.size());
+            Assert.assertTrue(result.containsAll(expected));
+        }
+
+        // a query covering everything
+        Assert.assertEquals(items.size(), index.query(new BoundingBox(-10000, -10000, 20000, 20000), new ArrayList<>()).size());
+    }
+}
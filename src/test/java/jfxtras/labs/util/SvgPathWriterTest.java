@@ -0,0 +1,260 @@
+/**
+ * SvgPathWriterTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.scene.shape.ArcTo;
+import javafx.scene.shape.ClosePath;
+import javafx.scene.shape.CubicCurveTo;
+import javafx.scene.shape.HLineTo;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+import javafx.scene.shape.QuadCurveTo;
+import javafx.scene.shape.VLineTo;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Writes paths with every element type, parses the path data back and compares the absolute coordinates.
+ */
+public class SvgPathWriterTest {
+
+    @Test
+    public void roundTripAbsolute() throws IOException {
+        assertRoundTrip(createPath(true), -1, false, 1e-12);
+        assertRoundTrip(createPath(true), 3, false, 0.00051);
+    }
+
+    @Test
+    public void roundTripRelativeElements() throws IOException {
+        assertRoundTrip(createPath(false), -1, false, 1e-9);
+        assertRoundTrip(createPath(false), 2, false, 0.0051);
+    }
+
+    @Test
+    public void roundTripRelativeCommands() throws IOException {
+        assertRoundTrip(createPath(true), -1, true, 1e-9);
+        // the pen follows the rounded deltas, so the error does not add up over the path
+        assertRoundTrip(createPath(true), 1, true, 0.051);
+        assertRoundTrip(createPath(false), 2, true, 0.0051);
+    }
+
+    @Test
+    public void everyElementTypeHasItsCommand() throws IOException {
+        Assert.assertEquals("M 1 2 L 3 4 H 5 V 6 Q 7 8 9 10 C 11 12 13 14 15 16 A 5 6 30 1 0 17 18 Z",
+                write(new Path(new MoveTo(1, 2), new LineTo(3, 4), new HLineTo(5), new VLineTo(6),
+                        new QuadCurveTo(7, 8, 9, 10), new CubicCurveTo(11, 12, 13, 14, 15, 16),
+                        new ArcTo(5, 6, 30, 17, 18, true, false), new ClosePath()), 3, false));
+    }
+
+    @Test
+    public void relativeCommandsAreLowerCase() throws IOException {
+        Assert.assertEquals("m 10 10 l 5 10 h -15 v -20 z m 3 4",
+                write(new Path(new MoveTo(10, 10), new LineTo(15, 20), new HLineTo(0), new VLineTo(0), new ClosePath(), new MoveTo(13, 14)), 3, true));
+    }
+
+    @Test
+    public void numberFormatting() throws IOException {
+        Assert.assertEquals("M 0 0 L 1.5 -3.1", writeLine(0, -0.001, 1.5, -3.1, 2));
+        Assert.assertEquals("M 12.34 0.05 L 100 -100", writeLine(12.3449, 0.049, 100, -100.001, 2));
+        Assert.assertEquals("M 0.123 1 L 7 0.001", writeLine(0.1234, 0.9999, 7.0004, 0.0006, 3));
+        // halves are rounded up
+        Assert.assertEquals("M 3 -2 L 0 2", writeLine(2.5, -2.5, 0.4, 1.6, 0));
+        Assert.assertEquals("M 0.000001 0.1 L 9 9", writeLine(0.000001, 0.1, 9, 9, 9));
+        // full precision and very large numbers use Double.toString
+        Assert.assertEquals("M 1.0 0.1 L -2.5 3.0E-7", writeLine(1, 0.1, -2.5, 0.0000003, -1));
+        Assert.assertEquals("M 1.0E9 1 L 2.0E10 -1", writeLine(1e9, 1, 2e10, -1, 2));
+        Assert.assertEquals("M NaN 0 L Infinity 0", writeLine(Double.NaN, 0, Double.POSITIVE_INFINITY, 0, 2));
+    }
+
+    private static Path createPath(boolean absolute) {
+        List<PathElement> elements = new ArrayList<>();
+        elements.add(new MoveTo(10.25, 20.5));
+        elements.add(new LineTo(30.125, 40.0625));
+        elements.add(new HLineTo(50.333333));
+        elements.add(new VLineTo(60.666666));
+        elements.add(new QuadCurveTo(70.1, 80.2, 90.3, 100.4));
+        elements.add(new CubicCurveTo(110.11, 120.22, 130.33, 140.44, 150.55, 160.66));
+        elements.add(new ArcTo(15.5, 25.5, 45, 170.7, 180.8, true, true));
+        elements.add(new ClosePath());
+        elements.add(new MoveTo(-5.5, -6.75));
+        elements.add(new LineTo(-7.125, 8.875));
+        // relative elements get coordinates that are deltas to the previous point, except the first move
+        for (PathElement element : elements.subList(1, elements.size())) {
+            element.setAbsolute(absolute);
+        }
+        return new Path(elements);
+    }
+
+    private static String write(Path path, int precision, boolean relative) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        new SvgPathWriter(sb, precision, relative).write(path);
+        return sb.toString();
+    }
+
+    private static String writeLine(double startX, double startY, double endX, double endY, int precision) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        new SvgPathWriter(sb, precision, false).write(new Line(startX, startY, endX, endY));
+        return sb.toString();
+    }
+
+    private static void assertRoundTrip(Path path, int precision, boolean relative, double tolerance) throws IOException {
+        List<double[]> expected = toAbsolute(path);
+        List<double[]> actual = parse(write(path, precision, relative));
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals("segment " + i, expected.get(i).length, actual.get(i).length);
+            for (int j = 0; j < expected.get(i).length; j++) {
+                Assert.assertEquals("segment " + i + " value " + j, expected.get(i)[j], actual.get(i)[j], tolerance);
+            }
+        }
+    }
+
+    /**
+     * Each segment is the command (as a char value) followed by its absolute values
+     */
+    private static List<double[]> toAbsolute(Path path) {
+        List<double[]> segments = new ArrayList<>();
+        double x = 0, y = 0, startX = 0, startY = 0;
+        for (PathElement element : path.getElements()) {
+            double ox = element.isAbsolute() ? 0 : x;
+            double oy = element.isAbsolute() ? 0 : y;
+            if (element instanceof MoveTo) {
+                MoveTo e = (MoveTo) element;
+                x = startX = ox + e.getX();
+                y = startY = oy + e.getY();
+                segments.add(new double[]{'M', x, y});
+            } else if (element instanceof LineTo) {
+                LineTo e = (LineTo) element;
+                x = ox + e.getX();
+                y = oy + e.getY();
+                segments.add(new double[]{'L', x, y});
+            } else if (element instanceof HLineTo) {
+                x = ox + ((HLineTo) element).getX();
+                segments.add(new double[]{'H', x});
+            } else if (element instanceof VLineTo) {
+                y = oy + ((VLineTo) element).getY();
+                segments.add(new double[]{'V', y});
+            } else if (element instanceof QuadCurveTo) {
+                QuadCurveTo e = (QuadCurveTo) element;
+                segments.add(new double[]{'Q', ox + e.getControlX(), oy + e.getControlY(), ox + e.getX(), oy + e.getY()});
+                x = ox + e.getX();
+                y = oy + e.getY();
+            } else if (element instanceof CubicCurveTo) {
+                CubicCurveTo e = (CubicCurveTo) element;
+                segments.add(new double[]{'C', ox + e.getControlX1(), oy + e.getControlY1(), ox + e.getControlX2(), oy + e.getControlY2(), ox + e.getX(), oy + e.getY()});
+                x = ox + e.getX();
+                y = oy + e.getY();
+            } else if (element instanceof ArcTo) {
+                ArcTo e = (ArcTo) element;
+                segments.add(new double[]{'A', e.getRadiusX(), e.getRadiusY(), e.getXAxisRotation(), e.isLargeArcFlag() ? 1 : 0, e.isSweepFlag() ? 1 : 0, ox + e.getX(), oy + e.getY()});
+                x = ox + e.getX();
+                y = oy + e.getY();
+            } else if (element instanceof ClosePath) {
+                x = startX;
+                y = startY;
+                segments.add(new double[]{'Z'});
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * A minimal path data parser for the commands the writer produces
+     */
+    private static List<double[]> parse(String pathData) {
+        List<double[]> segments = new ArrayList<>();
+        String[] tokens = pathData.trim().split(" ");
+        double x = 0, y = 0, startX = 0, startY = 0;
+        int i = 0;
+        while (i < tokens.length) {
+            char command = tokens[i++].charAt(0);
+            boolean rel = Character.isLowerCase(command);
+            double ox = rel ? x : 0;
+            double oy = rel ? y : 0;
+            switch (Character.toUpperCase(command)) {
+                case 'M':
+                    x = startX = ox + Double.parseDouble(tokens[i++]);
+                    y = startY = oy + Double.parseDouble(tokens[i++]);
+                    segments.add(new double[]{'M', x, y});
+                    break;
+                case 'L':
+                    x = ox + Double.parseDouble(tokens[i++]);
+                    y = oy + Double.parseDouble(tokens[i++]);
+                    segments.add(new double[]{'L', x, y});
+                    break;
+                case 'H':
+                    x = ox + Double.parseDouble(tokens[i++]);
+                    segments.add(new double[]{'H', x});
+                    break;
+                case 'V':
+                    y = oy + Double.parseDouble(tokens[i++]);
+                    segments.add(new double[]{'V', y});
+                    break;
+                case 'Q': {
+                    double[] segment = {'Q', ox + Double.parseDouble(tokens[i++]), oy + Double.parseDouble(tokens[i++]), ox + Double.parseDouble(tokens[i++]), oy + Double.parseDouble(tokens[i++])};
+                    x = segment[3];
+                    y = segment[4];
+                    segments.add(segment);
+                    break;
+                }
+                case 'C': {
+                    double[] segment = {'C', ox + Double.parseDouble(tokens[i++]), oy + Double.parseDouble(tokens[i++]), ox + Double.parseDouble(tokens[i++]), oy + Double.parseDouble(tokens[i++]), ox + Double.parseDouble(tokens[i++]), oy + Double.parseDouble(tokens[i++])};
+                    x = segment[5];
+                    y = segment[6];
+                    segments.add(segment);
+                    break;
+                }
+                case 'A': {
+                    double[] segment = {'A', Double.parseDouble(tokens[i++]), Double.parseDouble(tokens[i++]), Double.parseDouble(tokens[i++]), Double.parseDouble(tokens[i++]), Double.parseDouble(tokens[i++]), ox + Double.parseDouble(tokens[i++]), oy + Double.parseDouble(tokens[i++])};
+                    x = segment[6];
+                    y = segment[7];
+                    segments.add(segment);
+                    break;
+                }
+                case 'Z':
+                    x = startX;
+                    y = startY;
+                    segments.add(new double[]{'Z'});
+                    break;
+                default:
+                    Assert.fail("unexpected command " + command + " in " + pathData);
+            }
+        }
+        return segments;
+    }
+}